@@ -226,6 +226,25 @@ public client class Consumer {
         return consumerSeekToEnd(self, partitions);
     }
 
+    # Retrieves the records of the consumer as a stream. The consumer is polled as the stream is iterated, and the
+    # records are converted one at a time, hence only the record being consumed is held as a Ballerina value. The
+    # stream ends with an error if polling fails, or once the stream is closed. Fetching the next record waits until
+    # the consumer retrieves a record, hence a stream of a consumer without new records does not end by itself. When
+    # `autoCommit` is enabled, closing the stream commits the offsets of the records consumed since the last poll.
+    # ```ballerina
+    # stream<kafka:ConsumerRecord, kafka:ConsumerError?> records = consumer->'stream();
+    # ```
+    #
+    # + timeoutInMillis - Polling time in milliseconds
+    # + autoCommit - Commits the offsets of the records consumed from a poll, before polling again
+    # + return - Stream of the records of the consumer
+    isolated remote function 'stream(int timeoutInMillis = 1000, boolean autoCommit = false)
+            returns stream<ConsumerRecord, ConsumerError?> {
+        RecordIterator iterator = new;
+        initRecordIterator(iterator, self, timeoutInMillis, autoCommit);
+        return new (iterator);
+    }
+
     # Subscribes the consumer to the provided set of topics.
     # ```ballerina
     # kafka:ConsumerError? result = consumer->subscribe(["kafka-topic-1", "kafka-topic-2"]);
@@ -266,3 +285,20 @@ public client class Consumer {
 isolated function connect(Consumer|Listener consumer) returns ConsumerError? {
     return consumerConnect(consumer);
 }
+
+# Iterates over the records of a `kafka:Consumer`, polling the consumer as the records are consumed, or over the
+# records dispatched by a `kafka:Listener` to a service, which accepts the records as a stream.
+isolated class RecordIterator {
+
+    public isolated function next() returns record {| ConsumerRecord value; |}|ConsumerError? {
+        ConsumerRecord|ConsumerError? result = nextRecord(self);
+        if (result is ConsumerRecord) {
+            return {value: result};
+        }
+        return result;
+    }
+
+    public isolated function close() returns ConsumerError? {
+        return closeRecordIterator(self);
+    }
+}
@@ -124,6 +124,25 @@ isolated function consumerPoll(Consumer consumer, int timeoutValue) returns Cons
     'class: "org.ballerinalang.messaging.kafka.nativeimpl.consumer.Poll"
 } external;
 
+isolated function initRecordIterator(RecordIterator iterator, Consumer consumer, int timeoutInMillis,
+                                     boolean autoCommit) =
+@java:Method {
+    name: "initIterator",
+    'class: "org.ballerinalang.messaging.kafka.nativeimpl.consumer.RecordStream"
+} external;
+
+isolated function nextRecord(RecordIterator iterator) returns ConsumerRecord|ConsumerError? =
+@java:Method {
+    name: "next",
+    'class: "org.ballerinalang.messaging.kafka.nativeimpl.consumer.RecordStream"
+} external;
+
+isolated function closeRecordIterator(RecordIterator iterator) returns ConsumerError? =
+@java:Method {
+    name: "close",
+    'class: "org.ballerinalang.messaging.kafka.nativeimpl.consumer.RecordStream"
+} external;
+
 isolated function consumerSeek(Consumer consumer, PartitionOffset offset) returns ConsumerError? =
 @java:Method {
     name: "seek",
@@ -165,6 +184,11 @@ isolated function register(Listener lis, Service serviceType, string[]|string? n
     'class: "org.ballerinalang.messaging.kafka.service.Register"
 } external;
 
+isolated function unregister(Listener lis, Service serviceType) returns ConsumerError? =
+@java:Method {
+    'class: "org.ballerinalang.messaging.kafka.service.Unregister"
+} external;
+
 isolated function 'start(Listener lis) returns ConsumerError? =
 @java:Method {
     'class: "org.ballerinalang.messaging.kafka.service.Start"
@@ -174,3 +198,13 @@ isolated function stop(Listener lis) returns ConsumerError? =
 @java:Method {
     'class: "org.ballerinalang.messaging.kafka.service.Stop"
 } external;
+
+isolated function gracefulStop(Listener lis) returns ConsumerError? =
+@java:Method {
+    'class: "org.ballerinalang.messaging.kafka.service.Stop"
+} external;
+
+isolated function getLag(Listener lis) returns PartitionLag[] =
+@java:Method {
+    'class: "org.ballerinalang.messaging.kafka.service.GetLag"
+} external;
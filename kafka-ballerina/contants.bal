@@ -14,16 +14,6 @@
 // specific language governing permissions and limitations
 // under the License.
 
-// Common constants
-
-// Data types for serializer / deserializer functionality
-const STRING = "string";
-const INT = "int";
-const FLOAT = "float";
-const BYTE_ARRAY = "byte[]";
-const AVRO_RECORD = "kafka:AvroRecord";
-const ANY = "anydata";
-
 // ********************************************
 //         Consumer-Related constants         *
 // ********************************************
@@ -63,6 +53,20 @@ public const OFFSET_RESET_LATEST = "latest";
 # for the consumer group
 public const OFFSET_RESET_NONE = "none";
 
+// Partition assignment strategies.
+# Assigns the partitions of each topic in ranges to the consumers. This is the default strategy.
+public const ASSIGNMENT_RANGE = "org.apache.kafka.clients.consumer.RangeAssignor";
+
+# Assigns the partitions of all the topics to the consumers in a round-robin manner.
+public const ASSIGNMENT_ROUND_ROBIN = "org.apache.kafka.clients.consumer.RoundRobinAssignor";
+
+# Keeps as many of the existing assignments as possible, while balancing the partitions among the consumers.
+public const ASSIGNMENT_STICKY = "org.apache.kafka.clients.consumer.StickyAssignor";
+
+# Same as `ASSIGNMENT_STICKY`, but uses incremental rebalancing, where the consumers keep consuming from the partitions
+# which are not moved to another consumer during a rebalance.
+public const ASSIGNMENT_COOPERATIVE_STICKY = "org.apache.kafka.clients.consumer.CooperativeStickyAssignor";
+
 // ********************************************
 //         Producer-Related constants         *
 // ********************************************
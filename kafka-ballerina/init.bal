@@ -16,10 +16,20 @@
 
 import ballerina/jballerina.java;
 
+# Maximum size in bytes of the records buffered by all the listeners of the program, until they are processed. The
+# listeners pause their partitions while the buffered records exceed this size. Use `0` for no limit.
+configurable int maxBufferedRecordBytes = 0;
+
 function init() {
     setModule();
+    setMemoryBudget(maxBufferedRecordBytes);
 }
 
 function setModule() = @java:Method {
     'class: "org.ballerinalang.messaging.kafka.utils.ModuleUtils"
 } external;
+
+function setMemoryBudget(int maxBufferedBytes) = @java:Method {
+    name: "setLimit",
+    'class: "org.ballerinalang.messaging.kafka.impl.KafkaMemoryBudget"
+} external;
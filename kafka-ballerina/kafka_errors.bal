@@ -23,16 +23,6 @@ public type ProducerError distinct error;
 # Represents a Kafka Avro related error.
 public type AvroError distinct error;
 
-isolated function getValueTypeMismatchError(string expectedType) returns ProducerError {
-    string message = "Invalid type found for Kafka value. Expected value type: '" + expectedType + "'.";
-    return error ProducerError(message);
-}
-
-isolated function getKeyTypeMismatchError(string expectedType) returns ProducerError {
-    string message = "Invalid type found for Kafka key. Expected key type: '" + expectedType + "'.";
-    return error ProducerError(message);
-}
-
 isolated function createProducerError(string message) returns ProducerError {
     return error ProducerError(message);
 }
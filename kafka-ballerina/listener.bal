@@ -47,21 +47,25 @@ public client class Listener {
         return 'start(self);
     }
 
-    # Stops the kafka listener.
+    # Stops the kafka listener gracefully. The listener stops polling, waits for the records being processed to
+    # complete, commits their offsets, and then leaves the consumer group, within the time given by
+    # `gracefulShutdownTimeoutInMillis`.
     #
     # + return - An `kafka:ConsumerError` if an error is encountered during the listener stopping process or else nil
     public isolated function gracefulStop() returns error? {
-        return stop(self);
+        return gracefulStop(self);
     }
 
-    # Stops the kafka listener.
+    # Stops the kafka listener immediately, without waiting for the records being processed.
     #
     # + return - An `kafka:ConsumerError` if an error is encountered during the listener stopping process or else nil
     public isolated function immediateStop() returns error? {
         return stop(self);
     }
 
-    # Gets called every time a service attaches itself to the listener.
+    # Gets called every time a service attaches itself to the listener. Several services can be attached to the
+    # same listener, and the records of each topic are dispatched to the services configured for the topic with the
+    # `kafka:ServiceConfig` annotation. A service can be attached while the listener is running.
     #
     # + s - The service to be attached
     # + name - Name of the service
@@ -70,12 +74,26 @@ public client class Listener {
         return register(self, s, name);
     }
 
-    # Detaches a consumer service from the listener.
+    # Detaches a consumer service from the listener. The records of the next poll cycles are not dispatched to the
+    # service, while the listener keeps consuming for the other services. The partitions of the topics which are no
+    # longer dispatched to any service are paused without committing their records, until a service configured for
+    # them is attached.
     #
     # + s - The service to be detached
     # + return - An `kafka:ConsumerError` if an error is encountered while detaching a service or else nil
     public isolated function detach(Service s) returns error? {
-        // not implemented
+        return unregister(self, s);
+    }
+
+    # Retrieves the lag of each partition assigned to the listener. The lag is refreshed by the listener while
+    # polling, at the interval given by `lagRefreshIntervalInMillis`, hence this does not contact the Kafka server.
+    # ```ballerina
+    # kafka:PartitionLag[] lag = listener->getLag();
+    # ```
+    #
+    # + return - Lag of the partitions assigned to the listener
+    isolated remote function getLag() returns PartitionLag[] {
+        return getLag(self);
     }
 
     private isolated function subscribe(string[] topics) returns ConsumerError? {
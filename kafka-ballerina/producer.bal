@@ -79,11 +79,6 @@ public client class Producer {
     # + producerRecord - Record to be produced
     # + return -  A `kafka:ProducerError` if send action fails to send data or else '()'
     isolated remote function sendProducerRecord(ProducerRecord producerRecord) returns ProducerError? {
-        // Only producing byte[] values is handled at the moment
-        if (self.valueSerializerType == SER_BYTE_ARRAY) {
-            return sendByteArrayValues(self, producerRecord.value, producerRecord.topic, producerRecord?.key,
-            producerRecord?.partition, producerRecord?.timestamp, self.keySerializerType);
-        }
-        panic createProducerError("Invalid value serializer configuration");
+        return producerSend(self, producerRecord);
     }
 }
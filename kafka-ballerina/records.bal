@@ -33,6 +33,16 @@ public type TopicPartition record {|
     int partition;
 |};
 
+# Represents the lag of a topic partition, which is the number of records the consumer is behind the end of the
+# partition.
+#
+# + partition - The `kafka:TopicPartition` to which the lag is related
+# + lag - Number of records in the partition, which are not yet consumed
+public type PartitionLag record {|
+    TopicPartition partition;
+    int lag;
+|};
+
 // Security-related records
 # Configurations for facilitating secure communication with the Kafka server.
 #
@@ -118,9 +128,16 @@ public type AuthenticationConfiguration record {|
 #
 # + bootstrapServers - List of remote server endpoints of kafka brokers
 # + groupId - Unique string that identifies the consumer
+# + groupInstanceId - Identity of the consumer instance within the consumer group, which enables static membership.
+#                     A restarted instance with the same identity gets back its partitions without a rebalance, if
+#                     it rejoins within the session timeout. The concurrent consumers of a listener use this followed
+#                     by `-<consumer index>`, except for the first consumer. A consumer removed by `elasticConsumers`
+#                     keeps its partitions until the session timeout expires
 # + topics - Topics to be subscribed by the consumer
 # + offsetReset - Offset reset strategy if no initial offset
-# + partitionAssignmentStrategy - Strategy class for handling the partition assignment among consumers
+# + partitionAssignmentStrategy - Strategy class for handling the partition assignment among consumers. Use
+#                                 `kafka:ASSIGNMENT_COOPERATIVE_STICKY` to rebalance incrementally, so that only the
+#                                 partitions which move to another consumer are revoked
 # + metricsRecordingLevel - Metrics recording level
 # + metricsReporterClasses - Metrics reporter classes
 # + clientId - Identifier to be used for server side logging
@@ -152,7 +169,23 @@ public type AuthenticationConfiguration record {|
 # + reconnectBackoffTimeInMillis - Time to wait before attempting to reconnect
 # + pollingTimeoutInMillis - Timeout interval for polling
 # + pollingIntervalInMillis - Polling interval for the consumer
+# + prefetchBatches - Number of batches of records a `kafka:Consumer` polls in the background, ahead of `poll()`, which
+#                     returns the buffered records right away. The assigned partitions are paused while the buffer is
+#                     full. `commit()` commits the offsets of the records returned from `poll()`. Prefetching requires
+#                     `autoCommit` to be disabled, as the offsets of the buffered records would be committed before
+#                     they are returned. Prefetching is disabled by default
+# + parallelConversionThreshold - Number of records retrieved from a single `poll()` above which the records are
+#                                 converted in parallel. Parallel conversion is disabled by default
 # + concurrentConsumers - Number of concurrent consumers
+# + elasticConsumers - Scales the number of concurrent consumers of a listener at runtime, based on the lag and the
+#                      processing load. `concurrentConsumers` is ignored when this is provided
+# + lagRefreshIntervalInMillis - Interval at which the listener refreshes the lag of the assigned partitions
+# + revokeTimeoutInMillis - Maximum time a listener waits for the records of the revoked partitions to be processed
+#                           during a rebalance, before the offsets of the processed records are committed and the
+#                           partitions are handed off. Defaults to 10 seconds. Use `0` to hand off the partitions
+#                           without waiting
+# + gracefulShutdownTimeoutInMillis - Maximum time a listener takes to stop gracefully, including waiting for the
+#                                     records being processed and committing their offsets. Defaults to 30 seconds
 # + defaultApiTimeoutInMillis - Default API timeout value for APIs with duration
 # + autoCommit - Enables auto committing offsets
 # + checkCRCS - Check the CRC32 of the records consumed. This ensures that no on-the-wire or on-disk corruption to
@@ -160,12 +193,26 @@ public type AuthenticationConfiguration record {|
 #               performance is required
 # + excludeInternalTopics - Whether records from internal topics should be exposed to the consumer
 # + decoupleProcessing - Decouples processing
+# + keepAlivePolling - Keeps a listener in the consumer group while a service processes the records, when the processing
+#                      is not decoupled. The assigned partitions are paused and polled at the polling interval, so that
+#                      processing which takes longer than `maxPollInterval` does not cause a rebalance
+# + recordFilters - Filters on the records received by a listener. Only the records which match at least one of the
+#                   filters are dispatched to the service, while the offsets of the other records are still committed
+# + partitionLevelMetrics - Tags the latency metrics of the consumer with the partition in addition to the topic
+# + clientMetrics - Names of the Kafka consumer metrics (e.g. `fetch-latency-avg`) to be published as Ballerina
+#                   metrics. A default set of metrics is published if this is not provided
+# + clientMetricsIntervalInMillis - Interval at which the Kafka consumer metrics are sampled
+# + tracingSamplingRate - Fraction of the consumer operations and the received batches of records to be tagged with the
+#                         Kafka tracing tags and the trace context of the records, between 0.0 and 1.0. Failed
+#                         operations are always tagged. The spans themselves are created by the Ballerina runtime for
+#                         all the operations, hence they are sampled using the sampler of the tracing provider
 # + secureSocket - Configurations related to SSL/TLS encryption
 # + authenticationConfiguration - Authentication-related configurations for the Kafka consumer
 # + securityProtocol - Type of the security protocol to use in the broker connection
 public type ConsumerConfiguration record {|
     string bootstrapServers;
     string groupId?;
+    string groupInstanceId?;
     string[] topics?;
     OffsetResetMethod offsetReset?;
     string partitionAssignmentStrategy?;
@@ -200,30 +247,120 @@ public type ConsumerConfiguration record {|
     int reconnectBackoffTimeInMillis?;
     int pollingTimeoutInMillis?;
     int pollingIntervalInMillis?;
+    int prefetchBatches?;
+    int parallelConversionThreshold?;
     int concurrentConsumers?;
+    ElasticConsumerConfiguration elasticConsumers?;
+    int lagRefreshIntervalInMillis?;
+    int revokeTimeoutInMillis?;
+    int gracefulShutdownTimeoutInMillis?;
     int defaultApiTimeoutInMillis?;
 
     boolean autoCommit = true;
     boolean checkCRCS = true;
     boolean excludeInternalTopics = true;
     boolean decoupleProcessing = false;
+    boolean keepAlivePolling = false;
+    boolean partitionLevelMetrics = false;
+
+    RecordFilter[] recordFilters?;
+
+    string[] clientMetrics?;
+    int clientMetricsIntervalInMillis?;
+    float tracingSamplingRate = 1.0;
 
     SecureSocket secureSocket?;
     AuthenticationConfiguration authenticationConfiguration?;
     SecurityProtocol securityProtocol = PROTOCOL_PLAINTEXT;
 |};
 
+# Configurations to scale the concurrent consumers of a listener. The listener starts with as many consumers as the
+# smaller of the number of partitions and the number of processors, and then adds or removes one consumer at a time.
+# Consumers are not removed when `groupInstanceId` is configured, as a static member does not leave the consumer group
+# when it is closed, which would leave its partitions unassigned until its session times out.
+#
+# + minConsumers - Minimum number of consumers
+# + maxConsumers - Maximum number of consumers. The number of partitions of the topics is used if this is not provided
+# + lagThreshold - Lag per consumer above which a consumer is added. A consumer is removed only if the lag per
+#                  consumer is below half of this
+# + scaleUpUtilization - Fraction of time the consumers spend processing records, above which a consumer is added
+# + scaleDownUtilization - Fraction of time the consumers spend processing records, below which a consumer is removed
+# + evaluationIntervalInMillis - Interval at which the load of the consumers is evaluated
+# + stableEvaluations - Number of consecutive evaluations with the same result needed to add or remove a consumer
+# + cooldownInMillis - Minimum time between two changes in the number of consumers
+public type ElasticConsumerConfiguration record {|
+    int minConsumers = 1;
+    int maxConsumers?;
+    int lagThreshold = 1000;
+    float scaleUpUtilization = 0.8;
+    float scaleDownUtilization = 0.3;
+    int evaluationIntervalInMillis = 10000;
+    int stableEvaluations = 3;
+    int cooldownInMillis = 60000;
+|};
+
+# Represents a filter on the records received by a listener. A record matches the filter if it satisfies all the
+# conditions given in the filter. Keys which are not `byte[]` values are compared using their string representation.
+#
+# + topic - Topic of the record
+# + key - Key of the record
+# + keyPrefix - Prefix of the key of the record
+# + header - Header of the record
+# + fromTimestamp - Timestamp from which the records are matched (inclusive), in milliseconds since epoch
+# + toTimestamp - Timestamp until which the records are matched (exclusive), in milliseconds since epoch
+public type RecordFilter record {|
+    string topic?;
+    byte[]|string key?;
+    byte[]|string keyPrefix?;
+    HeaderFilter header?;
+    int fromTimestamp?;
+    int toTimestamp?;
+|};
+
+# Represents a filter on a header of the records received by a listener.
+#
+# + name - Name of the header
+# + value - Value of the header. If this is not provided, any record which has the header is matched
+public type HeaderFilter record {|
+    string name;
+    byte[]|string value?;
+|};
+
 # Type related to consumer record.
 #
 # + key - Key that is included in the record
 # + value - Record content
 # + timestamp - Timestamp of the record, in milliseconds since epoch
 # + offset - Topic partition position in which the consumed record is stored
+# + headers - Headers of the record, if the record has any. The values of a header which occurs more than once are
+#             grouped into a `byte[][]`
 public type ConsumerRecord record {|
     byte[] key?;
     byte[] value;
     int timestamp;
     PartitionOffset offset;
+    readonly & map<byte[]|byte[][]> headers?;
+|};
+
+# Columnar form of the records dispatched to a service in a single batch, which a service can accept instead of a
+# `kafka:ConsumerRecord[]`. The n-th element of each column belongs to the n-th record of the batch. The headers of
+# the records are not included.
+#
+# + topics - Topics of the records of the batch
+# + topicIndexes - Index of the topic of each record in `topics`
+# + partitions - Partition of each record
+# + offsets - Offset of each record in its partition
+# + timestamps - Timestamp of each record, in milliseconds since epoch
+# + keys - Key of each record, or `()` if the record does not have a key
+# + values - Value of each record
+public type ConsumerRecordBatch record {|
+    string[] topics;
+    int[] topicIndexes;
+    int[] partitions;
+    int[] offsets;
+    int[] timestamps;
+    anydata[] keys;
+    anydata[] values;
 |};
 
 # Details related to the producer record.
@@ -233,12 +370,14 @@ public type ConsumerRecord record {|
 # + value - Record content
 # + timestamp - Timestamp of the record, in milliseconds since epoch
 # + partition - Partition to which the record should be sent
+# + headers - Headers of the record. A `byte[][]` value is sent as a separate header for each of its values
 public type ProducerRecord record {|
     string topic;
     byte[] key?;
     byte[] value;
     int timestamp?;
     int partition?;
+    map<byte[]|byte[][]> headers?;
 |};
 
 # Represents a generic Avro record. This is the type of the value returned from an Avro deserializer consumer.
@@ -282,6 +421,14 @@ public type AvroGenericRecord record {
 # + connectionsMaxIdleTimeInMillis - Close the idle connections after this number of milliseconds
 # + transactionTimeoutInMillis - Timeout for transaction status update from the producer
 # + enableIdempotence - Exactly one copy of each message is written to the stream when enabled
+# + partitionLevelMetrics - Tags the latency metrics of the producer with the partition in addition to the topic
+# + clientMetrics - Names of the Kafka producer metrics (e.g. `record-queue-time-avg`) to be published as Ballerina
+#                   metrics. A default set of metrics is published if this is not provided
+# + clientMetricsIntervalInMillis - Interval at which the Kafka producer metrics are sampled
+# + tracingSamplingRate - Fraction of the producer operations to be tagged with the Kafka tracing tags and to propagate
+#                         their trace context to the records, between 0.0 and 1.0. Failed sends are always tagged. The
+#                         spans themselves are created by the Ballerina runtime for all the operations, hence they are
+#                         sampled using the sampler of the tracing provider
 # + secureSocket - Configurations related to SSL/TLS encryption
 # + authenticationConfiguration - Authentication-related configurations for the Kafka producer
 # + securityProtocol - Type of the security protocol to use in the broker connection
@@ -320,6 +467,11 @@ public type ProducerConfiguration record {|
     int transactionTimeoutInMillis?;
 
     boolean enableIdempotence = false;
+    boolean partitionLevelMetrics = false;
+
+    string[] clientMetrics?;
+    int clientMetricsIntervalInMillis?;
+    float tracingSamplingRate = 1.0;
 
     SecureSocket secureSocket?;
     AuthenticationConfiguration authenticationConfiguration?;
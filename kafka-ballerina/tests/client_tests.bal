@@ -22,14 +22,34 @@ import ballerina/test;
 const DOCKER_COMPOSE_FILE = "docker-compose.yaml";
 const TEST_MESSAGE = "Hello, Ballerina";
 const TEST_DIRECTORY = "";
+const int MAX_POLLS = 15;
+const int POLL_TIMEOUT = 1000;
+const int MAX_WAITS = 30;
+const decimal WAIT_INTERVAL = 0.5;
 
 string topic1 = "test-topic-1";
 string topic2 = "test-topic-2";
 string topic3 = "test-topic-3";
 string nonExistingTopic = "non-existing-topic";
 string manualCommitTopic = "manual-commit-test-topic";
+string headersTopic = "headers-test-topic";
+string filterTopic = "filter-test-topic";
+string routeTopic1 = "route-test-topic-1";
+string routeTopic2 = "route-test-topic-2";
+string streamTopic = "stream-test-topic";
+string listenerStreamTopic = "listener-stream-test-topic";
+string completionStreamTopic = "completion-stream-test-topic";
+string batchTopic = "batch-test-topic";
+string parallelConversionTopic = "parallel-conversion-test-topic";
 
 string receivedMessage = "";
+string[] filteredMessages = [];
+string[] routedMessages1 = [];
+string[] routedMessages2 = [];
+string[] streamedMessages = [];
+string[] completionStreamedMessages = [];
+int[] batchOffsets = [];
+string[] batchTopics = [];
 
 ProducerConfiguration producerConfiguration = {
     bootstrapServers: "localhost:9092",
@@ -236,10 +256,280 @@ function producerCloseTest() returns error? {
     test:assertEquals(receivedErr.message(), expectedErr);
 }
 
+@test:Config {
+    dependsOn: [consumerSubscribeTest]
+}
+function consumerRecordHeadersTest() returns error? {
+    check producer->sendProducerRecord({
+        topic: headersTopic,
+        value: TEST_MESSAGE.toBytes(),
+        headers: {
+            "single-header": "single".toBytes(),
+            "repeated-header": ["first".toBytes(), "second".toBytes()]
+        }
+    });
+    ConsumerConfiguration consumerConfiguration = {
+        bootstrapServers: "localhost:9092",
+        topics: [headersTopic],
+        offsetReset: OFFSET_RESET_EARLIEST,
+        groupId: "consumer-headers-test-group",
+        clientId: "test-consumer-8"
+    };
+    Consumer consumer = check new (consumerConfiguration);
+    ConsumerRecord[] consumerRecords = check pollRecords(consumer, 1);
+    test:assertEquals(consumerRecords.length(), 1);
+    map<byte[]|byte[][]>? headers = consumerRecords[0]?.headers;
+    if (headers is map<byte[]|byte[][]>) {
+        test:assertEquals(headers["single-header"], "single".toBytes());
+        byte[]|byte[][]? repeatedHeader = headers["repeated-header"];
+        if (repeatedHeader is byte[][]) {
+            test:assertEquals(repeatedHeader.length(), 2);
+            test:assertEquals(repeatedHeader[0], "first".toBytes());
+            test:assertEquals(repeatedHeader[1], "second".toBytes());
+        } else {
+            test:assertFail("Expected the values of the repeated header to be grouped");
+        }
+    } else {
+        test:assertFail("Expected the headers of the record");
+    }
+    var closeResult = consumer->close();
+}
+
+@test:Config {
+    dependsOn: [consumerSubscribeTest]
+}
+function listenerRecordFilterTest() returns error? {
+    check producer->sendProducerRecord({ topic: filterTopic, key: "keep-1".toBytes(), value: "1".toBytes() });
+    check producer->sendProducerRecord({ topic: filterTopic, key: "drop-1".toBytes(), value: "2".toBytes() });
+    check producer->sendProducerRecord({ topic: filterTopic, key: "keep-2".toBytes(), value: "3".toBytes() });
+    ConsumerConfiguration consumerConfiguration = {
+        bootstrapServers: "localhost:9092",
+        topics: [filterTopic],
+        offsetReset: OFFSET_RESET_EARLIEST,
+        groupId: "listener-filter-test-group",
+        clientId: "test-consumer-9",
+        recordFilters: [{ keyPrefix: "keep" }]
+    };
+    Listener filterListener = check startListener(consumerConfiguration, filterService);
+    waitUntil(() => filteredMessages.length() >= 2);
+    test:assertEquals(filteredMessages, ["1", "3"]);
+    check filterListener.gracefulStop();
+}
+
+@test:Config {
+    dependsOn: [consumerSubscribeTest]
+}
+function listenerAttachDetachTest() returns error? {
+    check sendMessage("1".toBytes(), routeTopic1);
+    check sendMessage("2".toBytes(), routeTopic2);
+    ConsumerConfiguration consumerConfiguration = {
+        bootstrapServers: "localhost:9092",
+        topics: [routeTopic1, routeTopic2],
+        offsetReset: OFFSET_RESET_EARLIEST,
+        groupId: "listener-attach-detach-test-group",
+        clientId: "test-consumer-10"
+    };
+    Listener routeListener = check startListener(consumerConfiguration, routeService1, routeService2);
+    waitUntil(() => routedMessages1.length() >= 1 && routedMessages2.length() >= 1);
+    test:assertEquals(routedMessages1, ["1"]);
+    test:assertEquals(routedMessages2, ["2"]);
+
+    check routeListener.detach(routeService2);
+    check sendMessage("3".toBytes(), routeTopic1);
+    check sendMessage("4".toBytes(), routeTopic2);
+    // Both topics are polled by the same consumer, hence the record of the detached route is polled by then.
+    waitUntil(() => routedMessages1.length() >= 2);
+    test:assertEquals(routedMessages1, ["1", "3"]);
+    test:assertEquals(routedMessages2, ["2"]);
+
+    // The records of the detached route are neither dispatched nor committed until a route is attached again.
+    check routeListener.attach(routeService2);
+    waitUntil(() => routedMessages2.length() >= 2);
+    test:assertEquals(routedMessages1, ["1", "3"]);
+    test:assertEquals(routedMessages2, ["2", "4"]);
+    check routeListener.gracefulStop();
+}
+
+@test:Config {
+    dependsOn: [consumerSubscribeTest]
+}
+function consumerStreamTest() returns error? {
+    int messageCount = 3;
+    check sendMessages(["0", "1", "2"], streamTopic);
+    ConsumerConfiguration consumerConfiguration = {
+        bootstrapServers: "localhost:9092",
+        topics: [streamTopic],
+        offsetReset: OFFSET_RESET_EARLIEST,
+        groupId: "consumer-stream-test-group",
+        clientId: "test-consumer-11",
+        autoCommit: false
+    };
+    Consumer consumer = check new (consumerConfiguration);
+    stream<ConsumerRecord, ConsumerError?> records = consumer->'stream(5000, true);
+    int count = 0;
+    while (count < messageCount) {
+        record {| ConsumerRecord value; |}|ConsumerError? next = records.next();
+        if (next is record {| ConsumerRecord value; |}) {
+            test:assertEquals(next.value.value, count.toString().toBytes());
+        } else {
+            test:assertFail("Expected a record from the stream");
+        }
+        count += 1;
+    }
+    // Closing the stream commits the offsets of the records consumed since the last poll.
+    check records.close();
+
+    TopicPartition topicPartition = {
+        topic: streamTopic,
+        partition: 0
+    };
+    PartitionOffset? committedOffset = check consumer->getCommittedOffset(topicPartition);
+    if (committedOffset is PartitionOffset) {
+        test:assertEquals(committedOffset.offset, messageCount);
+    } else {
+        test:assertFail("Expected the offsets of the consumed records to be committed");
+    }
+    var closeResult = consumer->close();
+}
+
+@test:Config {
+    dependsOn: [consumerSubscribeTest]
+}
+function listenerStreamTest() returns error? {
+    check sendMessages(["0", "1", "2"], listenerStreamTopic);
+    ConsumerConfiguration consumerConfiguration = {
+        bootstrapServers: "localhost:9092",
+        topics: [listenerStreamTopic],
+        offsetReset: OFFSET_RESET_EARLIEST,
+        groupId: "listener-stream-test-group",
+        clientId: "test-consumer-12"
+    };
+    Listener streamListener = check startListener(consumerConfiguration, streamService);
+    waitUntil(() => streamedMessages.length() >= 3);
+    test:assertEquals(streamedMessages, ["0", "1", "2"]);
+    check streamListener.gracefulStop();
+}
+
+@test:Config {
+    dependsOn: [consumerSubscribeTest]
+}
+function listenerCompletionStreamTest() returns error? {
+    check sendMessage("0".toBytes(), completionStreamTopic);
+    ConsumerConfiguration consumerConfiguration = {
+        bootstrapServers: "localhost:9092",
+        topics: [completionStreamTopic],
+        offsetReset: OFFSET_RESET_EARLIEST,
+        groupId: "listener-completion-stream-test-group",
+        clientId: "test-consumer-15"
+    };
+    Listener streamListener = check new (consumerConfiguration);
+    // A service which accepts a stream with an error completion type is attachable as a stream service.
+    RecordStreamService completionStreamService = service object {
+        remote function onConsumerRecord(Caller caller, stream<ConsumerRecord, error?> records) {
+            error? result = records.forEach(function(ConsumerRecord kafkaRecord) {
+                string|error message = 'string:fromBytes(kafkaRecord.value);
+                if (message is string) {
+                    completionStreamedMessages.push(<@untainted>message);
+                }
+            });
+        }
+    };
+    check streamListener.attach(completionStreamService);
+    check streamListener.'start();
+    waitUntil(() => completionStreamedMessages.length() >= 1);
+    test:assertEquals(completionStreamedMessages, ["0"]);
+    check streamListener.gracefulStop();
+}
+
+@test:Config {
+    dependsOn: [consumerSubscribeTest]
+}
+function listenerRecordBatchTest() returns error? {
+    check sendMessages(["0", "1", "2"], batchTopic);
+    ConsumerConfiguration consumerConfiguration = {
+        bootstrapServers: "localhost:9092",
+        topics: [batchTopic],
+        offsetReset: OFFSET_RESET_EARLIEST,
+        groupId: "listener-batch-test-group",
+        clientId: "test-consumer-13"
+    };
+    Listener batchListener = check startListener(consumerConfiguration, batchService);
+    waitUntil(() => batchOffsets.length() >= 3);
+    test:assertEquals(batchOffsets, [0, 1, 2]);
+    test:assertEquals(batchTopics, [batchTopic, batchTopic, batchTopic]);
+    check batchListener.gracefulStop();
+}
+
+@test:Config {
+    dependsOn: [consumerSubscribeTest]
+}
+function consumerParallelConversionTest() returns error? {
+    int messageCount = 20;
+    string[] messages = [];
+    foreach int i in 0 ..< messageCount {
+        messages.push(i.toString());
+    }
+    check sendMessages(messages, parallelConversionTopic);
+    ConsumerConfiguration consumerConfiguration = {
+        bootstrapServers: "localhost:9092",
+        topics: [parallelConversionTopic],
+        offsetReset: OFFSET_RESET_EARLIEST,
+        groupId: "consumer-parallel-conversion-test-group",
+        clientId: "test-consumer-14",
+        parallelConversionThreshold: 2
+    };
+    Consumer consumer = check new (consumerConfiguration);
+    ConsumerRecord[] receivedRecords = check pollRecords(consumer, messageCount);
+    test:assertEquals(receivedRecords.length(), messageCount);
+    // The records converted in parallel are returned in the order they were polled.
+    foreach int i in 0 ..< messageCount {
+        test:assertEquals(receivedRecords[i].value, i.toString().toBytes());
+        test:assertEquals(receivedRecords[i].offset.offset, i);
+    }
+    var closeResult = consumer->close();
+}
+
 function sendMessage(byte[] message, string topic) returns error? {
     return producer->sendProducerRecord({ topic: topic, value: message });
 }
 
+function sendMessages(string[] messages, string topic) returns error? {
+    foreach string message in messages {
+        check sendMessage(message.toBytes(), topic);
+    }
+}
+
+# Polls the consumer until the given number of records are received, or `MAX_POLLS` polls return.
+function pollRecords(Consumer consumer, int count) returns ConsumerRecord[]|error {
+    ConsumerRecord[] receivedRecords = [];
+    int polls = 0;
+    while (receivedRecords.length() < count && polls < MAX_POLLS) {
+        ConsumerRecord[] consumerRecords = check consumer->poll(POLL_TIMEOUT);
+        receivedRecords.push(...consumerRecords);
+        polls += 1;
+    }
+    return receivedRecords;
+}
+
+# Starts a listener with the given services attached to it.
+function startListener(ConsumerConfiguration consumerConfiguration, Service... services) returns Listener|error {
+    Listener kafkaListener = check new (consumerConfiguration);
+    foreach Service s in services {
+        check kafkaListener.attach(s);
+    }
+    check kafkaListener.'start();
+    return kafkaListener;
+}
+
+# Waits until the given condition holds, checking it every `WAIT_INTERVAL` seconds, up to `MAX_WAITS` times.
+function waitUntil(function () returns boolean condition) {
+    int waits = 0;
+    while (!condition() && waits < MAX_WAITS) {
+        runtime:sleep(WAIT_INTERVAL);
+        waits += 1;
+    }
+}
+
 Service consumerService =
 service object {
     remote function onConsumerRecord(Caller caller, ConsumerRecord[] records) {
@@ -253,3 +543,68 @@ service object {
         }
     }
 };
+
+Service filterService =
+service object {
+    remote function onConsumerRecord(Caller caller, ConsumerRecord[] records) {
+        foreach var kafkaRecord in records {
+            string|error message = 'string:fromBytes(kafkaRecord.value);
+            if (message is string) {
+                filteredMessages.push(<@untainted>message);
+            }
+        }
+    }
+};
+
+Service routeService1 =
+@ServiceConfig {
+    topics: ["route-test-topic-1"]
+}
+service object {
+    remote function onConsumerRecord(Caller caller, ConsumerRecord[] records) {
+        foreach var kafkaRecord in records {
+            string|error message = 'string:fromBytes(kafkaRecord.value);
+            if (message is string) {
+                routedMessages1.push(<@untainted>message);
+            }
+        }
+    }
+};
+
+Service routeService2 =
+@ServiceConfig {
+    topics: ["route-test-topic-2"]
+}
+service object {
+    remote function onConsumerRecord(Caller caller, ConsumerRecord[] records) {
+        foreach var kafkaRecord in records {
+            string|error message = 'string:fromBytes(kafkaRecord.value);
+            if (message is string) {
+                routedMessages2.push(<@untainted>message);
+            }
+        }
+    }
+};
+
+Service streamService =
+service object {
+    remote function onConsumerRecord(Caller caller, stream<ConsumerRecord> records) {
+        foreach ConsumerRecord kafkaRecord in records {
+            string|error message = 'string:fromBytes(kafkaRecord.value);
+            if (message is string) {
+                streamedMessages.push(<@untainted>message);
+            }
+        }
+    }
+};
+
+Service batchService =
+service object {
+    remote function onConsumerRecord(Caller caller, ConsumerRecordBatch batch) {
+        test:assertEquals(batch.offsets.length(), batch.values.length());
+        foreach int i in 0 ..< batch.offsets.length() {
+            batchOffsets.push(batch.offsets[i]);
+            batchTopics.push(batch.topics[batch.topicIndexes[i]]);
+        }
+    }
+};
@@ -25,8 +25,37 @@ public type AuthenticationMechanism AUTH_SASL_PLAIN;
 # Represents the supported security protocols for Kafka clients.
 public type SecurityProtocol PROTOCOL_PLAINTEXT|PROTOCOL_SASL_PLAINTEXT|PROTOCOL_SASL_SSL|PROTOCOL_SSL;
 
-# The Kafka service type
-public type Service service object {
+# The Kafka service type, which accepts the records of a poll as a `kafka:ConsumerRecord[]`, a
+# `stream<kafka:ConsumerRecord>` or a `kafka:ConsumerRecordBatch`.
+public type Service RecordService|RecordStreamService|RecordBatchService;
+
+# A Kafka service which accepts the records of a poll as an array.
+public type RecordService service object {
     remote function onConsumerRecord(Caller caller, ConsumerRecord[] records);
     // To be completed when support for optional params in remote functions is available in lang
 };
+
+# A Kafka service which accepts the records of a poll as a stream, where a record is converted only when it is read
+# from the stream.
+public type RecordStreamService service object {
+    remote function onConsumerRecord(Caller caller, stream<ConsumerRecord> records);
+};
+
+# A Kafka service which accepts the records of a poll as a columnar `kafka:ConsumerRecordBatch`.
+public type RecordBatchService service object {
+    remote function onConsumerRecord(Caller caller, ConsumerRecordBatch batch);
+};
+
+# Configurations of a service attached to a Kafka listener.
+#
+# + topics - Topics of the records dispatched to the service. These should be topics subscribed by the listener. If
+#            this is not provided, the records of the topics which are not dispatched to any other service of the
+#            listener are dispatched to the service
+# + recordFilters - Filters on the records dispatched to the service, in addition to the filters of the listener
+public type KafkaServiceConfig record {|
+    string[] topics?;
+    RecordFilter[] recordFilters?;
+|};
+
+# The annotation which is used to configure a Kafka service.
+public annotation KafkaServiceConfig ServiceConfig on service;
@@ -23,6 +23,7 @@ module io.ballerina.stdlib.kafka {
     requires org.apache.avro;
     requires com.fasterxml.jackson.core;
     requires org.slf4j;
+    requires jdk.jfr;
     exports org.ballerinalang.messaging.kafka.impl;
     exports org.ballerinalang.messaging.kafka.nativeimpl.consumer;
     exports org.ballerinalang.messaging.kafka.nativeimpl.producer;
@@ -18,9 +18,16 @@
 
 package org.ballerinalang.messaging.kafka.api;
 
+import io.ballerina.runtime.api.async.Callback;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
-import org.ballerinalang.messaging.kafka.impl.KafkaPollCycleFutureListener;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This interface defines listener which can be registered, to retrieve Kafka records returned from single poll cycle.
@@ -41,13 +48,64 @@ public interface KafkaListener {
      *
      * @param records       Kafka records
      * @param kafkaConsumer consumer on which poll is called upon
-     * @param listener      which control the flow of poll cycle
+     * @param listener      which control the flow of poll cycle, or track the processing of the records
      * @param groupID       ID of the consumer group in which the consumer belongs
      */
     void onRecordsReceived(ConsumerRecords records,
                            KafkaConsumer kafkaConsumer,
                            String groupID,
-                           KafkaPollCycleFutureListener listener);
+                           Callback listener);
+
+    /**
+     * For each poll cycle, it will trigger invocation to this method with the time taken by the poll.
+     *
+     * @param pollDuration time taken by the poll in nanoseconds
+     */
+    void onPollCompleted(long pollDuration);
+
+    /**
+     * Kafka connector will trigger this method to check whether the polled records of a topic can be dispatched.
+     * The partitions of a topic which is not routed to any service are paused until a service is routed to it.
+     *
+     * @param topic topic of the polled records
+     * @return true if the records of the topic are dispatched to an attached service
+     */
+    boolean isRouted(String topic);
+
+    /**
+     * Kafka connector will trigger this method whenever a consumer completes a consumer group rebalance.
+     *
+     * @param revokedPartitions  partitions revoked from the consumer in the rebalance
+     * @param assignedPartitions partitions assigned to the consumer in the rebalance
+     * @param rebalanceDuration  time taken by the rebalance in nanoseconds
+     */
+    void onRebalanceCompleted(Collection<TopicPartition> revokedPartitions,
+                              Collection<TopicPartition> assignedPartitions, long rebalanceDuration);
+
+    /**
+     * Kafka connector will trigger this method whenever the lag of the assigned partitions is refreshed.
+     *
+     * @param partitionLags     lag of each assigned partition
+     * @param removedPartitions partitions which are no longer assigned since the previous refresh
+     */
+    void onLagUpdated(Map<TopicPartition, Long> partitionLags, List<TopicPartition> removedPartitions);
+
+    /**
+     * Kafka connector will trigger this method whenever a consumer other than the consumer of the listener is created
+     * to consume the records concurrently.
+     *
+     * @param consumerId      ID of the consumer within the listener
+     * @param consumerMetrics metrics of the consumer
+     */
+    void onConsumerCreated(int consumerId, Map<MetricName, ? extends Metric> consumerMetrics);
+
+    /**
+     * Kafka connector will trigger this method whenever a consumer created with {@code onConsumerCreated} is closed.
+     *
+     * @param consumerId      ID of the consumer within the listener
+     * @param consumerMetrics metrics of the consumer
+     */
+    void onConsumerClosed(int consumerId, Map<MetricName, ? extends Metric> consumerMetrics);
 
     /**
      * If there are errors, Kafka connector will trigger this method.
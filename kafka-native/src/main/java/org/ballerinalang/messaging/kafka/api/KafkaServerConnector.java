@@ -18,8 +18,12 @@
 
 package org.ballerinalang.messaging.kafka.api;
 
+import org.apache.kafka.common.TopicPartition;
 import org.ballerinalang.messaging.kafka.exceptions.KafkaConnectorException;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Inlet of Kafka inbound messages.
  */
@@ -40,4 +44,21 @@ public interface KafkaServerConnector {
      */
     boolean stop() throws KafkaConnectorException;
 
+    /**
+     * Stop the server connector gracefully, by stopping the polling, waiting for the records being processed, and
+     * committing their offsets before the consumer connection with remote broker is closed. This does not wait for
+     * the consumers to be closed.
+     *
+     * @return a future completed with true if stopped successfully, false otherwise, or completed exceptionally with
+     * a {@code KafkaConnectorException} if error occurred while stopping the Kafka server connector
+     */
+    CompletableFuture<Boolean> gracefulStop();
+
+    /**
+     * Returns the lag of the partitions assigned to the consumers of the server connector.
+     *
+     * @return lag of each assigned partition, as of the last lag refresh of the consumers
+     */
+    Map<TopicPartition, Long> getLag();
+
 }
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.messaging.kafka.impl;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.Future;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.ballerinalang.messaging.kafka.utils.KafkaConstants;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.CONSUMER_ERROR;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.createKafkaError;
+
+/**
+ * {@code KafkaConsumerCommandQueue} confines the operations on a Kafka consumer to the thread which polls the consumer,
+ * as a Kafka consumer is not thread-safe. The operations invoked from Ballerina strands are added to a lock-free queue,
+ * which is drained by the polling thread between the polls, and the results are returned through Ballerina futures, so
+ * that the strands do not block on the consumer.
+ */
+public class KafkaConsumerCommandQueue {
+
+    private static final Map<KafkaConsumer, KafkaConsumerCommandQueue> commandQueues = new ConcurrentHashMap<>();
+
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final Set<TopicPartition> userPausedPartitions = new HashSet<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final KafkaConsumer kafkaConsumer;
+    private final Executor pollingExecutor;
+    private boolean polling;
+    private boolean wakeupRequested;
+
+    private KafkaConsumerCommandQueue(KafkaConsumer kafkaConsumer, Executor pollingExecutor) {
+        this.kafkaConsumer = kafkaConsumer;
+        this.pollingExecutor = pollingExecutor;
+    }
+
+    /**
+     * Creates the command queue of a consumer polled by the given executor. From then on, the operations of the
+     * consumer invoked through {@link #execute(Environment, KafkaConsumer, Command)} run on the polling thread.
+     *
+     * @param kafkaConsumer   Kafka consumer.
+     * @param pollingExecutor single-threaded executor which polls the consumer.
+     * @return the command queue of the consumer.
+     */
+    static KafkaConsumerCommandQueue register(KafkaConsumer kafkaConsumer, Executor pollingExecutor) {
+        KafkaConsumerCommandQueue commandQueue = new KafkaConsumerCommandQueue(kafkaConsumer, pollingExecutor);
+        commandQueues.put(kafkaConsumer, commandQueue);
+        return commandQueue;
+    }
+
+    /**
+     * Removes the command queue of the consumer, after which the operations of the consumer run on the invoking
+     * strand.
+     */
+    void unregister() {
+        commandQueues.remove(kafkaConsumer, this);
+    }
+
+    /**
+     * Executes an operation of a Kafka consumer. If the consumer is polled by a listener, the operation is queued to
+     * be executed by the polling thread, and the result is returned asynchronously. Otherwise, the operation is
+     * executed right away.
+     *
+     * @param environment   Environment of the operation.
+     * @param kafkaConsumer Kafka consumer.
+     * @param command       Operation to be executed.
+     * @return the result of the operation, or null if it is returned asynchronously.
+     */
+    public static Object execute(Environment environment, KafkaConsumer kafkaConsumer, Command command) {
+        KafkaConsumerCommandQueue commandQueue = Objects.isNull(kafkaConsumer) ? null :
+                commandQueues.get(kafkaConsumer);
+        if (Objects.isNull(commandQueue)) {
+            return command.execute();
+        }
+        Future balFuture = environment.markAsync();
+        commandQueue.submit(() -> balFuture.complete(commandQueue.executeCommand(command)));
+        return null;
+    }
+
+    /**
+     * Executes an operation of a Kafka consumer, when the operation is invoked from native code which has already
+     * marked its strand as async. If the consumer is polled by a listener, the operation is queued to be executed by
+     * the polling thread, and the result is passed to the handler from the polling thread. Otherwise, the operation is
+     * executed right away.
+     *
+     * @param kafkaConsumer Kafka consumer.
+     * @param command       Operation to be executed.
+     * @param resultHandler Handler of the result of the operation.
+     */
+    public static void execute(KafkaConsumer kafkaConsumer, Command command, Consumer<Object> resultHandler) {
+        KafkaConsumerCommandQueue commandQueue = commandQueues.get(kafkaConsumer);
+        if (Objects.isNull(commandQueue)) {
+            resultHandler.accept(command.execute());
+            return;
+        }
+        commandQueue.submit(() -> resultHandler.accept(commandQueue.executeCommand(command)));
+    }
+
+    private Object executeCommand(Command command) {
+        try {
+            return runBlocking(command::execute);
+        } catch (RuntimeException e) {
+            return createKafkaError("Failed to execute the consumer operation: " + e.getMessage(), CONSUMER_ERROR);
+        }
+    }
+
+    /**
+     * Runs a blocking operation of the consumer on the polling thread. A wakeup requested for a poll which is already
+     * executing a rebalance callback or draining the commands is triggered by the first blocking operation instead of
+     * the poll, hence the operation is retried once the wakeup is consumed.
+     *
+     * @param operation blocking operation of the consumer.
+     * @param <T>       type of the result of the operation.
+     * @return the result of the operation.
+     */
+    <T> T runBlocking(Supplier<T> operation) {
+        try {
+            return operation.get();
+        } catch (WakeupException e) {
+            synchronized (this) {
+                wakeupRequested = false;
+            }
+            return operation.get();
+        }
+    }
+
+    /**
+     * Stops waking up the poll, while the polling thread executes a rebalance callback from within the poll. The
+     * commands queued in the meantime are executed by the callback while it waits, or once the poll returns.
+     *
+     * @return whether the consumer was being polled, to be passed to {@link #resumeWakeups(boolean)}.
+     */
+    synchronized boolean suspendWakeups() {
+        boolean wasPolling = polling;
+        polling = false;
+        return wasPolling;
+    }
+
+    /**
+     * Resumes waking up the poll, once a rebalance callback is completed.
+     *
+     * @param wasPolling the value returned from {@link #suspendWakeups()}.
+     */
+    synchronized void resumeWakeups(boolean wasPolling) {
+        polling = wasPolling;
+    }
+
+    private void submit(Runnable command) {
+        commands.add(command);
+        // Interrupts the poll, so that the command does not wait for the polling timeout.
+        if (!wakeup() && drainScheduled.compareAndSet(false, true)) {
+            try {
+                pollingExecutor.execute(() -> {
+                    drainScheduled.set(false);
+                    drain();
+                });
+            } catch (RejectedExecutionException e) {
+                // The consumer is stopped, hence the commands fail as the consumer is closed.
+                drainScheduled.set(false);
+                drain();
+            }
+        }
+    }
+
+    /**
+     * Wakes up the consumer, if it is being polled.
+     *
+     * @return true if the poll is woken up, false if the consumer is not being polled.
+     */
+    synchronized boolean wakeup() {
+        if (!polling) {
+            return false;
+        }
+        wakeupRequested = true;
+        kafkaConsumer.wakeup();
+        return true;
+    }
+
+    /**
+     * Executes the queued commands. This should only be called from the polling thread.
+     */
+    void drain() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
+        }
+    }
+
+    /**
+     * Polls the consumer, and executes the commands queued during the poll once the poll returns. The poll is woken up
+     * when a command is queued, in which case no records are returned.
+     *
+     * @param timeout maximum time to block in the poll.
+     * @return the records retrieved from the poll.
+     */
+    ConsumerRecords poll(Duration timeout) {
+        synchronized (this) {
+            polling = true;
+            wakeupRequested = false;
+        }
+        boolean wokenUp = false;
+        try {
+            return kafkaConsumer.poll(timeout);
+        } catch (WakeupException e) {
+            wokenUp = true;
+            return ConsumerRecords.empty();
+        } finally {
+            boolean wakeupPending;
+            synchronized (this) {
+                polling = false;
+                wakeupPending = wakeupRequested && !wokenUp;
+            }
+            if (wakeupPending) {
+                clearWakeup();
+            }
+            drain();
+        }
+    }
+
+    /**
+     * Clears a wakeup requested after the poll had already returned, as it would otherwise abort the next blocking
+     * operation of the consumer, such as a commit. A pending wakeup is triggered before anything is fetched in the
+     * poll. If the wakeup was already consumed, records may be returned, hence their partitions are rewound to the
+     * first of them, so that they are retrieved again in the next poll.
+     */
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    private void clearWakeup() {
+        try {
+            ConsumerRecords records = kafkaConsumer.poll(Duration.ZERO);
+            for (TopicPartition partition : (Set<TopicPartition>) records.partitions()) {
+                List<ConsumerRecord> partitionRecords = records.records(partition);
+                kafkaConsumer.seek(partition, partitionRecords.get(0).offset());
+            }
+        } catch (WakeupException e) {
+            // Expected, as the pending wakeup is triggered.
+        }
+    }
+
+    /**
+     * Records the partitions paused from Ballerina, so that they are left paused when the partitions paused by the
+     * connector itself are resumed. This should be called from the operation which pauses the partitions.
+     *
+     * @param kafkaConsumer Kafka consumer.
+     * @param partitions    partitions paused.
+     */
+    public static void onPartitionsPaused(KafkaConsumer kafkaConsumer, Collection<TopicPartition> partitions) {
+        KafkaConsumerCommandQueue commandQueue = commandQueues.get(kafkaConsumer);
+        if (Objects.nonNull(commandQueue)) {
+            commandQueue.userPausedPartitions.addAll(partitions);
+        }
+    }
+
+    /**
+     * Records the partitions resumed from Ballerina. This should be called from the operation which resumes the
+     * partitions.
+     *
+     * @param kafkaConsumer Kafka consumer.
+     * @param partitions    partitions resumed.
+     */
+    public static void onPartitionsResumed(KafkaConsumer kafkaConsumer, Collection<TopicPartition> partitions) {
+        KafkaConsumerCommandQueue commandQueue = commandQueues.get(kafkaConsumer);
+        if (Objects.nonNull(commandQueue)) {
+            commandQueue.userPausedPartitions.removeAll(partitions);
+        }
+    }
+
+    /**
+     * Returns the partitions paused from Ballerina, which are still assigned to the consumer. This should only be
+     * called from the polling thread.
+     *
+     * @return the paused partitions.
+     */
+    Set<TopicPartition> getUserPausedPartitions() {
+        // The pause state of a partition is reset by the consumer once the partition is revoked.
+        userPausedPartitions.retainAll(kafkaConsumer.assignment());
+        return userPausedPartitions;
+    }
+
+    /**
+     * Represents an operation on a Kafka consumer, which returns its result as a Ballerina value.
+     */
+    @FunctionalInterface
+    public interface Command {
+        Object execute();
+    }
+}
@@ -0,0 +1,517 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.messaging.kafka.impl;
+
+import io.ballerina.runtime.api.values.BObject;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.ballerinalang.messaging.kafka.observability.KafkaMetricsUtil;
+import org.ballerinalang.messaging.kafka.utils.ConsumerRecordConverter;
+import org.ballerinalang.messaging.kafka.utils.KafkaConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.CONSUMER_ERROR;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.createKafkaError;
+
+/**
+ * {@code KafkaConsumerPrefetcher} polls a Kafka consumer from a background thread, and buffers the converted batches
+ * of records in a bounded queue, so that {@code poll()} of the Ballerina consumer returns the buffered records
+ * without waiting for the broker. The background thread owns the consumer, hence the other operations of the consumer
+ * are executed by it, through the command queue of the consumer. The assigned partitions are paused while the queue is
+ * full, and resumed once the buffered batches are taken. A batch requested while the queue is empty is handed over
+ * by the background thread once it is retrieved, so that the requesting strand does not block a thread while waiting.
+ * <p>
+ * Auto commit is not allowed while prefetching, as the consumer would commit the positions of the buffered records
+ * before they are returned.
+ * <p>
+ * The subscriptions of the consumer are made with a rebalance listener from
+ * {@link #wrapRebalanceListener(BObject, ConsumerRebalanceListener)}, so that the buffered records of the partitions
+ * revoked from the consumer are discarded instead of being returned after the partitions are handed off.
+ */
+public class KafkaConsumerPrefetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaConsumerPrefetcher.class);
+    private static final ScheduledExecutorService timeoutScheduler =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "kafka-consumer-prefetch-timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final BObject consumerObject;
+    private final KafkaConsumer kafkaConsumer;
+    private final ConsumerRecordConverter recordConverter;
+    private final Duration pollingTimeout;
+    private final BlockingQueue<PrefetchedBatch> batches;
+    private final Map<TopicPartition, OffsetAndMetadata> deliveredOffsets = new ConcurrentHashMap<>();
+    private final Set<TopicPartition> backpressurePausedPartitions = new HashSet<>();
+    private final ScheduledThreadPoolExecutor executorService = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "kafka-consumer-prefetcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final KafkaConsumerCommandQueue commandQueue;
+    private final Deque<PendingTake> pendingTakes = new ArrayDeque<>();
+    private PrefetchedBatch pendingBatch;
+    private volatile boolean closed = false;
+
+    private KafkaConsumerPrefetcher(BObject consumerObject, KafkaConsumer kafkaConsumer,
+                                    ConsumerRecordConverter recordConverter, int capacity, long pollingTimeout) {
+        this.consumerObject = consumerObject;
+        this.kafkaConsumer = kafkaConsumer;
+        this.recordConverter = recordConverter;
+        this.batches = new ArrayBlockingQueue<>(capacity);
+        this.pollingTimeout = Duration.ofMillis(pollingTimeout);
+        this.executorService.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.commandQueue = KafkaConsumerCommandQueue.register(kafkaConsumer, this.executorService);
+    }
+
+    /**
+     * Starts polling a Kafka consumer in the background.
+     *
+     * @param consumerObject  Kafka consumer object from Ballerina.
+     * @param kafkaConsumer   Kafka consumer.
+     * @param recordConverter converter of the records of the consumer.
+     * @param capacity        maximum number of buffered batches.
+     * @param pollingTimeout  timeout of the background polls in milliseconds.
+     * @return the prefetcher of the consumer.
+     */
+    public static KafkaConsumerPrefetcher start(BObject consumerObject, KafkaConsumer kafkaConsumer,
+                                                ConsumerRecordConverter recordConverter, int capacity,
+                                                long pollingTimeout) {
+        KafkaConsumerPrefetcher prefetcher = new KafkaConsumerPrefetcher(consumerObject, kafkaConsumer,
+                                                                         recordConverter, capacity, pollingTimeout);
+        consumerObject.addNativeData(KafkaConstants.NATIVE_CONSUMER_PREFETCHER, prefetcher);
+        prefetcher.executorService.execute(prefetcher::prefetch);
+        return prefetcher;
+    }
+
+    /**
+     * Returns the prefetcher of a consumer.
+     *
+     * @param consumerObject Kafka consumer object from Ballerina.
+     * @return the prefetcher, or null if the consumer does not prefetch records.
+     */
+    public static KafkaConsumerPrefetcher get(BObject consumerObject) {
+        KafkaConsumerPrefetcher prefetcher =
+                (KafkaConsumerPrefetcher) consumerObject.getNativeData(KafkaConstants.NATIVE_CONSUMER_PREFETCHER);
+        return Objects.isNull(prefetcher) || prefetcher.isStopped() ? null : prefetcher;
+    }
+
+    /**
+     * Discards the records buffered by the prefetcher of a consumer, and rewinds the consumer to the first of them, so
+     * that they are retrieved again after the positions of the consumer are changed. This should be called before
+     * changing the positions, from the operations of the consumer, which are executed by the background thread.
+     *
+     * @param consumerObject Kafka consumer object from Ballerina.
+     */
+    public static void rewind(BObject consumerObject) {
+        KafkaConsumerPrefetcher prefetcher = get(consumerObject);
+        if (Objects.nonNull(prefetcher)) {
+            prefetcher.rewind(Collections.emptySet());
+        }
+    }
+
+    /**
+     * Returns a rebalance listener to subscribe a consumer with, which discards the records buffered by the
+     * prefetcher of the consumer, if any, when partitions are revoked from the consumer, before invoking the given
+     * listener. The prefetcher is looked up when the partitions are revoked, as it is started once the consumer is
+     * polled.
+     *
+     * @param consumerObject Kafka consumer object from Ballerina.
+     * @param listener       rebalance listener of the subscription, or null.
+     * @return the rebalance listener to subscribe with.
+     */
+    public static ConsumerRebalanceListener wrapRebalanceListener(BObject consumerObject,
+                                                                  ConsumerRebalanceListener listener) {
+        return new PrefetcherRebalanceListener(consumerObject, listener);
+    }
+
+    /**
+     * Discards the buffered records, and rewinds the partitions other than the excluded partitions to the first of
+     * them. This should only be called from the background thread.
+     */
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    private void rewind(Collection<TopicPartition> excludedPartitions) {
+        Map<TopicPartition, Long> firstOffsets = new HashMap<>();
+        List<PrefetchedBatch> bufferedBatches = new ArrayList<>();
+        synchronized (this) {
+            if (Objects.nonNull(this.pendingBatch)) {
+                firstOffsets.putAll(this.pendingBatch.firstOffsets);
+                this.pendingBatch = null;
+            }
+            this.batches.drainTo(bufferedBatches);
+        }
+        for (PrefetchedBatch batch : bufferedBatches) {
+            for (Map.Entry<TopicPartition, Long> entry : batch.firstOffsets.entrySet()) {
+                firstOffsets.merge(entry.getKey(), entry.getValue(), Math::min);
+            }
+        }
+        Set<TopicPartition> assignment = this.kafkaConsumer.assignment();
+        for (Map.Entry<TopicPartition, Long> entry : firstOffsets.entrySet()) {
+            if (assignment.contains(entry.getKey()) && !excludedPartitions.contains(entry.getKey())) {
+                this.kafkaConsumer.seek(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Discards the buffered records of the partitions revoked from the consumer. The buffered batches also contain the
+     * records of the other partitions, hence all of them are discarded, and the other partitions are rewound so that
+     * their records are retrieved again. The delivered offsets of the revoked partitions are removed, as they are no
+     * longer committed by this consumer.
+     */
+    private void onPartitionsRemoved(Collection<TopicPartition> partitions) {
+        rewind(partitions);
+        this.deliveredOffsets.keySet().removeAll(partitions);
+        this.backpressurePausedPartitions.removeAll(partitions);
+    }
+
+    /**
+     * Takes the next buffered batch of records. If no batch is buffered, the batch retrieved next is handed over to the
+     * handler by the background thread, or an empty batch once the given timeout expires, without blocking the caller.
+     *
+     * @param timeout       maximum time to wait in milliseconds.
+     * @param resultHandler handler of the Ballerina {@code ConsumerRecord[]}, or a {@code BError} if the background
+     *                      poll failed.
+     */
+    public void take(long timeout, Consumer<Object> resultHandler) {
+        takeBatch(timeout, batch -> {
+            this.deliveredOffsets.putAll(batch.offsets);
+            resultHandler.accept(batch.getRecords());
+        });
+    }
+
+    /**
+     * Takes the next buffered batch of records in the same way as {@link #take(long, Consumer)}, along with the
+     * topic partition and the offset of each record. The offsets of the batch are not recorded as delivered, as the
+     * caller commits the offsets of the records it consumes itself.
+     *
+     * @param timeout      maximum time to wait in milliseconds.
+     * @param batchHandler handler of the batch.
+     */
+    void takeBatch(long timeout, Consumer<PrefetchedBatch> batchHandler) {
+        PrefetchedBatch batch;
+        synchronized (this) {
+            batch = this.batches.poll();
+            if (Objects.isNull(batch)) {
+                // The batch kept aside while the queue was full is the next batch once the queue is empty.
+                batch = this.pendingBatch;
+                this.pendingBatch = null;
+            }
+            if (Objects.isNull(batch) && timeout > 0 && !this.closed) {
+                PendingTake pendingTake = new PendingTake(batchHandler);
+                this.pendingTakes.add(pendingTake);
+                timeoutScheduler.schedule(() -> expire(pendingTake), timeout, TimeUnit.MILLISECONDS);
+                return;
+            }
+        }
+        batchHandler.accept(deliver(batch));
+    }
+
+    private void expire(PendingTake pendingTake) {
+        synchronized (this) {
+            if (!this.pendingTakes.remove(pendingTake)) {
+                return;
+            }
+        }
+        pendingTake.resultHandler.accept(deliver(null));
+    }
+
+    private PrefetchedBatch deliver(PrefetchedBatch batch) {
+        if (Objects.isNull(batch)) {
+            return new PrefetchedBatch(this.recordConverter.convert(ConsumerRecords.empty()), ConsumerRecords.empty());
+        }
+        return batch;
+    }
+
+    /**
+     * Returns the offsets of the records returned from {@link #take(long, Consumer)}, which are the offsets to be
+     * committed instead of the positions of the consumer, as the positions also cover the buffered records. This should
+     * be called from the operations of the consumer, which are executed by the background thread.
+     *
+     * @return offsets of the returned records.
+     */
+    public Map<TopicPartition, OffsetAndMetadata> getDeliveredOffsets() {
+        // Partitions which are no longer assigned cannot be committed by this consumer.
+        this.deliveredOffsets.keySet().retainAll(this.kafkaConsumer.assignment());
+        return new HashMap<>(this.deliveredOffsets);
+    }
+
+    /**
+     * Stops polling the consumer in the background. Once this returns, the consumer is no longer accessed by the
+     * background thread, and the operations of the consumer are executed by the invoking strands. A stopped
+     * prefetcher is not started again, as the consumer is being closed.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting for the background poll to return.
+     */
+    public void stop() throws InterruptedException {
+        this.closed = true;
+        this.commandQueue.wakeup();
+        this.executorService.shutdown();
+        if (!this.executorService.awaitTermination(this.pollingTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            logger.warn("Timed out waiting for the background poll of the Kafka consumer to return");
+        }
+        this.commandQueue.unregister();
+        this.commandQueue.drain();
+        // No more batches are retrieved, hence the pending requests are completed with empty batches.
+        List<PendingTake> expiredTakes;
+        synchronized (this) {
+            expiredTakes = new ArrayList<>(this.pendingTakes);
+            this.pendingTakes.clear();
+        }
+        for (PendingTake pendingTake : expiredTakes) {
+            pendingTake.resultHandler.accept(deliver(null));
+        }
+    }
+
+    public boolean isStopped() {
+        return this.closed;
+    }
+
+    private void prefetch() {
+        if (this.closed) {
+            return;
+        }
+        long delay = 0;
+        try {
+            if (this.kafkaConsumer.subscription().isEmpty() && this.kafkaConsumer.assignment().isEmpty()) {
+                // Nothing can be polled until the consumer is subscribed or assigned to partitions.
+                schedule(this.pollingTimeout.toMillis());
+                return;
+            }
+            boolean full;
+            synchronized (this) {
+                if (Objects.nonNull(this.pendingBatch) && this.batches.offer(this.pendingBatch)) {
+                    this.pendingBatch = null;
+                }
+                full = Objects.nonNull(this.pendingBatch) || this.batches.remainingCapacity() == 0;
+            }
+            applyBackpressure(full);
+            long startTime = System.nanoTime();
+            ConsumerRecords records = this.commandQueue.poll(this.pollingTimeout);
+            KafkaMetricsUtil.reportPollDuration(this.consumerObject, System.nanoTime() - startTime);
+            if (!records.isEmpty()) {
+                buffer(new PrefetchedBatch(this.recordConverter.convert(records), records));
+            }
+        } catch (KafkaException | IllegalStateException | IllegalArgumentException e) {
+            // The failed poll is retried after the polling timeout, instead of failing continuously.
+            delay = this.pollingTimeout.toMillis();
+            if (!this.closed) {
+                buffer(new PrefetchedBatch(createKafkaError("Failed to poll from the Kafka server: "
+                                                                    + e.getMessage(), CONSUMER_ERROR)));
+            }
+        } catch (RuntimeException e) {
+            // Records which cannot be converted fail the poll which returns them.
+            buffer(new PrefetchedBatch(createKafkaError("Failed to convert the polled records: " + e.getMessage(),
+                                                        CONSUMER_ERROR)));
+        }
+        schedule(delay);
+    }
+
+    private void schedule(long delay) {
+        if (this.closed) {
+            return;
+        }
+        try {
+            this.executorService.schedule(this::prefetch, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The prefetcher is stopped.
+        }
+    }
+
+    private void buffer(PrefetchedBatch batch) {
+        PendingTake pendingTake;
+        synchronized (this) {
+            pendingTake = this.pendingTakes.poll();
+            // A batch retrieved while the queue is full is kept aside, as the partitions are paused until it is queued.
+            if (Objects.isNull(pendingTake) && !this.batches.offer(batch)) {
+                this.pendingBatch = batch;
+            }
+        }
+        if (Objects.nonNull(pendingTake)) {
+            pendingTake.resultHandler.accept(deliver(batch));
+        }
+    }
+
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    private void applyBackpressure(boolean full) {
+        if (full) {
+            Set<TopicPartition> partitions = new HashSet<>(this.kafkaConsumer.assignment());
+            partitions.removeAll(this.kafkaConsumer.paused());
+            this.kafkaConsumer.pause(partitions);
+            this.backpressurePausedPartitions.addAll(partitions);
+        } else if (!this.backpressurePausedPartitions.isEmpty()) {
+            // Partitions revoked while paused are no longer assigned, hence they are not resumed. Partitions paused
+            // from Ballerina while the queue was full are left paused.
+            Set<TopicPartition> partitions = new HashSet<>(this.kafkaConsumer.assignment());
+            partitions.retainAll(this.backpressurePausedPartitions);
+            partitions.removeAll(this.commandQueue.getUserPausedPartitions());
+            this.kafkaConsumer.resume(partitions);
+            this.backpressurePausedPartitions.clear();
+        }
+    }
+
+    /**
+     * Rebalance listener which discards the buffered records of the revoked partitions, before invoking the rebalance
+     * listener of the subscription.
+     */
+    private static class PrefetcherRebalanceListener implements ConsumerRebalanceListener {
+
+        private final BObject consumerObject;
+        private final ConsumerRebalanceListener listener;
+
+        PrefetcherRebalanceListener(BObject consumerObject, ConsumerRebalanceListener listener) {
+            this.consumerObject = consumerObject;
+            this.listener = listener;
+        }
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            discardRecords(partitions);
+            if (Objects.nonNull(listener)) {
+                listener.onPartitionsRevoked(partitions);
+            }
+        }
+
+        @Override
+        public void onPartitionsLost(Collection<TopicPartition> partitions) {
+            discardRecords(partitions);
+            if (Objects.nonNull(listener)) {
+                listener.onPartitionsLost(partitions);
+            }
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            if (Objects.nonNull(listener)) {
+                listener.onPartitionsAssigned(partitions);
+            }
+        }
+
+        private void discardRecords(Collection<TopicPartition> partitions) {
+            KafkaConsumerPrefetcher prefetcher = get(consumerObject);
+            if (Objects.nonNull(prefetcher) && !partitions.isEmpty()) {
+                prefetcher.onPartitionsRemoved(partitions);
+            }
+        }
+    }
+
+    /**
+     * A request for a batch of records, which waits for the next retrieved batch.
+     */
+    private static class PendingTake {
+
+        private final Consumer<PrefetchedBatch> resultHandler;
+
+        PendingTake(Consumer<PrefetchedBatch> resultHandler) {
+            this.resultHandler = resultHandler;
+        }
+    }
+
+    /**
+     * A batch of converted records, along with the topic partition and the offset of each record, and the first and
+     * the next offsets of each partition in the batch.
+     */
+    static class PrefetchedBatch {
+
+        private final Object records;
+        private final TopicPartition[] recordPartitions;
+        private final long[] recordOffsets;
+        private final Map<TopicPartition, Long> firstOffsets = new HashMap<>();
+        private final Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+
+        PrefetchedBatch(Object error) {
+            this.records = error;
+            this.recordPartitions = new TopicPartition[0];
+            this.recordOffsets = new long[0];
+        }
+
+        @SuppressWarnings(KafkaConstants.UNCHECKED)
+        PrefetchedBatch(Object records, ConsumerRecords consumerRecords) {
+            this.records = records;
+            this.recordPartitions = new TopicPartition[consumerRecords.count()];
+            this.recordOffsets = new long[consumerRecords.count()];
+            // The records are iterated in the order they are converted in.
+            int index = 0;
+            TopicPartition recordPartition = null;
+            for (Object record : consumerRecords) {
+                ConsumerRecord consumerRecord = (ConsumerRecord) record;
+                if (Objects.isNull(recordPartition) || recordPartition.partition() != consumerRecord.partition()
+                        || !recordPartition.topic().equals(consumerRecord.topic())) {
+                    recordPartition = new TopicPartition(consumerRecord.topic(), consumerRecord.partition());
+                }
+                this.recordPartitions[index] = recordPartition;
+                this.recordOffsets[index++] = consumerRecord.offset();
+            }
+            for (TopicPartition partition : (Set<TopicPartition>) consumerRecords.partitions()) {
+                List<ConsumerRecord> partitionRecords = consumerRecords.records(partition);
+                this.firstOffsets.put(partition, partitionRecords.get(0).offset());
+                this.offsets.put(partition, new OffsetAndMetadata(
+                        partitionRecords.get(partitionRecords.size() - 1).offset() + 1));
+            }
+        }
+
+        /**
+         * Returns the converted records of the batch.
+         *
+         * @return Ballerina {@code ConsumerRecord[]}, or a {@code BError} if the background poll failed.
+         */
+        Object getRecords() {
+            return records;
+        }
+
+        TopicPartition getPartition(int index) {
+            return recordPartitions[index];
+        }
+
+        long getOffset(int index) {
+            return recordOffsets[index];
+        }
+    }
+}
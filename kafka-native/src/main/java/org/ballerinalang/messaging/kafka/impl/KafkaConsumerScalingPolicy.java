@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.messaging.kafka.impl;
+
+/**
+ * {@code KafkaConsumerScalingPolicy} decides when the number of concurrent consumers of a Kafka listener is changed,
+ * based on the lag of the assigned partitions and the time the consumers spend processing the records. A change is
+ * only made once the same decision is reached in consecutive evaluations, and not within the cooldown period of the
+ * previous change, so that short bursts do not cause consumer group rebalances.
+ */
+public class KafkaConsumerScalingPolicy {
+
+    private final int minConsumers;
+    private final int maxConsumers;
+    private final long lagThreshold;
+    private final double scaleUpUtilization;
+    private final double scaleDownUtilization;
+    private final long evaluationInterval;
+    private final int stableEvaluations;
+    private final long cooldownPeriod;
+    private int scaleUpVotes;
+    private int scaleDownVotes;
+    private long lastScalingTime;
+    private volatile boolean scaleDownEnabled = true;
+
+    /**
+     * Creates a scaling policy.
+     *
+     * @param minConsumers         Minimum number of consumers.
+     * @param maxConsumers         Maximum number of consumers, or a non-positive value to use the number of partitions.
+     * @param lagThreshold         Lag per consumer above which the consumers are scaled up.
+     * @param scaleUpUtilization   Utilization above which the consumers are scaled up.
+     * @param scaleDownUtilization Utilization below which the consumers are scaled down.
+     * @param evaluationInterval   Interval between two evaluations, in milliseconds.
+     * @param stableEvaluations    Number of consecutive evaluations needed to change the number of consumers.
+     * @param cooldownPeriod       Minimum time between two changes, in milliseconds.
+     */
+    public KafkaConsumerScalingPolicy(int minConsumers, int maxConsumers, long lagThreshold,
+                                      double scaleUpUtilization, double scaleDownUtilization, long evaluationInterval,
+                                      int stableEvaluations, long cooldownPeriod) {
+        this.minConsumers = Math.max(1, minConsumers);
+        this.maxConsumers = maxConsumers;
+        this.lagThreshold = lagThreshold;
+        this.scaleUpUtilization = scaleUpUtilization;
+        this.scaleDownUtilization = scaleDownUtilization;
+        this.evaluationInterval = evaluationInterval;
+        this.stableEvaluations = Math.max(1, stableEvaluations);
+        this.cooldownPeriod = cooldownPeriod;
+    }
+
+    /**
+     * Returns the maximum number of consumers. Consumers beyond the number of partitions would not be assigned any
+     * partition, hence the number of partitions is used when a maximum is not configured.
+     *
+     * @param partitions number of partitions of the subscribed topics, or zero if it is not known.
+     * @return maximum number of consumers.
+     */
+    int getMaxConsumers(int partitions) {
+        int max = maxConsumers > 0 ? maxConsumers : partitions;
+        return Math.max(minConsumers, max);
+    }
+
+    /**
+     * Returns the number of consumers to start with, which is the smaller of the number of partitions and the number
+     * of available processors, within the bounds of the policy.
+     *
+     * @param partitions number of partitions of the subscribed topics, or zero if it is not known.
+     * @return initial number of consumers.
+     */
+    int getInitialConsumers(int partitions) {
+        int consumers = Runtime.getRuntime().availableProcessors();
+        if (partitions > 0) {
+            consumers = Math.min(consumers, partitions);
+        }
+        return Math.max(minConsumers, Math.min(consumers, getMaxConsumers(partitions)));
+    }
+
+    /**
+     * Resets the state of the policy when the consumers are started, so that the cooldown period also applies after
+     * the initial rebalance.
+     *
+     * @param currentTime current time in milliseconds.
+     */
+    synchronized void reset(long currentTime) {
+        scaleUpVotes = 0;
+        scaleDownVotes = 0;
+        lastScalingTime = currentTime;
+    }
+
+    /**
+     * Disables removing consumers. A static member of a consumer group does not leave the group when it is closed,
+     * hence the partitions of a removed consumer would not be reassigned until its session times out.
+     */
+    void disableScaleDown() {
+        this.scaleDownEnabled = false;
+    }
+
+    long getEvaluationInterval() {
+        return evaluationInterval;
+    }
+
+    /**
+     * Evaluates the load of the consumers.
+     *
+     * @param totalLag    total lag of the partitions assigned to the consumers.
+     * @param utilization fraction of the evaluation interval the consumers spent processing records.
+     * @param consumers   current number of consumers.
+     * @param max         maximum number of consumers.
+     * @param currentTime current time in milliseconds.
+     * @return 1 to add a consumer, -1 to remove a consumer, 0 to keep the current consumers.
+     */
+    synchronized int evaluate(long totalLag, double utilization, int consumers, int max, long currentTime) {
+        long lagPerConsumer = totalLag / Math.max(1, consumers);
+        // The lower lag threshold is half of the upper threshold, so that the number of consumers does not oscillate
+        // when the lag stays around the threshold.
+        boolean overloaded = lagPerConsumer > lagThreshold || utilization > scaleUpUtilization;
+        boolean underloaded = scaleDownEnabled && lagPerConsumer < lagThreshold / 2
+                && utilization < scaleDownUtilization;
+        scaleUpVotes = overloaded ? scaleUpVotes + 1 : 0;
+        scaleDownVotes = underloaded ? scaleDownVotes + 1 : 0;
+        if (currentTime - lastScalingTime < cooldownPeriod) {
+            return 0;
+        }
+        int decision = 0;
+        if (scaleUpVotes >= stableEvaluations && consumers < max) {
+            decision = 1;
+        } else if (scaleDownVotes >= stableEvaluations && consumers > minConsumers) {
+            decision = -1;
+        }
+        if (decision != 0) {
+            scaleUpVotes = 0;
+            scaleDownVotes = 0;
+            lastScalingTime = currentTime;
+        }
+        return decision;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.messaging.kafka.impl;
+
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.values.BError;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.ballerinalang.messaging.kafka.utils.KafkaConstants;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@code KafkaDispatchTracker} keeps track of the batches of records dispatched by a consumer, which are not yet
+ * processed, and the offsets up to which the records of each partition are processed successfully. This is used to
+ * wait for the in-flight batches of the partitions revoked from the consumer, before the partitions are handed off.
+ * <p>
+ * When the processing is decoupled, the batches of a partition may complete out of order, hence the processed offset
+ * of a partition only advances over the batches which completed in the order they were dispatched. Once a batch of a
+ * partition fails, the processed offset of the partition stays before the failed batch, so that its records are not
+ * committed as processed. When a service returns before reading all the records of a batch from a stream, the
+ * processed offset of a partition stops at the first unread record of the partition in the same way.
+ */
+class KafkaDispatchTracker {
+
+    private final Map<TopicPartition, Deque<TrackedBatch>> pendingBatches = new HashMap<>();
+    private final Map<TopicPartition, Long> processedOffsets = new HashMap<>();
+    private final Set<TopicPartition> failedPartitions = new HashSet<>();
+
+    /**
+     * Starts tracking a batch of records being dispatched.
+     *
+     * @param records  records being dispatched.
+     * @param callback callback to be notified once the batch is processed, or null.
+     * @return the callback to be passed on when dispatching the batch.
+     */
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    synchronized Callback track(ConsumerRecords records, Callback callback) {
+        Map<TopicPartition, TrackedBatch> batches = new HashMap<>();
+        for (TopicPartition partition : (Set<TopicPartition>) records.partitions()) {
+            List<ConsumerRecord> partitionRecords = records.records(partition);
+            TrackedBatch batch = new TrackedBatch(partitionRecords.get(partitionRecords.size() - 1).offset() + 1);
+            pendingBatches.computeIfAbsent(partition, key -> new ArrayDeque<>()).add(batch);
+            batches.put(partition, batch);
+        }
+        return new TrackedBatchCallback(batches, callback);
+    }
+
+    /**
+     * Records that the records of a partition up to the given offset are processed without being dispatched, such as
+     * the records removed by the record filters. The offset takes effect once the batches of the partition dispatched
+     * before are processed.
+     *
+     * @param partition partition of the records.
+     * @param offset    offset of the next record of the partition to be processed.
+     */
+    synchronized void trackProcessed(TopicPartition partition, long offset) {
+        Deque<TrackedBatch> batches = pendingBatches.get(partition);
+        if (Objects.isNull(batches) || batches.isEmpty()) {
+            if (!failedPartitions.contains(partition)) {
+                processedOffsets.put(partition, offset);
+            }
+            return;
+        }
+        TrackedBatch batch = new TrackedBatch(offset);
+        batch.state = BatchState.SUCCEEDED;
+        batches.add(batch);
+    }
+
+    /**
+     * Waits until the in-flight batches of the given partitions are processed, or until the timeout expires.
+     *
+     * @param partitions partitions to wait for.
+     * @param timeout    maximum time to wait in milliseconds.
+     * @return true if all the batches of the partitions are processed, false if the timeout expired.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    synchronized boolean awaitCompletion(Collection<TopicPartition> partitions, long timeout)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (hasInFlightBatches(partitions)) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Stops tracking the given partitions and returns the offsets up to which their records were processed
+     * successfully.
+     *
+     * @param partitions partitions no longer owned by the consumer.
+     * @return the processed offsets of the partitions, which can be committed.
+     */
+    synchronized Map<TopicPartition, OffsetAndMetadata> removePartitions(Collection<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            pendingBatches.remove(partition);
+            failedPartitions.remove(partition);
+            Long offset = processedOffsets.remove(partition);
+            if (Objects.nonNull(offset)) {
+                offsets.put(partition, new OffsetAndMetadata(offset));
+            }
+        }
+        return offsets;
+    }
+
+    // The completed batches are removed from the head of the queues as soon as they complete, hence a partition has
+    // in-flight batches as long as its queue is not empty.
+    private boolean hasInFlightBatches(Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            Deque<TrackedBatch> batches = pendingBatches.get(partition);
+            if (Objects.nonNull(batches) && !batches.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void onBatchCompleted(Map<TopicPartition, TrackedBatch> batches, boolean successful) {
+        for (Map.Entry<TopicPartition, TrackedBatch> entry : batches.entrySet()) {
+            entry.getValue().state = successful ? BatchState.SUCCEEDED : BatchState.FAILED;
+            // Partitions which were removed while the batch was in flight are no longer tracked.
+            Deque<TrackedBatch> partitionBatches = pendingBatches.get(entry.getKey());
+            if (Objects.nonNull(partitionBatches)) {
+                advance(entry.getKey(), partitionBatches);
+            }
+        }
+        notifyAll();
+    }
+
+    private synchronized void onRecordsUnread(Map<TopicPartition, TrackedBatch> batches,
+                                              Map<TopicPartition, Long> unreadOffsets) {
+        for (Map.Entry<TopicPartition, Long> entry : unreadOffsets.entrySet()) {
+            TrackedBatch batch = batches.get(entry.getKey());
+            if (Objects.nonNull(batch) && batch.state == BatchState.IN_FLIGHT) {
+                batch.offset = Math.min(batch.offset, entry.getValue());
+                batch.partial = true;
+            }
+        }
+    }
+
+    private void advance(TopicPartition partition, Deque<TrackedBatch> batches) {
+        while (!batches.isEmpty() && batches.peek().state != BatchState.IN_FLIGHT) {
+            TrackedBatch batch = batches.poll();
+            if (batch.state == BatchState.FAILED) {
+                failedPartitions.add(partition);
+            } else if (!failedPartitions.contains(partition)) {
+                processedOffsets.put(partition, batch.offset);
+                if (batch.partial) {
+                    failedPartitions.add(partition);
+                }
+            }
+        }
+    }
+
+    private enum BatchState {
+        IN_FLIGHT, SUCCEEDED, FAILED
+    }
+
+    /**
+     * Records of a partition dispatched in a batch.
+     */
+    private static class TrackedBatch {
+
+        private long offset;
+        private boolean partial = false;
+        private BatchState state = BatchState.IN_FLIGHT;
+
+        private TrackedBatch(long offset) {
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * Callback of a dispatched batch, which is notified of the records of the batch a service did not read from a
+     * stream, before the batch completes.
+     */
+    interface StreamedBatchCallback extends Callback {
+
+        /**
+         * Records that the records of the batch starting from the given offsets were not read by a service.
+         *
+         * @param unreadOffsets offset of the first unread record of each partition with unread records.
+         */
+        void notifyUnreadRecords(Map<TopicPartition, Long> unreadOffsets);
+    }
+
+    private class TrackedBatchCallback implements StreamedBatchCallback {
+
+        private final Map<TopicPartition, TrackedBatch> batches;
+        private final Callback callback;
+
+        TrackedBatchCallback(Map<TopicPartition, TrackedBatch> batches, Callback callback) {
+            this.batches = batches;
+            this.callback = callback;
+        }
+
+        @Override
+        public void notifyUnreadRecords(Map<TopicPartition, Long> unreadOffsets) {
+            onRecordsUnread(batches, unreadOffsets);
+        }
+
+        @Override
+        public void notifySuccess(Object obj) {
+            onBatchCompleted(batches, true);
+            if (Objects.nonNull(callback)) {
+                callback.notifySuccess(obj);
+            }
+        }
+
+        @Override
+        public void notifyFailure(BError error) {
+            onBatchCompleted(batches, false);
+            if (Objects.nonNull(callback)) {
+                callback.notifyFailure(error);
+            }
+        }
+    }
+}
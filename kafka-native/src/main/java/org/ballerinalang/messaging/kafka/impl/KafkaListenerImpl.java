@@ -21,49 +21,94 @@ package org.ballerinalang.messaging.kafka.impl;
 import io.ballerina.runtime.api.Runtime;
 import io.ballerina.runtime.api.async.Callback;
 import io.ballerina.runtime.api.async.StrandMetadata;
+import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.observability.ObservabilityConstants;
 import io.ballerina.runtime.observability.ObserveUtils;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
 import org.ballerinalang.messaging.kafka.api.KafkaListener;
+import org.ballerinalang.messaging.kafka.observability.KafkaClientMetricsBridge;
+import org.ballerinalang.messaging.kafka.observability.KafkaDispatchEvent;
 import org.ballerinalang.messaging.kafka.observability.KafkaMetricsUtil;
 import org.ballerinalang.messaging.kafka.observability.KafkaObservabilityConstants;
 import org.ballerinalang.messaging.kafka.observability.KafkaObserverContext;
+import org.ballerinalang.messaging.kafka.observability.KafkaTracingUtil;
+import org.ballerinalang.messaging.kafka.utils.ConsumerRecordConverter;
 import org.ballerinalang.messaging.kafka.utils.KafkaUtils;
 import org.ballerinalang.messaging.kafka.utils.ModuleUtils;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.KAFKA_RESOURCE_ON_RECORD;
-import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_CONSUMER;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.UNCHECKED;
 import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getResourceParameters;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.isRecordStreamType;
 
 /**
  * Kafka Connector Consumer for Ballerina.
  */
 public class KafkaListenerImpl implements KafkaListener {
 
-    private BObject service;
+    private final List<KafkaServiceRoute> routes = new CopyOnWriteArrayList<>();
     private BObject listener;
     private ResponseCallback callback;
     private Runtime bRuntime;
+    private ConsumerRecordConverter recordConverter;
 
-    public KafkaListenerImpl(BObject listener, BObject service, Runtime bRuntime) {
+    public KafkaListenerImpl(BObject listener, Runtime bRuntime, ConsumerRecordConverter recordConverter) {
         this.bRuntime = bRuntime;
         this.listener = listener;
-        this.service = service;
+        this.recordConverter = recordConverter;
         callback = new ResponseCallback();
     }
 
+    /**
+     * Attaches a service to the listener. The records of the given topics are dispatched to the service, starting
+     * from the next poll cycle. If no topics are given, the records of the topics which are not routed to any other
+     * service are dispatched to the service. Attaching a service which is already attached replaces its route.
+     *
+     * @param service       Kafka service object
+     * @param topics        topics routed to the service
+     * @param recordFilters filters on the records dispatched to the service
+     */
+    public void addService(BObject service, Set<String> topics, List<KafkaRecordFilter> recordFilters) {
+        removeService(service);
+        routes.add(new KafkaServiceRoute(service, topics, recordFilters));
+    }
+
+    /**
+     * Detaches a service from the listener. The batches already dispatched to the service are not affected. The
+     * records of the topics no longer routed to any service are not dispatched nor committed until a service routed to
+     * them is attached.
+     *
+     * @param service Kafka service object
+     * @return true if the service was attached to the listener, false otherwise
+     */
+    public boolean removeService(BObject service) {
+        return routes.removeIf(route -> route.getService() == service);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void onRecordsReceived(ConsumerRecords records, KafkaConsumer kafkaConsumer, String groupId) {
-        listener.addNativeData(NATIVE_CONSUMER, kafkaConsumer);
-        executeResource(listener, records, groupId);
+        long receivedTime = System.nanoTime();
+        dispatch(records, kafkaConsumer, callback, receivedTime);
         KafkaMetricsUtil.reportConsume(listener, records);
     }
 
@@ -72,12 +117,66 @@ public class KafkaListenerImpl implements KafkaListener {
      */
     @Override
     public void onRecordsReceived(ConsumerRecords records, KafkaConsumer kafkaConsumer, String groupId,
-                                  KafkaPollCycleFutureListener consumer) {
-        listener.addNativeData(NATIVE_CONSUMER, kafkaConsumer);
-        executeResource(listener, consumer, records, groupId);
+                                  Callback consumer) {
+        long receivedTime = System.nanoTime();
+        dispatch(records, kafkaConsumer, consumer, receivedTime);
         KafkaMetricsUtil.reportConsume(listener, records);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPollCompleted(long pollDuration) {
+        KafkaMetricsUtil.reportPollDuration(listener, pollDuration);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRouted(String topic) {
+        for (KafkaServiceRoute route : routes) {
+            if (route.isRouted(topic) || route.isDefaultRoute()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onRebalanceCompleted(Collection<TopicPartition> revokedPartitions,
+                                     Collection<TopicPartition> assignedPartitions, long rebalanceDuration) {
+        KafkaMetricsUtil.reportRebalance(listener, revokedPartitions.size(), rebalanceDuration);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onLagUpdated(Map<TopicPartition, Long> partitionLags, List<TopicPartition> removedPartitions) {
+        KafkaMetricsUtil.reportLag(listener, partitionLags, removedPartitions);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onConsumerCreated(int consumerId, Map<MetricName, ? extends Metric> consumerMetrics) {
+        KafkaClientMetricsBridge.addClient(listener, consumerId, consumerMetrics);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onConsumerClosed(int consumerId, Map<MetricName, ? extends Metric> consumerMetrics) {
+        KafkaClientMetricsBridge.removeClient(listener, consumerMetrics);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -86,44 +185,219 @@ public class KafkaListenerImpl implements KafkaListener {
         KafkaMetricsUtil.reportConsumerError(listener, KafkaObservabilityConstants.ERROR_TYPE_MSG_RECEIVED);
     }
 
-    private void executeResource(BObject listener, ConsumerRecords records, String groupId) {
-    StrandMetadata metadata = new StrandMetadata(ModuleUtils.getModule().getOrg(),
-                                                 ModuleUtils.getModule().getName(),
-                                                 ModuleUtils.getModule().getVersion(), KAFKA_RESOURCE_ON_RECORD);
-        if (ObserveUtils.isTracingEnabled()) {
-            Map<String, Object> properties = getNewObserverContextInProperties(listener);
-            bRuntime.invokeMethodAsync(service, KAFKA_RESOURCE_ON_RECORD, null, metadata, callback,
-                                       properties, getResourceParameters(service, this.listener, records));
-        } else {
-            bRuntime.invokeMethodAsync(service, KAFKA_RESOURCE_ON_RECORD, null, metadata, callback,
-                                       getResourceParameters(service, this.listener, records));
+    /**
+     * Routes the records of a poll cycle to the attached services, and dispatches each slice of the records to its
+     * service. The callback is notified once all the services complete processing their slices. The records of the
+     * partitions no longer routed to any service are reported as unread, so that their offsets are not committed.
+     */
+    @SuppressWarnings(UNCHECKED)
+    private void dispatch(ConsumerRecords records, KafkaConsumer kafkaConsumer, Callback callback, long receivedTime) {
+        Map<KafkaServiceRoute, Map<TopicPartition, List<ConsumerRecord>>> slices = new LinkedHashMap<>();
+        Map<TopicPartition, Long> unroutedOffsets = new HashMap<>();
+        for (TopicPartition partition : (Set<TopicPartition>) records.partitions()) {
+            List<ConsumerRecord> partitionRecords = records.records(partition);
+            boolean routed = false;
+            for (KafkaServiceRoute route : routes) {
+                if (route.isRouted(partition.topic())) {
+                    routed = true;
+                    addSlice(slices, route, partition, partitionRecords);
+                }
+            }
+            if (!routed) {
+                for (KafkaServiceRoute route : routes) {
+                    if (route.isDefaultRoute()) {
+                        routed = true;
+                        addSlice(slices, route, partition, partitionRecords);
+                    }
+                }
+            }
+            if (!routed) {
+                unroutedOffsets.put(partition, partitionRecords.get(0).offset());
+            }
+        }
+        if (!unroutedOffsets.isEmpty() && callback instanceof KafkaDispatchTracker.StreamedBatchCallback) {
+            ((KafkaDispatchTracker.StreamedBatchCallback) callback).notifyUnreadRecords(unroutedOffsets);
+        }
+        if (slices.isEmpty()) {
+            callback.notifySuccess(null);
+            return;
+        }
+        Callback sliceCallback = slices.size() == 1 ? callback : new DispatchCompletionCallback(callback,
+                                                                                                 slices.size());
+        for (Map.Entry<KafkaServiceRoute, Map<TopicPartition, List<ConsumerRecord>>> slice : slices.entrySet()) {
+            executeResource(slice.getKey(), kafkaConsumer, sliceCallback,
+                            new ConsumerRecords(slice.getValue()), receivedTime);
+        }
+    }
+
+    private static void addSlice(Map<KafkaServiceRoute, Map<TopicPartition, List<ConsumerRecord>>> slices,
+                                 KafkaServiceRoute route, TopicPartition partition,
+                                 List<ConsumerRecord> partitionRecords) {
+        List<ConsumerRecord> matchingRecords = route.filter(partitionRecords);
+        if (!matchingRecords.isEmpty()) {
+            slices.computeIfAbsent(route, key -> new HashMap<>()).put(partition, matchingRecords);
         }
     }
 
-    private void executeResource(BObject listener, KafkaPollCycleFutureListener consumer, ConsumerRecords records,
-                                 String groupId) {
+    private void executeResource(KafkaServiceRoute route, KafkaConsumer kafkaConsumer, Callback callback,
+                                 ConsumerRecords records, long receivedTime) {
+        BObject service = route.getService();
         StrandMetadata metadata = new StrandMetadata(ModuleUtils.getModule().getOrg(),
                                                      ModuleUtils.getModule().getName(),
                                                      ModuleUtils.getModule().getVersion(), KAFKA_RESOURCE_ON_RECORD);
-        if (ObserveUtils.isTracingEnabled()) {
-            Map<String, Object> properties = getNewObserverContextInProperties(listener);
-            bRuntime.invokeMethodAsync(service, KAFKA_RESOURCE_ON_RECORD, null, metadata, consumer,
-                                       properties, getResourceParameters(service, this.listener, records));
+        KafkaRecordIterator recordIterator = null;
+        Callback resourceCallback = callback;
+        if (isRecordStreamType(route.getRecordsType())) {
+            recordIterator = new KafkaRecordIterator(records, recordConverter);
+            resourceCallback = new StreamCompletionCallback(callback, recordIterator);
+        }
+        Object[] parameters = getResourceParameters(this.listener, kafkaConsumer, records, recordConverter,
+                                                    route.getRecordsType(), recordIterator);
+        KafkaDispatchEvent dispatchEvent = KafkaDispatchEvent.beginIfEnabled();
+        if (ObserveUtils.isMetricsEnabled() || Objects.nonNull(dispatchEvent)) {
+            KafkaMetricsUtil.reportDispatch(listener, records, receivedTime);
+            resourceCallback = new ResourceExecutionCallback(resourceCallback, records, System.nanoTime(),
+                                                             dispatchEvent);
+        }
+        // The observer context is only created for the batches selected by the sampler of the listener. The runtime
+        // still creates a span for the other batches, but without the Kafka tags and the trace context of the records.
+        if (ObserveUtils.isTracingEnabled() && KafkaTracingUtil.isSampled(listener)) {
+            Map<String, Object> properties = getNewObserverContextInProperties(listener, records);
+            bRuntime.invokeMethodAsync(service, KAFKA_RESOURCE_ON_RECORD, null, metadata, resourceCallback,
+                                       properties, parameters);
         } else {
-            bRuntime.invokeMethodAsync(service, KAFKA_RESOURCE_ON_RECORD, null, metadata, consumer,
-                                       getResourceParameters(service, this.listener, records));
+            bRuntime.invokeMethodAsync(service, KAFKA_RESOURCE_ON_RECORD, null, metadata, resourceCallback,
+                                       parameters);
         }
     }
 
-    private Map<String, Object> getNewObserverContextInProperties(BObject listener) {
+    private Map<String, Object> getNewObserverContextInProperties(BObject listener, ConsumerRecords records) {
         Map<String, Object> properties = new HashMap<>();
         KafkaObserverContext observerContext = new KafkaObserverContext(KafkaObservabilityConstants.CONTEXT_CONSUMER,
                                                                         KafkaUtils.getClientId(listener),
                                                                         KafkaUtils.getBootstrapServers(listener));
+        Iterator<ConsumerRecord> iterator = records.iterator();
+        if (iterator.hasNext()) {
+            KafkaTracingUtil.extractTraceContext(observerContext, iterator.next().headers());
+        }
         properties.put(ObservabilityConstants.KEY_OBSERVER_CONTEXT, observerContext);
         return properties;
     }
 
+    /**
+     * Records the execution time of a single resource invocation, before notifying the callback of the poll cycle.
+     */
+    private class ResourceExecutionCallback implements Callback {
+
+        private final Callback callback;
+        private final ConsumerRecords records;
+        private final long startTime;
+        private final KafkaDispatchEvent dispatchEvent;
+
+        ResourceExecutionCallback(Callback callback, ConsumerRecords records, long startTime,
+                                  KafkaDispatchEvent dispatchEvent) {
+            this.callback = callback;
+            this.records = records;
+            this.startTime = startTime;
+            this.dispatchEvent = dispatchEvent;
+        }
+
+        @Override
+        public void notifySuccess(Object obj) {
+            onResourceCompleted(true);
+            callback.notifySuccess(obj);
+        }
+
+        @Override
+        public void notifyFailure(BError error) {
+            onResourceCompleted(false);
+            callback.notifyFailure(error);
+        }
+
+        private void onResourceCompleted(boolean successful) {
+            KafkaMetricsUtil.reportResourceExecution(listener, records, startTime);
+            if (Objects.nonNull(dispatchEvent)) {
+                dispatchEvent.complete(records, successful);
+            }
+        }
+    }
+
+    /**
+     * Reports the records a service did not read from the stream of its batch, before notifying the callback of the
+     * batch, so that the offsets of the unread records are not committed as processed.
+     */
+    private static class StreamCompletionCallback implements Callback {
+
+        private final Callback callback;
+        private final KafkaRecordIterator recordIterator;
+
+        StreamCompletionCallback(Callback callback, KafkaRecordIterator recordIterator) {
+            this.callback = callback;
+            this.recordIterator = recordIterator;
+        }
+
+        @Override
+        public void notifySuccess(Object obj) {
+            if (callback instanceof KafkaDispatchTracker.StreamedBatchCallback) {
+                Map<TopicPartition, Long> unreadOffsets = recordIterator.getUnreadOffsets();
+                if (!unreadOffsets.isEmpty()) {
+                    ((KafkaDispatchTracker.StreamedBatchCallback) callback).notifyUnreadRecords(unreadOffsets);
+                }
+            }
+            callback.notifySuccess(obj);
+        }
+
+        @Override
+        public void notifyFailure(BError error) {
+            callback.notifyFailure(error);
+        }
+    }
+
+    /**
+     * Notifies the callback of a poll cycle once all the services which received records of the poll cycle complete
+     * processing them.
+     */
+    private static class DispatchCompletionCallback implements KafkaDispatchTracker.StreamedBatchCallback {
+
+        private final Callback callback;
+        private final AtomicInteger pendingDispatches;
+        private volatile BError error;
+
+        DispatchCompletionCallback(Callback callback, int dispatches) {
+            this.callback = callback;
+            this.pendingDispatches = new AtomicInteger(dispatches);
+        }
+
+        @Override
+        public void notifyUnreadRecords(Map<TopicPartition, Long> unreadOffsets) {
+            if (callback instanceof KafkaDispatchTracker.StreamedBatchCallback) {
+                ((KafkaDispatchTracker.StreamedBatchCallback) callback).notifyUnreadRecords(unreadOffsets);
+            }
+        }
+
+        @Override
+        public void notifySuccess(Object obj) {
+            onDispatchCompleted();
+        }
+
+        @Override
+        public void notifyFailure(BError error) {
+            this.error = error;
+            onDispatchCompleted();
+        }
+
+        private void onDispatchCompleted() {
+            if (pendingDispatches.decrementAndGet() > 0) {
+                return;
+            }
+            if (Objects.isNull(error)) {
+                callback.notifySuccess(null);
+            } else {
+                callback.notifyFailure(error);
+            }
+        }
+    }
+
     private static class ResponseCallback implements Callback {
 
         @Override
@@ -132,7 +406,7 @@ public class KafkaListenerImpl implements KafkaListener {
         }
 
         @Override
-        public void notifyFailure(io.ballerina.runtime.api.values.BError error) {
+        public void notifyFailure(BError error) {
             // do nothing
         }
     }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.messaging.kafka.impl;
+
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.values.BError;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.ballerinalang.messaging.kafka.observability.KafkaMetricsUtil;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code KafkaMemoryBudget} bounds the bytes of the records buffered by all the listeners of the process. The records
+ * of each poll cycle are reserved against the budget until they are processed, and the listeners pause their
+ * partitions while the budget is exhausted. The size of a record is taken as its serialized key and value sizes, as the
+ * records may be reserved before they are converted into Ballerina values.
+ */
+public class KafkaMemoryBudget {
+
+    private static volatile long limit = 0;
+    private static final AtomicLong bufferedBytes = new AtomicLong();
+    private static final AtomicInteger pausedPartitions = new AtomicInteger();
+
+    private KafkaMemoryBudget() {
+    }
+
+    /**
+     * Sets the maximum bytes of the records buffered by the listeners of the process.
+     *
+     * @param maxBufferedBytes maximum bytes of the buffered records, or zero to disable the budget.
+     */
+    public static void setLimit(long maxBufferedBytes) {
+        limit = Math.max(maxBufferedBytes, 0);
+        KafkaMetricsUtil.reportMemoryBudget(bufferedBytes.get(), limit, pausedPartitions.get());
+    }
+
+    static boolean isEnabled() {
+        return limit > 0;
+    }
+
+    /**
+     * Returns whether the buffered records use up the budget. A single poll cycle may exceed the budget, as the size
+     * of the records is only known once they are retrieved, hence the partitions are paused until enough of the
+     * buffered records are processed.
+     *
+     * @return true if the listeners should stop retrieving records.
+     */
+    static boolean isExhausted() {
+        return limit > 0 && bufferedBytes.get() >= limit;
+    }
+
+    /**
+     * Reserves the records of a poll cycle against the budget.
+     *
+     * @param records  records being dispatched.
+     * @param callback callback to be notified once the records are processed, or null.
+     * @return the callback to be passed on when dispatching the records, which releases the reserved bytes.
+     */
+    static Callback reserve(ConsumerRecords<?, ?> records, Callback callback) {
+        if (!isEnabled()) {
+            return callback;
+        }
+        long size = 0;
+        for (ConsumerRecord<?, ?> record : records) {
+            size += Math.max(record.serializedKeySize(), 0) + Math.max(record.serializedValueSize(), 0);
+        }
+        report(bufferedBytes.addAndGet(size));
+        return new ReleaseCallback(size, callback);
+    }
+
+    static void onPartitionsPaused(int count) {
+        report(bufferedBytes.get(), pausedPartitions.addAndGet(count));
+    }
+
+    static void onPartitionsResumed(int count) {
+        report(bufferedBytes.get(), pausedPartitions.addAndGet(-count));
+    }
+
+    private static void report(long bytes) {
+        report(bytes, pausedPartitions.get());
+    }
+
+    private static void report(long bytes, int partitions) {
+        KafkaMetricsUtil.reportMemoryBudget(bytes, limit, partitions);
+    }
+
+    private static class ReleaseCallback implements Callback {
+
+        private final long size;
+        private final Callback callback;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        ReleaseCallback(long size, Callback callback) {
+            this.size = size;
+            this.callback = callback;
+        }
+
+        @Override
+        public void notifySuccess(Object obj) {
+            release();
+            if (Objects.nonNull(callback)) {
+                callback.notifySuccess(obj);
+            }
+        }
+
+        @Override
+        public void notifyFailure(BError error) {
+            release();
+            if (Objects.nonNull(callback)) {
+                callback.notifyFailure(error);
+            }
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                report(bufferedBytes.addAndGet(-size));
+            }
+        }
+    }
+}
@@ -18,27 +18,45 @@
 
 package org.ballerinalang.messaging.kafka.impl;
 
+import io.ballerina.runtime.api.async.Callback;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
 import org.ballerinalang.messaging.kafka.api.KafkaListener;
+import org.ballerinalang.messaging.kafka.observability.KafkaPollEvent;
 import org.ballerinalang.messaging.kafka.utils.KafkaConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * {@code KafkaRecordConsumer} This class represents Runnable flow which periodically poll the remote broker and fetch
@@ -50,16 +68,39 @@ public class KafkaRecordConsumer {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaRecordConsumer.class);
 
+    private static final String FETCH_MANAGER_METRIC_GROUP = "consumer-fetch-manager-metrics";
+    private static final String RECORDS_LAG_METRIC = "records-lag";
+    private static final String TOPIC_TAG = "topic";
+    private static final String PARTITION_TAG = "partition";
+    private static final long COMMAND_DRAIN_INTERVAL = 10;
+
     private KafkaConsumer kafkaConsumer;
     private Duration pollingTimeout = Duration.ofMillis(1000);
     private int pollingInterval = 1000;
     private boolean decoupleProcessing = true;
+    private boolean keepAlivePolling = false;
+    private Set<TopicPartition> keepAlivePausedPartitions;
+    private final Set<TopicPartition> budgetPausedPartitions = new HashSet<>();
+    private final Set<TopicPartition> unroutedPartitions = new HashSet<>();
     private String groupId;
     private KafkaListener kafkaListener;
     private String serviceId;
     private int consumerId;
     private ScheduledExecutorService executorService = Executors.newScheduledThreadPool(1);
     private ScheduledFuture pollTaskFuture;
+    private Map<MetricName, ? extends Metric> consumerMetrics;
+    private final Map<TopicPartition, Long> partitionLags = new ConcurrentHashMap<>();
+    private long lagRefreshInterval = 5000;
+    private long lastLagRefreshTime;
+    private boolean autoCommit = true;
+    private final AtomicLong busyTime = new AtomicLong();
+    private long pollStartTime;
+    private long revokeTimeout = 10000;
+    private final KafkaDispatchTracker dispatchTracker = new KafkaDispatchTracker();
+    private volatile long stopDeadline = Long.MAX_VALUE;
+    private List<KafkaRecordFilter> recordFilters = Collections.emptyList();
+    private KafkaConsumerCommandQueue commandQueue;
+    private boolean ownsConsumer;
 
     public KafkaRecordConsumer(KafkaListener kafkaListener, Properties configParams, String serviceId, int consumerId,
                                KafkaConsumer kafkaConsumer) {
@@ -67,13 +108,13 @@ public class KafkaRecordConsumer {
         this.consumerId = consumerId;
         // Initialize Kafka Consumer.
         if (Objects.isNull(kafkaConsumer)) {
-            this.kafkaConsumer = new KafkaConsumer<>(configParams);
+            this.kafkaConsumer = new KafkaConsumer<>(getMemberConfigs(configParams, consumerId));
         } else {
             this.kafkaConsumer = kafkaConsumer;
         }
         List<String> topics = (ArrayList<String>) configParams.get(KafkaConstants.ALIAS_TOPICS.getValue());
         // Subscribe Kafka Consumer to given topics.
-        this.kafkaConsumer.subscribe(topics);
+        this.kafkaConsumer.subscribe(topics, new RecordConsumerRebalanceListener());
         this.kafkaListener = kafkaListener;
         if (configParams.get(KafkaConstants.ALIAS_POLLING_TIMEOUT.getValue()) != null) {
             this.pollingTimeout = Duration.ofMillis((Integer) configParams.get(KafkaConstants.ALIAS_POLLING_TIMEOUT));
@@ -82,13 +123,50 @@ public class KafkaRecordConsumer {
             this.pollingInterval = (Integer) configParams.get(KafkaConstants.ALIAS_POLLING_INTERVAL.getValue());
         }
         if (configParams.get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG) != null) {
-            this.decoupleProcessing = (Boolean) configParams.get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG);
+            this.autoCommit = (Boolean) configParams.get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG);
+            this.decoupleProcessing = this.autoCommit;
         }
         // This is to override default decouple processing setting if required.
         if (configParams.get(KafkaConstants.ALIAS_DECOUPLE_PROCESSING.getValue()) != null) {
             this.decoupleProcessing = (Boolean) configParams.get(KafkaConstants.ALIAS_DECOUPLE_PROCESSING);
         }
+        if (configParams.get(KafkaConstants.ALIAS_KEEP_ALIVE_POLLING.getValue()) != null) {
+            this.keepAlivePolling = (Boolean) configParams.get(KafkaConstants.ALIAS_KEEP_ALIVE_POLLING.getValue());
+        }
+        if (configParams.get(KafkaConstants.ALIAS_LAG_REFRESH_INTERVAL.getValue()) != null) {
+            this.lagRefreshInterval = (Integer) configParams.get(KafkaConstants.ALIAS_LAG_REFRESH_INTERVAL.getValue());
+        }
+        if (configParams.get(KafkaConstants.ALIAS_REVOKE_TIMEOUT.getValue()) != null) {
+            this.revokeTimeout = (Integer) configParams.get(KafkaConstants.ALIAS_REVOKE_TIMEOUT.getValue());
+        }
+        if (configParams.get(KafkaConstants.ALIAS_RECORD_FILTERS.getValue()) != null) {
+            this.recordFilters =
+                    (List<KafkaRecordFilter>) configParams.get(KafkaConstants.ALIAS_RECORD_FILTERS.getValue());
+        }
         this.groupId = (String) configParams.get(ConsumerConfig.GROUP_ID_CONFIG);
+        // The metrics map is a live view of the consumer metrics, hence it is retrieved only once.
+        this.consumerMetrics = this.kafkaConsumer.metrics();
+        // The metrics of the consumer of the listener are already reported for the listener.
+        this.ownsConsumer = Objects.isNull(kafkaConsumer);
+        if (this.ownsConsumer) {
+            this.kafkaListener.onConsumerCreated(this.consumerId, this.consumerMetrics);
+        }
+        this.commandQueue = KafkaConsumerCommandQueue.register(this.kafkaConsumer, this.executorService);
+    }
+
+    /**
+     * Returns the configurations of a consumer of the listener. Each consumer of a consumer group needs a unique
+     * group instance ID, hence the index of the consumer is appended to the configured group instance ID, for all the
+     * consumers other than the first one.
+     */
+    private static Properties getMemberConfigs(Properties configParams, int consumerId) {
+        String groupInstanceId = configParams.getProperty(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG);
+        if (Objects.isNull(groupInstanceId) || consumerId == 0) {
+            return configParams;
+        }
+        Properties memberConfigs = (Properties) configParams.clone();
+        memberConfigs.setProperty(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG, groupInstanceId + "-" + consumerId);
+        return memberConfigs;
     }
 
     private void poll() {
@@ -97,7 +175,14 @@ public class KafkaRecordConsumer {
             try {
                 // Make thread-safe as kafka does not support multiple thread access
                 if (!closed.get()) {
-                    recordsRetrieved = this.kafkaConsumer.poll(this.pollingTimeout);
+                    resumeRoutedPartitions();
+                    applyMemoryBudget();
+                    KafkaPollEvent pollEvent = new KafkaPollEvent();
+                    pollEvent.begin();
+                    this.pollStartTime = System.nanoTime();
+                    recordsRetrieved = this.commandQueue.poll(this.pollingTimeout);
+                    this.kafkaListener.onPollCompleted(System.nanoTime() - this.pollStartTime);
+                    pollEvent.complete(recordsRetrieved);
                 }
             } catch (WakeupException e) {
                 // Ignore exception if connection is closing.
@@ -105,11 +190,14 @@ public class KafkaRecordConsumer {
                     throw e;
                 }
             }
-            if (logger.isDebugEnabled()) {
+            if (logger.isDebugEnabled() && Objects.nonNull(recordsRetrieved)) {
                 logger.debug("Kafka service " + this.serviceId + " attached to consumer "
                                      + this.consumerId + " has received " + recordsRetrieved.count() + " records.");
             }
-            processRetrievedRecords(recordsRetrieved);
+            refreshLag();
+            Map<TopicPartition, Long> filteredOffsets = new HashMap<>();
+            ConsumerRecords routedRecords = pauseUnroutedPartitions(recordsRetrieved);
+            processRetrievedRecords(filterRecords(routedRecords, filteredOffsets), filteredOffsets);
         } catch (KafkaException | IllegalStateException | IllegalArgumentException e) {
             this.kafkaListener.onError(e);
             // When un-recoverable exception is thrown we stop scheduling task to the executor.
@@ -118,27 +206,392 @@ public class KafkaRecordConsumer {
         }
     }
 
-    private void processRetrievedRecords(ConsumerRecords consumerRecords) {
+    private void processRetrievedRecords(ConsumerRecords consumerRecords, Map<TopicPartition, Long> filteredOffsets) {
         if (Objects.nonNull(consumerRecords) && !consumerRecords.isEmpty()) {
+            long processingStartTime = System.nanoTime();
             // When decoupleProcessing == 'true' Kafka records set will be dispatched and processed in
             // Parallel threads.
             // Otherwise dispatching and processing will have single threaded semantics.
             if (this.decoupleProcessing) {
-                this.kafkaListener.onRecordsReceived(consumerRecords, kafkaConsumer, groupId);
+                Callback budgetListener = KafkaMemoryBudget.reserve(consumerRecords, null);
+                Callback batchListener = this.dispatchTracker.track(consumerRecords, budgetListener);
+                trackFilteredRecords(filteredOffsets);
+                this.kafkaListener.onRecordsReceived(consumerRecords, kafkaConsumer, groupId, batchListener);
             } else {
                 Semaphore sem = new Semaphore(0);
-                KafkaPollCycleFutureListener pollCycleListener = new KafkaPollCycleFutureListener(sem, serviceId);
+                Callback budgetListener = KafkaMemoryBudget.reserve(consumerRecords,
+                                                                    new KafkaPollCycleFutureListener(sem, serviceId));
+                Callback pollCycleListener = this.dispatchTracker.track(consumerRecords, budgetListener);
+                trackFilteredRecords(filteredOffsets);
                 this.kafkaListener.onRecordsReceived(consumerRecords, kafkaConsumer, groupId, pollCycleListener);
                 // We suspend execution of poll cycle here before moving to the next cycle.
                 // Once we receive signal from BVM via KafkaPollCycleFutureListener this suspension is removed
                 // We will move to the next polling cycle.
                 try {
-                    sem.acquire();
+                    awaitProcessing(sem);
                 } catch (InterruptedException e) {
                     this.kafkaListener.onError(e);
                     this.pollTaskFuture.cancel(false);
                 }
             }
+            this.busyTime.addAndGet(System.nanoTime() - processingStartTime);
+        } else {
+            trackFilteredRecords(filteredOffsets);
+        }
+    }
+
+    /**
+     * Records the filtered out records at the end of the polled records of each partition as processed, once the
+     * batches dispatched before them are processed, so that their offsets are committed when the partitions are
+     * revoked or the consumer is stopped.
+     */
+    private void trackFilteredRecords(Map<TopicPartition, Long> filteredOffsets) {
+        for (Map.Entry<TopicPartition, Long> entry : filteredOffsets.entrySet()) {
+            this.dispatchTracker.trackProcessed(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Pauses the partitions of the polled records which are not routed to any service attached to the listener, and
+     * seeks them back to their first polled record, so that the records are neither dispatched nor committed until a
+     * service routed to them is attached.
+     *
+     * @param consumerRecords records retrieved from the poll.
+     * @return the records to be dispatched.
+     */
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    private ConsumerRecords pauseUnroutedPartitions(ConsumerRecords consumerRecords) {
+        if (Objects.isNull(consumerRecords) || consumerRecords.isEmpty()) {
+            return consumerRecords;
+        }
+        Map<TopicPartition, List<ConsumerRecord>> routedRecords = new HashMap<>();
+        Set<TopicPartition> partitions = new HashSet<>();
+        for (TopicPartition partition : (Set<TopicPartition>) consumerRecords.partitions()) {
+            List<ConsumerRecord> partitionRecords = consumerRecords.records(partition);
+            if (this.kafkaListener.isRouted(partition.topic())) {
+                routedRecords.put(partition, partitionRecords);
+            } else {
+                this.kafkaConsumer.seek(partition, partitionRecords.get(0).offset());
+                partitions.add(partition);
+            }
+        }
+        if (partitions.isEmpty()) {
+            return consumerRecords;
+        }
+        logger.warn("Pausing the partitions " + partitions + " of Kafka service " + this.serviceId
+                            + " as their topics are not routed to any attached service.");
+        this.kafkaConsumer.pause(partitions);
+        this.unroutedPartitions.addAll(partitions);
+        return new ConsumerRecords(routedRecords);
+    }
+
+    /**
+     * Resumes the partitions paused by {@link #pauseUnroutedPartitions}, once a service routed to them is attached.
+     * Partitions revoked while paused are no longer tracked, and partitions paused by the service are left paused.
+     */
+    private void resumeRoutedPartitions() {
+        if (this.unroutedPartitions.isEmpty()) {
+            return;
+        }
+        Set<TopicPartition> partitions = new HashSet<>();
+        for (TopicPartition partition : this.unroutedPartitions) {
+            if (this.kafkaListener.isRouted(partition.topic())) {
+                partitions.add(partition);
+            }
+        }
+        this.unroutedPartitions.removeAll(partitions);
+        partitions.removeAll(this.commandQueue.getUserPausedPartitions());
+        if (!partitions.isEmpty()) {
+            this.kafkaConsumer.resume(partitions);
+        }
+    }
+
+    /**
+     * Pauses the assigned partitions while the memory budget of the process is exhausted, and resumes them once enough
+     * of the buffered records are processed. The consumer is still polled while its partitions are paused, so that it
+     * stays in the consumer group.
+     */
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    private void applyMemoryBudget() {
+        if (KafkaMemoryBudget.isExhausted()) {
+            Set<TopicPartition> partitions = new HashSet<>(this.kafkaConsumer.assignment());
+            partitions.removeAll(this.kafkaConsumer.paused());
+            if (!partitions.isEmpty()) {
+                this.kafkaConsumer.pause(partitions);
+                this.budgetPausedPartitions.addAll(partitions);
+                KafkaMemoryBudget.onPartitionsPaused(partitions.size());
+            }
+        } else if (!this.budgetPausedPartitions.isEmpty()) {
+            // Partitions revoked while paused are no longer assigned, hence they are not resumed. Partitions paused by
+            // the service while the budget was exhausted are left paused.
+            Set<TopicPartition> partitions = new HashSet<>(this.kafkaConsumer.assignment());
+            partitions.retainAll(this.budgetPausedPartitions);
+            partitions.removeAll(this.commandQueue.getUserPausedPartitions());
+            this.kafkaConsumer.resume(partitions);
+            releaseBudgetPausedPartitions();
+        }
+    }
+
+    /**
+     * Removes the partitions paused due to the memory budget from the paused partitions of the budget. This should
+     * only be called from the polling thread, which updates the partitions.
+     */
+    private void releaseBudgetPausedPartitions() {
+        KafkaMemoryBudget.onPartitionsResumed(this.budgetPausedPartitions.size());
+        this.budgetPausedPartitions.clear();
+    }
+
+    /**
+     * Waits until the records of the poll cycle are processed. The consumer operations invoked while processing the
+     * records, such as commits from the caller, are executed while waiting. When the consumer is being stopped, the
+     * records are waited for only until the stop deadline.
+     * <p>
+     * With keep-alive polling, the assigned partitions are paused and the consumer is polled at the polling interval
+     * while waiting, so that the consumer is not removed from the consumer group when processing the records takes
+     * longer than the maximum poll interval. The partitions are resumed once the records are processed.
+     *
+     * @param sem semaphore released once the records are processed.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    private void awaitProcessing(Semaphore sem) throws InterruptedException {
+        if (this.keepAlivePolling) {
+            // Partitions paused by the service are left paused once the records are processed.
+            this.keepAlivePausedPartitions = new HashSet<>(this.kafkaConsumer.assignment());
+            this.keepAlivePausedPartitions.removeAll(this.kafkaConsumer.paused());
+            this.kafkaConsumer.pause(this.keepAlivePausedPartitions);
+        }
+        try {
+            long lastPollTime = System.currentTimeMillis();
+            while (!sem.tryAcquire(COMMAND_DRAIN_INTERVAL, TimeUnit.MILLISECONDS)) {
+                this.commandQueue.drain();
+                long currentTime = System.currentTimeMillis();
+                if (currentTime >= this.stopDeadline) {
+                    return;
+                }
+                if (this.keepAlivePolling && currentTime - lastPollTime >= this.pollingInterval) {
+                    lastPollTime = currentTime;
+                    keepAlive();
+                }
+            }
+            this.commandQueue.drain();
+        } finally {
+            if (this.keepAlivePolling && !closed.get()) {
+                // Partitions revoked while processing are no longer assigned, hence they are not resumed. Partitions
+                // paused by the service while processing the records are left paused.
+                this.keepAlivePausedPartitions.retainAll(this.kafkaConsumer.assignment());
+                this.keepAlivePausedPartitions.removeAll(this.commandQueue.getUserPausedPartitions());
+                this.kafkaConsumer.resume(this.keepAlivePausedPartitions);
+            }
+            this.keepAlivePausedPartitions = null;
+        }
+    }
+
+    /**
+     * Polls the consumer while all of its partitions are paused, which keeps the consumer in the consumer group and
+     * takes part in the rebalances. The partitions assigned during the poll are paused by the rebalance listener, but
+     * if records of any partition are still returned, the partition is rewound to the first of them, so that they are
+     * retrieved again in the next poll cycle.
+     */
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    private void keepAlive() {
+        try {
+            ConsumerRecords records = this.commandQueue.poll(Duration.ZERO);
+            for (TopicPartition partition : (Set<TopicPartition>) records.partitions()) {
+                List<ConsumerRecord> partitionRecords = records.records(partition);
+                this.kafkaConsumer.seek(partition, partitionRecords.get(0).offset());
+            }
+        } catch (KafkaException e) {
+            // The consumer is polled again at the next polling interval.
+            logger.warn("Failed to poll Kafka service " + this.serviceId + " attached to consumer " + this.consumerId
+                                + " while processing records", e);
+        }
+    }
+
+    /**
+     * Returns the time spent dispatching and processing records since the previous call, in nanoseconds. When the
+     * processing is decoupled, this only covers dispatching the records.
+     *
+     * @return time spent processing records.
+     */
+    public long getAndResetBusyTime() {
+        return this.busyTime.getAndSet(0);
+    }
+
+    /**
+     * Removes the records which do not match any of the record filters of the listener, before the records are
+     * converted into Ballerina values. The removed records after the last dispatched record of each partition are
+     * not covered by the dispatched batch, hence the offset after them is returned in the given map, to be recorded as
+     * processed and committed along with the dispatched records.
+     *
+     * @param consumerRecords records retrieved from the poll.
+     * @param filteredOffsets map to which the offset after the last removed record of each partition is added, if
+     *                        the last record of the partition is removed.
+     * @return the records to be dispatched.
+     */
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    private ConsumerRecords filterRecords(ConsumerRecords consumerRecords, Map<TopicPartition, Long> filteredOffsets) {
+        if (this.recordFilters.isEmpty() || Objects.isNull(consumerRecords) || consumerRecords.isEmpty()) {
+            return consumerRecords;
+        }
+        Map<TopicPartition, List<ConsumerRecord>> matchingRecords = new HashMap<>();
+        for (TopicPartition partition : (Set<TopicPartition>) consumerRecords.partitions()) {
+            List<ConsumerRecord> partitionRecords = consumerRecords.records(partition);
+            List<ConsumerRecord> matchingPartitionRecords = new ArrayList<>();
+            for (ConsumerRecord record : partitionRecords) {
+                if (KafkaRecordFilter.matchesAny(this.recordFilters, record)) {
+                    matchingPartitionRecords.add(record);
+                }
+            }
+            if (!matchingPartitionRecords.isEmpty()) {
+                matchingRecords.put(partition, matchingPartitionRecords);
+            }
+            ConsumerRecord lastRecord = partitionRecords.get(partitionRecords.size() - 1);
+            if (matchingPartitionRecords.isEmpty()
+                    || matchingPartitionRecords.get(matchingPartitionRecords.size() - 1) != lastRecord) {
+                filteredOffsets.put(partition, lastRecord.offset() + 1);
+            }
+        }
+        return new ConsumerRecords(matchingRecords);
+    }
+
+    /**
+     * Refreshes the lag of the assigned partitions, once the lag refresh interval has elapsed. The lag is taken from
+     * the {@code records-lag} fetch metric of the consumer, which is updated from the high watermark returned with
+     * each fetch response, so that no additional request is sent to the broker.
+     */
+    private void refreshLag() {
+        long currentTime = System.currentTimeMillis();
+        if (currentTime - this.lastLagRefreshTime < this.lagRefreshInterval) {
+            return;
+        }
+        this.lastLagRefreshTime = currentTime;
+        Map<TopicPartition, Long> currentLags = new HashMap<>();
+        for (Map.Entry<MetricName, ? extends Metric> entry : this.consumerMetrics.entrySet()) {
+            MetricName metricName = entry.getKey();
+            if (!RECORDS_LAG_METRIC.equals(metricName.name())
+                    || !FETCH_MANAGER_METRIC_GROUP.equals(metricName.group())) {
+                continue;
+            }
+            String topic = metricName.tags().get(TOPIC_TAG);
+            String partition = metricName.tags().get(PARTITION_TAG);
+            Object lag = entry.getValue().metricValue();
+            if (Objects.isNull(topic) || Objects.isNull(partition) || !(lag instanceof Number)
+                    || Double.isNaN(((Number) lag).doubleValue())) {
+                continue;
+            }
+            currentLags.put(new TopicPartition(topic, Integer.parseInt(partition)), ((Number) lag).longValue());
+        }
+        List<TopicPartition> removedPartitions = new ArrayList<>();
+        for (TopicPartition partition : this.partitionLags.keySet()) {
+            if (!currentLags.containsKey(partition)) {
+                removedPartitions.add(partition);
+                this.partitionLags.remove(partition);
+            }
+        }
+        this.partitionLags.putAll(currentLags);
+        this.kafkaListener.onLagUpdated(currentLags, removedPartitions);
+    }
+
+    /**
+     * Returns the lag of the partitions assigned to this consumer, as of the last lag refresh.
+     *
+     * @return lag of each assigned partition.
+     */
+    public Map<TopicPartition, Long> getLag() {
+        return Collections.unmodifiableMap(this.partitionLags);
+    }
+
+    /**
+     * Tracks the consumer group rebalances of the consumer. The callbacks are invoked by the polling thread from
+     * within {@code poll()}. With the cooperative rebalance protocol only the partitions which move to another consumer
+     * are revoked, hence the state of the other partitions is kept as it is.
+     */
+    private class RecordConsumerRebalanceListener implements ConsumerRebalanceListener {
+
+        private final List<TopicPartition> revokedPartitions = new ArrayList<>();
+        private long rebalanceStartTime = -1;
+
+        /**
+         * Hands off the revoked partitions. Records of the revoked partitions are no longer returned from the polls,
+         * hence no new batches of them are dispatched. The in-flight batches of the partitions are awaited for, up to
+         * the revoke timeout, and then the offsets of the processed records are committed synchronously, before the
+         * partitions are assigned to the new owner, so that the new owner does not process them again.
+         * <p>
+         * The consumer operations invoked while processing the in-flight records, such as commits from the caller, are
+         * executed while waiting, and the poll is not woken up for them, as the callback is executed within the poll.
+         */
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            onPartitionsRemoved(partitions);
+            if (partitions.isEmpty()) {
+                return;
+            }
+            boolean wasPolling = commandQueue.suspendWakeups();
+            try {
+                if (revokeTimeout > 0
+                        && !awaitInFlightBatches(partitions, System.currentTimeMillis() + revokeTimeout)) {
+                    logger.warn("Timed out waiting for the in-flight records of the revoked partitions " + partitions
+                                        + " of Kafka service " + serviceId);
+                }
+                Map<TopicPartition, OffsetAndMetadata> processedOffsets = dispatchTracker.removePartitions(partitions);
+                // When auto commit is enabled, the positions are already committed by the consumer before revoking.
+                if (!autoCommit && !processedOffsets.isEmpty()) {
+                    try {
+                        commandQueue.runBlocking(() -> {
+                            kafkaConsumer.commitSync(processedOffsets);
+                            return null;
+                        });
+                    } catch (KafkaException e) {
+                        logger.warn("Failed to commit the offsets of the revoked partitions of Kafka service "
+                                            + serviceId, e);
+                    }
+                }
+            } finally {
+                commandQueue.resumeWakeups(wasPolling);
+            }
+        }
+
+        /**
+         * Lost partitions may already be owned by another consumer, hence their offsets are not committed.
+         */
+        @Override
+        public void onPartitionsLost(Collection<TopicPartition> partitions) {
+            onPartitionsRemoved(partitions);
+            dispatchTracker.removePartitions(partitions);
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            // Partitions assigned while polling to keep alive are not consumed until the records are processed.
+            if (Objects.nonNull(keepAlivePausedPartitions)) {
+                kafkaConsumer.pause(partitions);
+                keepAlivePausedPartitions.addAll(partitions);
+            }
+            // The rebalance starts within the poll, before the partitions are revoked, if any.
+            long startTime = this.rebalanceStartTime < 0 ? pollStartTime : this.rebalanceStartTime;
+            kafkaListener.onRebalanceCompleted(new ArrayList<>(this.revokedPartitions), partitions,
+                                               System.nanoTime() - startTime);
+            this.revokedPartitions.clear();
+            this.rebalanceStartTime = -1;
+        }
+
+        private void onPartitionsRemoved(Collection<TopicPartition> partitions) {
+            if (this.rebalanceStartTime < 0) {
+                this.rebalanceStartTime = System.nanoTime();
+            }
+            if (partitions.isEmpty()) {
+                return;
+            }
+            this.revokedPartitions.addAll(partitions);
+            unroutedPartitions.removeAll(partitions);
+            List<TopicPartition> removedPartitions = new ArrayList<>();
+            for (TopicPartition partition : partitions) {
+                if (Objects.nonNull(partitionLags.remove(partition))) {
+                    removedPartitions.add(partition);
+                }
+            }
+            kafkaListener.onLagUpdated(Collections.emptyMap(), removedPartitions);
         }
     }
 
@@ -165,9 +618,117 @@ public class KafkaRecordConsumer {
      */
     public void stopConsume() {
         // Make closed true, therefore poll function stops polling, and make stop operation thread-safe
+        this.stopDeadline = 0;
         closed.set(true);
+        this.commandQueue.unregister();
+        try {
+            // Executed by the polling thread once the current poll cycle is completed, as it updates the partitions.
+            this.executorService.execute(this::releaseBudgetPausedPartitions);
+        } catch (RejectedExecutionException e) {
+            // The polling thread is already stopped.
+            releaseBudgetPausedPartitions();
+        }
         this.kafkaConsumer.wakeup();
-        this.kafkaConsumer.close();
+        try {
+            this.kafkaConsumer.close();
+        } finally {
+            onConsumerClosed();
+        }
         this.executorService.shutdown();
+        // Completes the operations queued before stopping, which fail as the consumer is closed.
+        this.commandQueue.drain();
+    }
+
+    /**
+     * Stops Kafka consumer polling cycles gracefully. The polling is stopped and the in-flight batches of records are
+     * awaited for, up to the given timeout. Then the offsets of the processed records are committed, and the consumer
+     * is closed, which makes it leave the consumer group, so that its partitions are reassigned right away instead of
+     * after the session timeout. This does not wait for the consumer to be closed.
+     *
+     * @param timeout maximum time to stop the consumer in milliseconds.
+     * @return a future completed once the consumer is closed.
+     */
+    public CompletableFuture<Void> stopConsumeGracefully(long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        this.stopDeadline = deadline;
+        closed.set(true);
+        if (Objects.nonNull(this.pollTaskFuture)) {
+            this.pollTaskFuture.cancel(false);
+        }
+        this.commandQueue.wakeup();
+        CompletableFuture<Void> closeFuture = new CompletableFuture<>();
+        try {
+            // The consumer is closed from the polling thread, once the current poll cycle is completed.
+            this.executorService.execute(() -> {
+                try {
+                    closeGracefully(deadline);
+                    closeFuture.complete(null);
+                } catch (RuntimeException e) {
+                    closeFuture.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The consumer is already stopped.
+            closeFuture.complete(null);
+        }
+        this.executorService.shutdown();
+        return closeFuture;
+    }
+
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    private void closeGracefully(long deadline) {
+        Set<TopicPartition> partitions = this.kafkaConsumer.assignment();
+        if (!awaitInFlightBatches(partitions, deadline)) {
+            logger.warn("Timed out waiting for the in-flight records of Kafka service " + this.serviceId
+                                + " attached to consumer " + this.consumerId + " to be processed");
+        }
+        this.commandQueue.unregister();
+        this.commandQueue.drain();
+        releaseBudgetPausedPartitions();
+        Map<TopicPartition, OffsetAndMetadata> processedOffsets = this.dispatchTracker.removePartitions(partitions);
+        // When auto commit is enabled, the positions are committed by the consumer when it is closed.
+        if (!this.autoCommit && !processedOffsets.isEmpty()) {
+            try {
+                this.kafkaConsumer.commitSync(processedOffsets);
+            } catch (KafkaException e) {
+                logger.warn("Failed to commit the offsets of the processed records of Kafka service "
+                                    + this.serviceId, e);
+            }
+        }
+        try {
+            this.kafkaConsumer.close(Duration.ofMillis(Math.max(deadline - System.currentTimeMillis(), 0)));
+        } finally {
+            onConsumerClosed();
+        }
+    }
+
+    /**
+     * Waits until the in-flight batches of the given partitions are processed, or until the deadline. The consumer
+     * operations invoked while processing the in-flight records are executed while waiting, as the records may not be
+     * processed until those operations complete. This should only be called from the polling thread.
+     *
+     * @return true if all the batches of the partitions are processed, false otherwise.
+     */
+    private boolean awaitInFlightBatches(Collection<TopicPartition> partitions, long deadline) {
+        try {
+            while (!this.dispatchTracker.awaitCompletion(partitions, COMMAND_DRAIN_INTERVAL)) {
+                this.commandQueue.drain();
+                if (System.currentTimeMillis() >= deadline) {
+                    return false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            this.commandQueue.drain();
+        }
+        return true;
+    }
+
+    private void onConsumerClosed() {
+        if (this.ownsConsumer) {
+            this.kafkaListener.onConsumerClosed(this.consumerId, this.consumerMetrics);
+        }
     }
 }
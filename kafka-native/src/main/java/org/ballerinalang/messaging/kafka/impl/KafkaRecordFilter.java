@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.messaging.kafka.impl;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@code KafkaRecordFilter} represents a filter on the records received by a Kafka listener. The filters are evaluated
+ * on the deserialized Kafka records, before the records are converted into Ballerina values.
+ */
+public class KafkaRecordFilter {
+
+    private final String topic;
+    private final Object key;
+    private final Object keyPrefix;
+    private final String headerName;
+    private final byte[] headerValue;
+    private final Long fromTimestamp;
+    private final Long toTimestamp;
+
+    /**
+     * Creates a record filter. A condition which is {@code null} is not evaluated.
+     *
+     * @param topic         Topic of the record.
+     * @param key           Key of the record, either a {@code byte[]} or a {@code String}.
+     * @param keyPrefix     Prefix of the key of the record, either a {@code byte[]} or a {@code String}.
+     * @param headerName    Name of a header of the record.
+     * @param headerValue   Value of the header of the record, or null to only check whether the header exists.
+     * @param fromTimestamp Timestamp from which the records are accepted, inclusive.
+     * @param toTimestamp   Timestamp until which the records are accepted, exclusive.
+     */
+    public KafkaRecordFilter(String topic, Object key, Object keyPrefix, String headerName, byte[] headerValue,
+                             Long fromTimestamp, Long toTimestamp) {
+        this.topic = topic;
+        this.key = key;
+        this.keyPrefix = keyPrefix;
+        this.headerName = headerName;
+        this.headerValue = headerValue;
+        this.fromTimestamp = fromTimestamp;
+        this.toTimestamp = toTimestamp;
+    }
+
+    /**
+     * Checks whether a record matches at least one of the given filters.
+     *
+     * @param filters Filters to be evaluated.
+     * @param record  Kafka consumer record.
+     * @return true if the record matches any of the filters, false otherwise
+     */
+    public static boolean matchesAny(List<KafkaRecordFilter> filters, ConsumerRecord record) {
+        for (KafkaRecordFilter filter : filters) {
+            if (filter.matches(record)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a record satisfies all the conditions of this filter.
+     *
+     * @param record Kafka consumer record.
+     * @return true if the record matches the filter, false otherwise
+     */
+    public boolean matches(ConsumerRecord record) {
+        if (Objects.nonNull(topic) && !topic.equals(record.topic())) {
+            return false;
+        }
+        if (Objects.nonNull(fromTimestamp) && record.timestamp() < fromTimestamp) {
+            return false;
+        }
+        if (Objects.nonNull(toTimestamp) && record.timestamp() >= toTimestamp) {
+            return false;
+        }
+        if (Objects.nonNull(key) && !matchesKey(record.key(), key, false)) {
+            return false;
+        }
+        if (Objects.nonNull(keyPrefix) && !matchesKey(record.key(), keyPrefix, true)) {
+            return false;
+        }
+        return Objects.isNull(headerName) || matchesHeader(record);
+    }
+
+    private boolean matchesHeader(ConsumerRecord record) {
+        for (Header header : record.headers().headers(headerName)) {
+            if (Objects.isNull(headerValue) || Arrays.equals(headerValue, header.value())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesKey(Object recordKey, Object expected, boolean prefix) {
+        if (Objects.isNull(recordKey)) {
+            return false;
+        }
+        if (recordKey instanceof byte[]) {
+            byte[] keyBytes = (byte[]) recordKey;
+            byte[] expectedBytes = expected instanceof byte[] ? (byte[]) expected :
+                    ((String) expected).getBytes(StandardCharsets.UTF_8);
+            return prefix ? startsWith(keyBytes, expectedBytes) : Arrays.equals(keyBytes, expectedBytes);
+        }
+        // Keys other than byte arrays (e.g. strings and numbers) are matched using their string representation.
+        String keyString = String.valueOf(recordKey);
+        String expectedString = expected instanceof String ? (String) expected :
+                new String((byte[]) expected, StandardCharsets.UTF_8);
+        return prefix ? keyString.startsWith(expectedString) : keyString.equals(expectedString);
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.messaging.kafka.impl;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BObject;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.ballerinalang.messaging.kafka.utils.ConsumerRecordConverter;
+import org.ballerinalang.messaging.kafka.utils.KafkaConstants;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.CONSUMER_ERROR;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.createKafkaError;
+
+/**
+ * {@code KafkaRecordIterator} iterates over the records polled by a Ballerina consumer, converting one record at a
+ * time into a Ballerina `kafka:ConsumerRecord`, so that only the record being consumed is copied into a Ballerina
+ * value. The consumer is polled again once the records of the previous poll are consumed, after optionally committing
+ * their offsets. The consumer is polled, and the offsets are committed, on a separate thread, so that a strand waiting
+ * for records does not hold a scheduler thread. An iterator over a single batch, which is used to stream the records
+ * dispatched by a listener, ends once the records of the batch are consumed.
+ */
+public class KafkaRecordIterator {
+
+    private static final Executor streamExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "kafka-record-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final BObject consumerObject;
+    private final KafkaConsumer kafkaConsumer;
+    private final ConsumerRecordConverter recordConverter;
+    private final Duration pollingTimeout;
+    private final boolean autoCommit;
+    private final Map<TopicPartition, OffsetAndMetadata> consumedOffsets = new HashMap<>();
+    private ConsumerRecords batch;
+    private Iterator<?> records = Collections.emptyIterator();
+    private volatile boolean commitPending = false;
+    private volatile boolean closed = false;
+    private boolean polling = false;
+    private Consumer<BError> closeHandler;
+
+    public KafkaRecordIterator(BObject consumerObject, KafkaConsumer kafkaConsumer,
+                               ConsumerRecordConverter recordConverter, long pollingTimeout, boolean autoCommit) {
+        this.consumerObject = consumerObject;
+        this.kafkaConsumer = kafkaConsumer;
+        this.recordConverter = recordConverter;
+        this.pollingTimeout = Duration.ofMillis(pollingTimeout);
+        this.autoCommit = autoCommit;
+    }
+
+    /**
+     * Creates an iterator over a single batch of records, which does not poll the consumer.
+     *
+     * @param records         Records of the batch.
+     * @param recordConverter Converter of the records.
+     */
+    public KafkaRecordIterator(ConsumerRecords records, ConsumerRecordConverter recordConverter) {
+        this(null, null, recordConverter, 0, false);
+        this.batch = records;
+        this.records = records.iterator();
+    }
+
+    /**
+     * Returns the offsets of the first records of a single batch, which were not read from the iterator, by the
+     * partitions which have such records.
+     *
+     * @return the offset of the first unread record of each partition with unread records.
+     */
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    public Map<TopicPartition, Long> getUnreadOffsets() {
+        Map<TopicPartition, Long> unreadOffsets = new HashMap<>();
+        if (Objects.isNull(this.batch)) {
+            return unreadOffsets;
+        }
+        for (TopicPartition partition : (Set<TopicPartition>) this.batch.partitions()) {
+            List<ConsumerRecord> partitionRecords = this.batch.records(partition);
+            OffsetAndMetadata consumedOffset = this.consumedOffsets.get(partition);
+            if (Objects.isNull(consumedOffset)) {
+                unreadOffsets.put(partition, partitionRecords.get(0).offset());
+            } else if (consumedOffset.offset() <= partitionRecords.get(partitionRecords.size() - 1).offset()) {
+                unreadOffsets.put(partition, consumedOffset.offset());
+            }
+        }
+        return unreadOffsets;
+    }
+
+    /**
+     * Returns the next record, polling the consumer until a record is retrieved. The consumer is polled on a separate
+     * thread. When the offsets of the consumed records are committed before polling again, the commit is executed by
+     * the polling thread of the consumer, if any, and the consumer is polled once the commit completes.
+     *
+     * @param resultHandler Handler of the Ballerina consumer record, a {@code BError} if polling fails, or null once
+     *                      the iterator is closed or the records of a single batch are consumed.
+     */
+    public void next(Consumer<Object> resultHandler) {
+        Object record = nextBufferedRecord();
+        if (Objects.nonNull(record) || Objects.isNull(this.kafkaConsumer)) {
+            resultHandler.accept(record);
+            return;
+        }
+        boolean closedIterator;
+        synchronized (this) {
+            closedIterator = this.closed;
+            this.polling = !closedIterator;
+        }
+        if (closedIterator) {
+            resultHandler.accept(null);
+            return;
+        }
+        Consumer<Object> pollHandler = result -> {
+            resultHandler.accept(result);
+            onPollCompleted();
+        };
+        if (!this.commitPending) {
+            pollNext(pollHandler);
+            return;
+        }
+        // The result of the commit may be handled by the polling thread, which does not wait for the records, as the
+        // consumer is polled on a separate thread, or the records are handed over by the prefetcher.
+        commitConsumedOffsets(error -> {
+            if (Objects.nonNull(error)) {
+                pollHandler.accept(error);
+            } else {
+                pollNext(pollHandler);
+            }
+        });
+    }
+
+    /**
+     * Closes the iterator, after which no more records are returned. The consumer itself is not closed. If the offsets
+     * of the consumed records are committed before polling again, the offsets of the records consumed since the last
+     * poll are committed as well, once the poll in progress, if any, returns.
+     *
+     * @param resultHandler Handler of the {@code BError} if the commit fails, or null once the iterator is closed.
+     */
+    public void close(Consumer<BError> resultHandler) {
+        synchronized (this) {
+            this.closed = true;
+            if (this.polling) {
+                this.closeHandler = resultHandler;
+                return;
+            }
+        }
+        commitOnClose(resultHandler);
+    }
+
+    private void onPollCompleted() {
+        Consumer<BError> pendingCloseHandler;
+        synchronized (this) {
+            this.polling = false;
+            pendingCloseHandler = this.closeHandler;
+            this.closeHandler = null;
+        }
+        if (Objects.nonNull(pendingCloseHandler)) {
+            commitOnClose(pendingCloseHandler);
+        }
+    }
+
+    private void commitOnClose(Consumer<BError> resultHandler) {
+        this.records = Collections.emptyIterator();
+        if (this.commitPending) {
+            commitConsumedOffsets(resultHandler);
+        } else {
+            resultHandler.accept(null);
+        }
+    }
+
+    private Object nextBufferedRecord() {
+        if (this.closed || !this.records.hasNext()) {
+            return null;
+        }
+        Object record = this.records.next();
+        this.commitPending = this.autoCommit;
+        if (record instanceof PrefetchedRecord) {
+            // Records prefetched in the background are already converted.
+            PrefetchedRecord prefetchedRecord = (PrefetchedRecord) record;
+            this.consumedOffsets.put(prefetchedRecord.partition, new OffsetAndMetadata(prefetchedRecord.offset + 1));
+            return prefetchedRecord.value;
+        }
+        ConsumerRecord consumerRecord = (ConsumerRecord) record;
+        this.consumedOffsets.put(new TopicPartition(consumerRecord.topic(), consumerRecord.partition()),
+                                 new OffsetAndMetadata(consumerRecord.offset() + 1));
+        return this.recordConverter.convert(consumerRecord);
+    }
+
+    /**
+     * Polls the consumer until a record is retrieved, or the iterator is closed. The batches prefetched in the
+     * background are handed over by the prefetcher, while the consumer itself is polled on a separate thread.
+     */
+    private void pollNext(Consumer<Object> resultHandler) {
+        if (this.closed) {
+            resultHandler.accept(null);
+            return;
+        }
+        KafkaConsumerPrefetcher prefetcher = KafkaConsumerPrefetcher.get(this.consumerObject);
+        if (Objects.nonNull(prefetcher)) {
+            prefetcher.takeBatch(this.pollingTimeout.toMillis(),
+                                 batch -> onPolled(getPrefetchedRecords(batch), resultHandler));
+            return;
+        }
+        streamExecutor.execute(() -> onPolled(poll(), resultHandler));
+    }
+
+    /**
+     * Continues with the records of a poll, which is an iterator over the records, or a {@code BError} if the poll
+     * failed.
+     */
+    private void onPolled(Object polledRecords, Consumer<Object> resultHandler) {
+        if (polledRecords instanceof BError) {
+            resultHandler.accept(polledRecords);
+            return;
+        }
+        this.records = (Iterator<?>) polledRecords;
+        Object record = nextBufferedRecord();
+        if (Objects.nonNull(record)) {
+            resultHandler.accept(record);
+        } else {
+            // Empty batches are handed over right away when the timeout is zero, hence the next poll is not nested.
+            streamExecutor.execute(() -> pollNext(resultHandler));
+        }
+    }
+
+    /**
+     * Returns an iterator over the records of a prefetched batch, where each record carries its topic partition and
+     * offset along with its converted value, so that the offsets of the consumed records can be committed.
+     */
+    private static Object getPrefetchedRecords(KafkaConsumerPrefetcher.PrefetchedBatch batch) {
+        if (!(batch.getRecords() instanceof BArray)) {
+            return batch.getRecords();
+        }
+        BArray batchRecords = (BArray) batch.getRecords();
+        List<Object> values = new ArrayList<>(batchRecords.size());
+        for (int i = 0; i < batchRecords.size(); i++) {
+            values.add(new PrefetchedRecord(batchRecords.get(i), batch.getPartition(i), batch.getOffset(i)));
+        }
+        return values.iterator();
+    }
+
+    private Object poll() {
+        try {
+            return this.kafkaConsumer.poll(this.pollingTimeout).iterator();
+        } catch (IllegalStateException | IllegalArgumentException | KafkaException e) {
+            return createKafkaError("Failed to poll from the Kafka server: " + e.getMessage(), CONSUMER_ERROR);
+        }
+    }
+
+    private void commitConsumedOffsets(Consumer<BError> resultHandler) {
+        this.commitPending = false;
+        Map<TopicPartition, OffsetAndMetadata> consumed = new HashMap<>(this.consumedOffsets);
+        this.consumedOffsets.clear();
+        KafkaConsumerCommandQueue.execute(this.kafkaConsumer, () -> {
+            if (consumed.isEmpty()) {
+                return null;
+            }
+            try {
+                this.kafkaConsumer.commitSync(consumed);
+            } catch (KafkaException e) {
+                return createKafkaError("Failed to commit the consumed offsets: " + e.getMessage(), CONSUMER_ERROR);
+            }
+            return null;
+        }, result -> resultHandler.accept((BError) result));
+    }
+
+    /**
+     * A record prefetched in the background, which is already converted, along with its topic partition and offset.
+     */
+    private static class PrefetchedRecord {
+
+        private final Object value;
+        private final TopicPartition partition;
+        private final long offset;
+
+        PrefetchedRecord(Object value, TopicPartition partition, long offset) {
+            this.value = value;
+            this.partition = partition;
+            this.offset = offset;
+        }
+    }
+}
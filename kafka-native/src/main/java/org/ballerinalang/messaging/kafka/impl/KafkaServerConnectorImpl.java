@@ -18,16 +18,30 @@
 
 package org.ballerinalang.messaging.kafka.impl;
 
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
 import org.ballerinalang.messaging.kafka.api.KafkaListener;
 import org.ballerinalang.messaging.kafka.api.KafkaServerConnector;
 import org.ballerinalang.messaging.kafka.exceptions.KafkaConnectorException;
 import org.ballerinalang.messaging.kafka.utils.KafkaConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@code KafkaServerConnectorImpl} This is the implementation for the {@code KafkaServerConnector} API which provides
@@ -35,12 +49,19 @@ import java.util.Properties;
  */
 public class KafkaServerConnectorImpl implements KafkaServerConnector {
 
+    private static final Logger logger = LoggerFactory.getLogger(KafkaServerConnectorImpl.class);
+
     private String serviceId;
     private KafkaListener kafkaListener;
     private Properties configParams;
     private int numOfConcurrentConsumers = 1;
-    private List<KafkaRecordConsumer> messageConsumers;
+    private volatile List<KafkaRecordConsumer> messageConsumers;
     private KafkaConsumer kafkaConsumer;
+    private KafkaConsumerScalingPolicy scalingPolicy;
+    private int maxConsumers;
+    private ScheduledExecutorService scalingExecutor;
+    private long gracefulShutdownTimeout = 30000;
+    private volatile boolean stopped = false;
 
     public KafkaServerConnectorImpl(String serviceId, Properties configParams, KafkaListener kafkaListener,
                                     KafkaConsumer kafkaConsumer) throws KafkaConnectorException {
@@ -56,6 +77,16 @@ public class KafkaServerConnectorImpl implements KafkaServerConnector {
         }
         this.configParams = configParams;
         this.kafkaConsumer = kafkaConsumer;
+        this.scalingPolicy =
+                (KafkaConsumerScalingPolicy) configParams.get(KafkaConstants.ALIAS_ELASTIC_CONSUMERS.getValue());
+        if (Objects.nonNull(this.scalingPolicy)
+                && Objects.nonNull(configParams.getProperty(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG))) {
+            this.scalingPolicy.disableScaleDown();
+        }
+        if (configParams.get(KafkaConstants.ALIAS_GRACEFUL_SHUTDOWN_TIMEOUT.getValue()) != null) {
+            this.gracefulShutdownTimeout =
+                    (Integer) configParams.get(KafkaConstants.ALIAS_GRACEFUL_SHUTDOWN_TIMEOUT.getValue());
+        }
     }
 
     /**
@@ -64,17 +95,108 @@ public class KafkaServerConnectorImpl implements KafkaServerConnector {
     @Override
     public void start() throws KafkaConnectorException {
         try {
-            this.messageConsumers = new ArrayList<>();
-            for (int counter = 0; counter < numOfConcurrentConsumers; counter++) {
-                KafkaRecordConsumer consumer = new KafkaRecordConsumer(this.kafkaListener, this.configParams,
-                                                                       this.serviceId, counter, this.kafkaConsumer);
-                this.messageConsumers.add(consumer);
-                consumer.consume();
+            this.messageConsumers = new CopyOnWriteArrayList<>();
+            int initialConsumers = this.numOfConcurrentConsumers;
+            if (Objects.nonNull(this.scalingPolicy)) {
+                int partitions = getPartitionCount();
+                this.maxConsumers = this.scalingPolicy.getMaxConsumers(partitions);
+                initialConsumers = this.scalingPolicy.getInitialConsumers(partitions);
+            }
+            for (int counter = 0; counter < initialConsumers; counter++) {
+                addConsumer(counter);
             }
         } catch (KafkaException e) {
             throw new KafkaConnectorException(
                     "Error creating Kafka consumer to connect with remote broker and subscribe to provided topics", e);
         }
+        if (Objects.nonNull(this.scalingPolicy)) {
+            this.scalingPolicy.reset(System.currentTimeMillis());
+            this.scalingExecutor = Executors.newSingleThreadScheduledExecutor();
+            long interval = this.scalingPolicy.getEvaluationInterval();
+            this.scalingExecutor.scheduleAtFixedRate(this::scaleConsumers, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void addConsumer(int consumerId) {
+        List<KafkaRecordConsumer> consumers = this.messageConsumers;
+        if (this.stopped || Objects.isNull(consumers)) {
+            return;
+        }
+        // Only the first consumer uses the consumer created for the listener, as a Kafka consumer must not be shared
+        // between the polling threads of the concurrent consumers.
+        KafkaRecordConsumer consumer = new KafkaRecordConsumer(this.kafkaListener, this.configParams, this.serviceId,
+                                                               consumerId, consumerId == 0 ? this.kafkaConsumer : null);
+        consumers.add(consumer);
+        consumer.consume();
+        // The connector may be stopped while the consumer is being created by the scaling thread, after the consumers
+        // to be stopped are already taken.
+        if (this.stopped) {
+            consumers.remove(consumer);
+            consumer.stopConsume();
+        }
+    }
+
+    /**
+     * Returns the total number of partitions of the subscribed topics, using the consumer created for the listener.
+     * This is called before the consumers start polling, as the consumer is not thread-safe.
+     */
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    private int getPartitionCount() {
+        List<String> topics = (List<String>) this.configParams.get(KafkaConstants.ALIAS_TOPICS.getValue());
+        if (Objects.isNull(this.kafkaConsumer) || Objects.isNull(topics)) {
+            return 0;
+        }
+        int partitions = 0;
+        for (String topic : topics) {
+            List<PartitionInfo> partitionInfos = this.kafkaConsumer.partitionsFor(topic);
+            if (Objects.nonNull(partitionInfos)) {
+                partitions += partitionInfos.size();
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Adds or removes a consumer based on the lag of the assigned partitions and the time the consumers spent
+     * processing the records since the previous evaluation.
+     */
+    private void scaleConsumers() {
+        try {
+            List<KafkaRecordConsumer> consumers = this.messageConsumers;
+            if (this.stopped || Objects.isNull(consumers) || consumers.isEmpty()) {
+                return;
+            }
+            long totalLag = 0;
+            long busyTime = 0;
+            for (KafkaRecordConsumer consumer : consumers) {
+                for (Long lag : consumer.getLag().values()) {
+                    totalLag += lag;
+                }
+                busyTime += consumer.getAndResetBusyTime();
+            }
+            int size = consumers.size();
+            double utilization = (double) busyTime
+                    / (TimeUnit.MILLISECONDS.toNanos(this.scalingPolicy.getEvaluationInterval()) * size);
+            int decision = this.scalingPolicy.evaluate(totalLag, utilization, size, this.maxConsumers,
+                                                       System.currentTimeMillis());
+            if (decision > 0) {
+                addConsumer(size);
+                logger.info("Added a consumer to Kafka service " + this.serviceId + ", consumers: " + (size + 1));
+            } else if (decision < 0) {
+                KafkaRecordConsumer consumer = consumers.get(size - 1);
+                consumers.remove(consumer);
+                // The partitions of the removed consumer are handed off without reprocessing the in-flight records.
+                consumer.stopConsumeGracefully(this.gracefulShutdownTimeout).whenComplete((result, e) -> {
+                    if (Objects.nonNull(e)) {
+                        logger.warn("Failed to close a consumer removed from Kafka service " + this.serviceId, e);
+                    }
+                });
+                logger.info("Removed a consumer from Kafka service " + this.serviceId + ", consumers: " + (size - 1));
+            }
+        } catch (KafkaException e) {
+            // Scaling is retried in the next evaluation.
+            logger.warn("Failed to scale the consumers of Kafka service " + this.serviceId, e);
+        }
     }
 
     /**
@@ -82,8 +204,12 @@ public class KafkaServerConnectorImpl implements KafkaServerConnector {
      */
     @Override
     public boolean stop() throws KafkaConnectorException {
+        List<KafkaRecordConsumer> consumers = stopScaling();
+        if (Objects.isNull(consumers)) {
+            return true;
+        }
         KafkaConnectorException ex = null;
-        for (KafkaRecordConsumer consumer : this.messageConsumers) {
+        for (KafkaRecordConsumer consumer : consumers) {
             try {
                 consumer.stopConsume();
             } catch (KafkaException e) {
@@ -94,10 +220,91 @@ public class KafkaServerConnectorImpl implements KafkaServerConnector {
                 }
             }
         }
-        this.messageConsumers = null;
         if (ex != null) {
             throw ex;
         }
         return true;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> gracefulStop() {
+        long deadline = System.currentTimeMillis() + this.gracefulShutdownTimeout;
+        List<KafkaRecordConsumer> consumers = stopScaling();
+        if (Objects.isNull(consumers)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        // The consumers are stopped concurrently, within the same graceful shutdown timeout.
+        List<CompletableFuture<Void>> closeFutures = new ArrayList<>();
+        for (KafkaRecordConsumer consumer : consumers) {
+            try {
+                closeFutures.add(consumer.stopConsumeGracefully(Math.max(deadline - System.currentTimeMillis(), 0)));
+            } catch (KafkaException e) {
+                CompletableFuture<Void> closeFuture = new CompletableFuture<>();
+                closeFuture.completeExceptionally(e);
+                closeFutures.add(closeFuture);
+            }
+        }
+        CompletableFuture<Boolean> stopFuture = new CompletableFuture<>();
+        CompletableFuture.allOf(closeFutures.toArray(new CompletableFuture[0])).whenComplete((result, e) -> {
+            KafkaConnectorException ex = null;
+            for (CompletableFuture<Void> closeFuture : closeFutures) {
+                try {
+                    closeFuture.join();
+                } catch (CompletionException ce) {
+                    if (ex == null) {
+                        ex = new KafkaConnectorException("Error closing the Kafka consumers for service " + serviceId,
+                                                         ce.getCause());
+                    } else {
+                        ex.addSuppressed(ce.getCause());
+                    }
+                }
+            }
+            if (ex != null) {
+                stopFuture.completeExceptionally(ex);
+            } else {
+                stopFuture.complete(true);
+            }
+        });
+        return stopFuture;
+    }
+
+    /**
+     * Stops scaling the consumers, and returns the consumers to be stopped.
+     *
+     * @return the consumers, or null if the connector is not started.
+     */
+    private List<KafkaRecordConsumer> stopScaling() {
+        this.stopped = true;
+        if (Objects.nonNull(this.scalingExecutor)) {
+            this.scalingExecutor.shutdownNow();
+            try {
+                // An evaluation in progress may still add or remove a consumer, hence it is completed first.
+                this.scalingExecutor.awaitTermination(this.gracefulShutdownTimeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.scalingExecutor = null;
+        }
+        List<KafkaRecordConsumer> consumers = this.messageConsumers;
+        this.messageConsumers = null;
+        return consumers;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<TopicPartition, Long> getLag() {
+        Map<TopicPartition, Long> partitionLags = new HashMap<>();
+        List<KafkaRecordConsumer> consumers = this.messageConsumers;
+        if (consumers != null) {
+            for (KafkaRecordConsumer consumer : consumers) {
+                partitionLags.putAll(consumer.getLag());
+            }
+        }
+        return partitionLags;
+    }
 }
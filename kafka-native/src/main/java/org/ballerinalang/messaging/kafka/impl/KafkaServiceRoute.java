@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.messaging.kafka.impl;
+
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BObject;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.ballerinalang.messaging.kafka.utils.KafkaUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code KafkaServiceRoute} represents a service attached to a Kafka listener, along with the topics and the record
+ * filters which decide the records dispatched to the service.
+ */
+class KafkaServiceRoute {
+
+    private final BObject service;
+    private final Set<String> topics;
+    private final List<KafkaRecordFilter> recordFilters;
+    private final Type recordsType;
+
+    /**
+     * Creates a route to a service.
+     *
+     * @param service       Kafka service object.
+     * @param topics        Topics routed to the service, or an empty set to route the topics which are not routed to
+     *                      any other service.
+     * @param recordFilters Filters on the records routed to the service.
+     */
+    KafkaServiceRoute(BObject service, Set<String> topics, List<KafkaRecordFilter> recordFilters) {
+        this.service = service;
+        this.topics = topics;
+        this.recordFilters = recordFilters;
+        this.recordsType = KafkaUtils.getRecordsParameterType(service);
+    }
+
+    BObject getService() {
+        return service;
+    }
+
+    /**
+     * Returns the type of the records parameter of the `onConsumerRecord` remote function of the service, which is
+     * a `kafka:ConsumerRecord[]`, a `stream<kafka:ConsumerRecord>` or a `kafka:ConsumerRecordBatch`.
+     *
+     * @return the type of the records parameter.
+     */
+    Type getRecordsType() {
+        return recordsType;
+    }
+
+    boolean isDefaultRoute() {
+        return topics.isEmpty();
+    }
+
+    boolean isRouted(String topic) {
+        return topics.contains(topic);
+    }
+
+    /**
+     * Returns the records of a partition which match the record filters of the service.
+     *
+     * @param records records of a partition.
+     * @return the matching records.
+     */
+    List<ConsumerRecord> filter(List<ConsumerRecord> records) {
+        if (recordFilters.isEmpty()) {
+            return records;
+        }
+        List<ConsumerRecord> matchingRecords = new ArrayList<>();
+        for (ConsumerRecord record : records) {
+            if (KafkaRecordFilter.matchesAny(recordFilters, record)) {
+                matchingRecords.add(record);
+            }
+        }
+        return matchingRecords;
+    }
+}
@@ -20,6 +20,7 @@ package org.ballerinalang.messaging.kafka.impl;
 
 import io.ballerina.runtime.transactions.BallerinaTransactionContext;
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.ballerinalang.messaging.kafka.observability.KafkaTransactionEvent;
 
 import javax.transaction.xa.XAResource;
 
@@ -45,7 +46,10 @@ public class KafkaTransactionContext implements BallerinaTransactionContext {
     @Override
     public void commit() {
         // Kafka exception should be handled at the place where commit is called, as we should return an error there.
+        KafkaTransactionEvent transactionEvent = new KafkaTransactionEvent();
+        transactionEvent.begin();
         this.kafkaProducer.commitTransaction();
+        transactionEvent.complete(KafkaTransactionEvent.COMMIT);
     }
 
     /**
@@ -54,7 +58,10 @@ public class KafkaTransactionContext implements BallerinaTransactionContext {
     @Override
     public void rollback() {
         // Kafka exception should be handled at the place where rollback is called, as we should return an error there.
+        KafkaTransactionEvent transactionEvent = new KafkaTransactionEvent();
+        transactionEvent.begin();
         this.kafkaProducer.abortTransaction();
+        transactionEvent.complete(KafkaTransactionEvent.ROLLBACK);
     }
 
     /**
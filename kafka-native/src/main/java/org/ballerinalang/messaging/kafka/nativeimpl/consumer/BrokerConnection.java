@@ -20,15 +20,22 @@ package org.ballerinalang.messaging.kafka.nativeimpl.consumer;
 
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.TopicPartition;
+import org.ballerinalang.messaging.kafka.impl.KafkaConsumerCommandQueue;
+import org.ballerinalang.messaging.kafka.impl.KafkaConsumerPrefetcher;
+import org.ballerinalang.messaging.kafka.observability.KafkaClientMetricsBridge;
 import org.ballerinalang.messaging.kafka.observability.KafkaMetricsUtil;
 import org.ballerinalang.messaging.kafka.observability.KafkaObservabilityConstants;
+import org.ballerinalang.messaging.kafka.observability.KafkaTracingSampler;
 import org.ballerinalang.messaging.kafka.observability.KafkaTracingUtil;
+import org.ballerinalang.messaging.kafka.utils.ConsumerRecordConverter;
 import org.ballerinalang.messaging.kafka.utils.KafkaConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +47,7 @@ import java.util.Objects;
 import java.util.Properties;
 
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_DURATION;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_PREFETCH_BATCHES;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.BOOTSTRAP_SERVERS;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.CONSUMER_BOOTSTRAP_SERVERS_CONFIG;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.CONSUMER_CONFIG_FIELD_NAME;
@@ -48,8 +56,10 @@ import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.DURATION_UN
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.KAFKA_SERVERS;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_CONSUMER;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_CONSUMER_CONFIG;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_RECORD_CONVERTER;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.UNCHECKED;
 import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.createKafkaError;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.createTracingSampler;
 import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getClientIdFromProperties;
 import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getDefaultApiTimeout;
 import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getIntFromLong;
@@ -77,7 +87,13 @@ public class BrokerConnection {
         Properties consumerProperties = (Properties) consumerObject.getNativeData(NATIVE_CONSUMER_CONFIG);
         int defaultApiTimeout = getDefaultApiTimeout(consumerProperties);
         int apiTimeout = getIntFromLong(duration, logger, ALIAS_DURATION);
+        KafkaClientMetricsBridge.stop(consumerObject);
         try {
+            // The consumer is closed by the strand, once it is no longer polled in the background.
+            KafkaConsumerPrefetcher prefetcher = KafkaConsumerPrefetcher.get(consumerObject);
+            if (Objects.nonNull(prefetcher)) {
+                prefetcher.stop();
+            }
             if (apiTimeout > DURATION_UNDEFINED_VALUE) { // API timeout should given the priority over the default value
                 closeWithDuration(kafkaConsumer, apiTimeout);
             } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
@@ -90,12 +106,16 @@ public class BrokerConnection {
             KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_CLOSE);
             return createKafkaError("Failed to close the connection from Kafka server: " + e.getMessage(),
                                     CONSUMER_ERROR);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return createKafkaError("Interrupted while closing the connection from Kafka server", CONSUMER_ERROR);
         }
         return null;
     }
 
     /**
-     * Connects ballerina kafka consumer to a kafka broker.
+     * Connects ballerina kafka consumer to a kafka broker. Prefetching records is rejected while auto commit is
+     * enabled, as the consumer would commit the positions of the prefetched records before they are returned.
      *
      * @param consumerObject Kafka consumer object from ballerina.
      * @return {@code BError}, if there's an error, null otherwise.
@@ -112,13 +132,33 @@ public class BrokerConnection {
         }
         BMap<BString, Object> configs = consumerObject.getMapValue(CONSUMER_CONFIG_FIELD_NAME);
         Properties consumerProperties = processKafkaConsumerConfig(configs);
+        Object prefetchBatches = consumerProperties.get(ALIAS_PREFETCH_BATCHES.getValue());
+        if (Objects.nonNull(prefetchBatches) && (Integer) prefetchBatches > 0
+                && !Boolean.FALSE.equals(consumerProperties.get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG))) {
+            return createKafkaError("Prefetching records requires auto commit to be disabled, as the prefetched " +
+                                            "records would be committed before they are returned", CONSUMER_ERROR);
+        }
+        KafkaTracingSampler tracingSampler;
+        try {
+            tracingSampler = createTracingSampler(configs, CONSUMER_ERROR);
+        } catch (BError e) {
+            return e;
+        }
         try {
             KafkaConsumer kafkaConsumer = new KafkaConsumer<>(consumerProperties);
             consumerObject.addNativeData(NATIVE_CONSUMER, kafkaConsumer);
             consumerObject.addNativeData(NATIVE_CONSUMER_CONFIG, consumerProperties);
             consumerObject.addNativeData(BOOTSTRAP_SERVERS, consumerProperties.getProperty(BOOTSTRAP_SERVERS));
             consumerObject.addNativeData(KafkaConstants.CLIENT_ID, getClientIdFromProperties(consumerProperties));
+            consumerObject.addNativeData(KafkaConstants.NATIVE_TRACING_SAMPLER, tracingSampler);
+            consumerObject.addNativeData(KafkaConstants.NATIVE_PARTITION_LEVEL_METRICS,
+                                         configs.getBooleanValue(KafkaConstants.ALIAS_PARTITION_LEVEL_METRICS));
+            consumerObject.addNativeData(NATIVE_RECORD_CONVERTER,
+                                         new ConsumerRecordConverter(KafkaConstants.DEFAULT_SER_DES_TYPE,
+                                                                     KafkaConstants.DEFAULT_SER_DES_TYPE));
             KafkaMetricsUtil.reportNewConsumer(consumerObject);
+            KafkaClientMetricsBridge.start(consumerObject, KafkaObservabilityConstants.CONTEXT_CONSUMER,
+                                           kafkaConsumer.metrics(), configs);
         } catch (KafkaException e) {
             KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_CONNECTION);
             return createKafkaError("Cannot connect to the kafka server: " + e.getMessage(), CONSUMER_ERROR);
@@ -139,14 +179,17 @@ public class BrokerConnection {
         KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
         ArrayList<TopicPartition> partitionList = getTopicPartitionList(topicPartitions, logger);
 
-        try {
-            kafkaConsumer.pause(partitionList);
-        } catch (IllegalStateException | KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_PAUSE);
-            return createKafkaError("Failed to pause topic partitions for the consumer: " + e.getMessage(),
-                                    CONSUMER_ERROR);
-        }
-        return null;
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                kafkaConsumer.pause(partitionList);
+                KafkaConsumerCommandQueue.onPartitionsPaused(kafkaConsumer, partitionList);
+            } catch (IllegalStateException | KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_PAUSE);
+                return createKafkaError("Failed to pause topic partitions for the consumer: " + e.getMessage(),
+                                        CONSUMER_ERROR);
+            }
+            return null;
+        });
     }
 
     /**
@@ -161,14 +204,17 @@ public class BrokerConnection {
         KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
         ArrayList<TopicPartition> partitionList = getTopicPartitionList(topicPartitions, logger);
 
-        try {
-            kafkaConsumer.resume(partitionList);
-        } catch (IllegalStateException | KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_RESUME);
-            return createKafkaError("Failed to resume topic partitions for the consumer: " + e.getMessage(),
-                                    CONSUMER_ERROR);
-        }
-        return null;
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                kafkaConsumer.resume(partitionList);
+                KafkaConsumerCommandQueue.onPartitionsResumed(kafkaConsumer, partitionList);
+            } catch (IllegalStateException | KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_RESUME);
+                return createKafkaError("Failed to resume topic partitions for the consumer: " + e.getMessage(),
+                                        CONSUMER_ERROR);
+            }
+            return null;
+        });
     }
 
     private static void closeWithDuration(KafkaConsumer kafkaConsumer, long timeout) {
@@ -21,10 +21,14 @@ package org.ballerinalang.messaging.kafka.nativeimpl.consumer;
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.observability.ObserverContext;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.TopicPartition;
+import org.ballerinalang.messaging.kafka.impl.KafkaConsumerCommandQueue;
+import org.ballerinalang.messaging.kafka.impl.KafkaConsumerPrefetcher;
+import org.ballerinalang.messaging.kafka.observability.KafkaCommitEvent;
 import org.ballerinalang.messaging.kafka.observability.KafkaMetricsUtil;
 import org.ballerinalang.messaging.kafka.observability.KafkaObservabilityConstants;
 import org.ballerinalang.messaging.kafka.observability.KafkaTracingUtil;
@@ -33,6 +37,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_DURATION;
@@ -53,21 +58,39 @@ public class Commit {
     private static final Logger logger = LoggerFactory.getLogger(Commit.class);
 
     /**
-     * Commit messages for the consumer.
+     * Commit messages for the consumer. When the consumer prefetches records, only the offsets of the records returned
+     * from the polls are committed, instead of the positions of the consumer.
      *
      * @param consumerObject Kafka consumer object from ballerina.
      * @return {@code BError}, if there's any error, null otherwise.
      */
     public static Object commit(Environment environment, BObject consumerObject) {
         KafkaTracingUtil.traceResourceInvocation(environment, consumerObject);
+        // The commit may be executed by the polling thread of the consumer, where the frame of the strand is not
+        // accessible, hence the observer context is retrieved here.
+        ObserverContext observerContext = KafkaTracingUtil.getObserverContext(environment);
         KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
-        try {
-            kafkaConsumer.commitSync();
-        } catch (KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_COMMIT);
-            return createKafkaError("Failed to commit offsets: " + e.getMessage(), CONSUMER_ERROR);
-        }
-        return null;
+        KafkaCommitEvent commitEvent = new KafkaCommitEvent();
+        commitEvent.begin();
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                KafkaConsumerPrefetcher prefetcher = KafkaConsumerPrefetcher.get(consumerObject);
+                if (Objects.isNull(prefetcher)) {
+                    kafkaConsumer.commitSync();
+                } else {
+                    kafkaConsumer.commitSync(prefetcher.getDeliveredOffsets());
+                }
+                if (commitEvent.isEnabled()) {
+                    commitEvent.complete(kafkaConsumer.assignment());
+                }
+            } catch (KafkaException e) {
+                KafkaTracingUtil.traceError(observerContext, consumerObject, null,
+                                            KafkaObservabilityConstants.ERROR_TYPE_COMMIT);
+                KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_COMMIT);
+                return createKafkaError("Failed to commit offsets: " + e.getMessage(), CONSUMER_ERROR);
+            }
+            return null;
+        });
     }
 
     /**
@@ -80,25 +103,36 @@ public class Commit {
      */
     public static Object commitOffset(Environment environment, BObject consumerObject, BArray offsets, long duration) {
         KafkaTracingUtil.traceResourceInvocation(environment, consumerObject);
+        // The commit may be executed by the polling thread of the consumer, where the frame of the strand is not
+        // accessible, hence the observer context is retrieved here.
+        ObserverContext observerContext = KafkaTracingUtil.getObserverContext(environment);
         KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
 
         Properties consumerProperties = (Properties) consumerObject.getNativeData(NATIVE_CONSUMER_CONFIG);
         int defaultApiTimeout = getDefaultApiTimeout(consumerProperties);
         int apiTimeout = getIntFromLong(duration, logger, ALIAS_DURATION);
         Map<TopicPartition, OffsetAndMetadata> partitionToMetadataMap = getPartitionToMetadataMap(offsets);
-        try {
-            if (apiTimeout > DURATION_UNDEFINED_VALUE) { // API timeout should given the priority over the default value
-                consumerCommitSyncWithDuration(kafkaConsumer, partitionToMetadataMap, apiTimeout);
-            } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
-                consumerCommitSyncWithDuration(kafkaConsumer, partitionToMetadataMap, defaultApiTimeout);
-            } else {
-                kafkaConsumer.commitSync(partitionToMetadataMap);
+        KafkaCommitEvent commitEvent = new KafkaCommitEvent();
+        commitEvent.begin();
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                // API timeout should given the priority over the default value
+                if (apiTimeout > DURATION_UNDEFINED_VALUE) {
+                    consumerCommitSyncWithDuration(kafkaConsumer, partitionToMetadataMap, apiTimeout);
+                } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
+                    consumerCommitSyncWithDuration(kafkaConsumer, partitionToMetadataMap, defaultApiTimeout);
+                } else {
+                    kafkaConsumer.commitSync(partitionToMetadataMap);
+                }
+                commitEvent.complete(partitionToMetadataMap.keySet());
+            } catch (KafkaException e) {
+                KafkaTracingUtil.traceError(observerContext, consumerObject, null,
+                                            KafkaObservabilityConstants.ERROR_TYPE_COMMIT);
+                KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_COMMIT);
+                return createKafkaError("Failed to commit the offset: " + e.getMessage(), CONSUMER_ERROR);
             }
-        } catch (KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_COMMIT);
-            return createKafkaError("Failed to commit the offset: " + e.getMessage(), CONSUMER_ERROR);
-        }
-        return null;
+            return null;
+        });
     }
 
     private static void consumerCommitSyncWithDuration(KafkaConsumer consumer,
@@ -32,6 +32,8 @@ import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
+import org.ballerinalang.messaging.kafka.impl.KafkaConsumerCommandQueue;
+import org.ballerinalang.messaging.kafka.impl.KafkaConsumerPrefetcher;
 import org.ballerinalang.messaging.kafka.observability.KafkaMetricsUtil;
 import org.ballerinalang.messaging.kafka.observability.KafkaObservabilityConstants;
 import org.ballerinalang.messaging.kafka.observability.KafkaTracingUtil;
@@ -77,13 +79,16 @@ public class ConsumerInformationHandler {
         KafkaTracingUtil.traceResourceInvocation(environment, consumerObject);
         KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
         List<TopicPartition> partitions = getTopicPartitionList(topicPartitions, logger);
-        try {
-            kafkaConsumer.assign(partitions);
-        } catch (IllegalArgumentException | IllegalStateException | KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_ASSIGN);
-            return createKafkaError("Failed to assign topics for the consumer: " + e.getMessage(), CONSUMER_ERROR);
-        }
-        return null;
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                KafkaConsumerPrefetcher.rewind(consumerObject);
+                kafkaConsumer.assign(partitions);
+            } catch (IllegalArgumentException | IllegalStateException | KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_ASSIGN);
+                return createKafkaError("Failed to assign topics for the consumer: " + e.getMessage(), CONSUMER_ERROR);
+            }
+            return null;
+        });
     }
 
     /**
@@ -97,18 +102,21 @@ public class ConsumerInformationHandler {
         KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
         BArray topicPartitionArray =
                 ValueCreator.createArrayValue(TypeCreator.createArrayType(getTopicPartitionRecord().getType()));
-        try {
-            Set<TopicPartition> topicPartitions = kafkaConsumer.assignment();
-            for (TopicPartition partition : topicPartitions) {
-                BMap<BString, Object> tp = populateTopicPartitionRecord(partition.topic(), partition.partition());
-                topicPartitionArray.append(tp);
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                Set<TopicPartition> topicPartitions = kafkaConsumer.assignment();
+                for (TopicPartition partition : topicPartitions) {
+                    BMap<BString, Object> tp = populateTopicPartitionRecord(partition.topic(), partition.partition());
+                    topicPartitionArray.append(tp);
+                }
+                return topicPartitionArray;
+            } catch (KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject,
+                                                     KafkaObservabilityConstants.ERROR_TYPE_GET_ASSIGNMENT);
+                return createKafkaError("Failed to retrieve assignment for the consumer: " + e.getMessage(),
+                                        CONSUMER_ERROR);
             }
-            return topicPartitionArray;
-        } catch (KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_GET_ASSIGNMENT);
-            return createKafkaError("Failed to retrieve assignment for the consumer: " + e.getMessage(),
-                                    CONSUMER_ERROR);
-        }
+        });
     }
 
     /**
@@ -124,20 +132,22 @@ public class ConsumerInformationHandler {
         Properties consumerProperties = (Properties) consumerObject.getNativeData(NATIVE_CONSUMER_CONFIG);
         int defaultApiTimeout = getDefaultApiTimeout(consumerProperties);
         int apiTimeout = getIntFromLong(duration, logger, ALIAS_DURATION);
-        Map<String, List<PartitionInfo>> topics;
-        try {
-            if (apiTimeout > DURATION_UNDEFINED_VALUE) {
-                topics = getAvailableTopicWithDuration(kafkaConsumer, apiTimeout);
-            } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
-                topics = getAvailableTopicWithDuration(kafkaConsumer, defaultApiTimeout);
-            } else {
-                topics = kafkaConsumer.listTopics();
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                Map<String, List<PartitionInfo>> topics;
+                if (apiTimeout > DURATION_UNDEFINED_VALUE) {
+                    topics = getAvailableTopicWithDuration(kafkaConsumer, apiTimeout);
+                } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
+                    topics = getAvailableTopicWithDuration(kafkaConsumer, defaultApiTimeout);
+                } else {
+                    topics = kafkaConsumer.listTopics();
+                }
+                return getBArrayFromMap(topics);
+            } catch (KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_GET_TOPICS);
+                return createKafkaError("Failed to retrieve available topics: " + e.getMessage(), CONSUMER_ERROR);
             }
-            return getBArrayFromMap(topics);
-        } catch (KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_GET_TOPICS);
-            return createKafkaError("Failed to retrieve available topics: " + e.getMessage(), CONSUMER_ERROR);
-        }
+        });
     }
 
     /**
@@ -151,18 +161,20 @@ public class ConsumerInformationHandler {
         KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
         BArray topicPartitionArray =
                 ValueCreator.createArrayValue(TypeCreator.createArrayType(getTopicPartitionRecord().getType()));
-        try {
-            Set<TopicPartition> pausedPartitions = kafkaConsumer.paused();
-            for (TopicPartition partition : pausedPartitions) {
-                BMap<BString, Object> tp = populateTopicPartitionRecord(partition.topic(), partition.partition());
-                topicPartitionArray.append(tp);
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                Set<TopicPartition> pausedPartitions = kafkaConsumer.paused();
+                for (TopicPartition partition : pausedPartitions) {
+                    BMap<BString, Object> tp = populateTopicPartitionRecord(partition.topic(), partition.partition());
+                    topicPartitionArray.append(tp);
+                }
+                return topicPartitionArray;
+            } catch (KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject,
+                                                     KafkaObservabilityConstants.ERROR_TYPE_GET_PAUSED_PARTITIONS);
+                return createKafkaError("Failed to retrieve paused partitions: " + e.getMessage(), CONSUMER_ERROR);
             }
-            return topicPartitionArray;
-        } catch (KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject,
-                                                 KafkaObservabilityConstants.ERROR_TYPE_GET_PAUSED_PARTITIONS);
-            return createKafkaError("Failed to retrieve paused partitions: " + e.getMessage(), CONSUMER_ERROR);
-        }
+        });
     }
 
     /**
@@ -182,28 +194,30 @@ public class ConsumerInformationHandler {
         int defaultApiTimeout = getDefaultApiTimeout(consumerProperties);
         int apiTimeout = getIntFromLong(duration, logger, ALIAS_DURATION);
 
-        try {
-            List<PartitionInfo> partitionInfoList;
-            if (apiTimeout > DURATION_UNDEFINED_VALUE) {
-                partitionInfoList = getPartitionInfoList(kafkaConsumer, topic.getValue(), apiTimeout);
-            } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
-                partitionInfoList = getPartitionInfoList(kafkaConsumer, topic.getValue(), defaultApiTimeout);
-            } else {
-                partitionInfoList = kafkaConsumer.partitionsFor(topic.getValue());
-            }
-            BArray topicPartitionArray =
-                    ValueCreator.createArrayValue(TypeCreator.createArrayType(getTopicPartitionRecord().getType()));
-            for (PartitionInfo info : partitionInfoList) {
-                BMap<BString, Object> partition = populateTopicPartitionRecord(info.topic(), info.partition());
-                topicPartitionArray.append(partition);
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                List<PartitionInfo> partitionInfoList;
+                if (apiTimeout > DURATION_UNDEFINED_VALUE) {
+                    partitionInfoList = getPartitionInfoList(kafkaConsumer, topic.getValue(), apiTimeout);
+                } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
+                    partitionInfoList = getPartitionInfoList(kafkaConsumer, topic.getValue(), defaultApiTimeout);
+                } else {
+                    partitionInfoList = kafkaConsumer.partitionsFor(topic.getValue());
+                }
+                BArray topicPartitionArray =
+                        ValueCreator.createArrayValue(TypeCreator.createArrayType(getTopicPartitionRecord().getType()));
+                for (PartitionInfo info : partitionInfoList) {
+                    BMap<BString, Object> partition = populateTopicPartitionRecord(info.topic(), info.partition());
+                    topicPartitionArray.append(partition);
+                }
+                return topicPartitionArray;
+            } catch (KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject,
+                                                     KafkaObservabilityConstants.ERROR_TYPE_GET_TOPIC_PARTITIONS);
+                return KafkaUtils.createKafkaError("Failed to retrieve topic partitions for the consumer: "
+                                                           + e.getMessage(), CONSUMER_ERROR);
             }
-            return topicPartitionArray;
-        } catch (KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject,
-                                                 KafkaObservabilityConstants.ERROR_TYPE_GET_TOPIC_PARTITIONS);
-            return KafkaUtils.createKafkaError("Failed to retrieve topic partitions for the consumer: "
-                                                       + e.getMessage(), CONSUMER_ERROR);
-        }
+        });
     }
 
     /**
@@ -216,20 +230,22 @@ public class ConsumerInformationHandler {
         KafkaTracingUtil.traceResourceInvocation(environment, consumerObject);
         KafkaConsumer<byte[], byte[]> kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
 
-        try {
-            Set<String> subscriptions = kafkaConsumer.subscription();
-            BArray arrayValue = ValueCreator.createArrayValue(stringArrayType);
-            if (!subscriptions.isEmpty()) {
-                for (String subscription : subscriptions) {
-                    arrayValue.append(StringUtils.fromString(subscription));
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                Set<String> subscriptions = kafkaConsumer.subscription();
+                BArray arrayValue = ValueCreator.createArrayValue(stringArrayType);
+                if (!subscriptions.isEmpty()) {
+                    for (String subscription : subscriptions) {
+                        arrayValue.append(StringUtils.fromString(subscription));
+                    }
                 }
+                return arrayValue;
+            } catch (KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject,
+                                                     KafkaObservabilityConstants.ERROR_TYPE_GET_SUBSCRIPTION);
+                return createKafkaError("Failed to retrieve subscribed topics: " + e.getMessage(), CONSUMER_ERROR);
             }
-            return arrayValue;
-        } catch (KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject,
-                                                 KafkaObservabilityConstants.ERROR_TYPE_GET_SUBSCRIPTION);
-            return createKafkaError("Failed to retrieve subscribed topics: " + e.getMessage(), CONSUMER_ERROR);
-        }
+        });
     }
 
     private static Map<String, List<PartitionInfo>> getAvailableTopicWithDuration(KafkaConsumer kafkaConsumer,
@@ -27,6 +27,7 @@ import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.TopicPartition;
+import org.ballerinalang.messaging.kafka.impl.KafkaConsumerCommandQueue;
 import org.ballerinalang.messaging.kafka.observability.KafkaMetricsUtil;
 import org.ballerinalang.messaging.kafka.observability.KafkaObservabilityConstants;
 import org.ballerinalang.messaging.kafka.observability.KafkaTracingUtil;
@@ -77,22 +78,24 @@ public class GetOffsets {
         int defaultApiTimeout = getDefaultApiTimeout(consumerProperties);
         int apiTimeout = getIntFromLong(duration, logger, ALIAS_DURATION);
         List<TopicPartition> partitionList = getTopicPartitionList(topicPartitions, logger);
-        Map<TopicPartition, Long> offsetMap;
-        try {
-            if (apiTimeout > DURATION_UNDEFINED_VALUE) {
-                offsetMap = getBeginningOffsetsWithDuration(kafkaConsumer, partitionList, apiTimeout);
-            } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
-                offsetMap = getBeginningOffsetsWithDuration(kafkaConsumer, partitionList, defaultApiTimeout);
-            } else {
-                offsetMap = kafkaConsumer.beginningOffsets(partitionList);
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                Map<TopicPartition, Long> offsetMap;
+                if (apiTimeout > DURATION_UNDEFINED_VALUE) {
+                    offsetMap = getBeginningOffsetsWithDuration(kafkaConsumer, partitionList, apiTimeout);
+                } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
+                    offsetMap = getBeginningOffsetsWithDuration(kafkaConsumer, partitionList, defaultApiTimeout);
+                } else {
+                    offsetMap = kafkaConsumer.beginningOffsets(partitionList);
+                }
+                return getPartitionOffsetArrayFromOffsetMap(offsetMap);
+            } catch (KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject,
+                                                     KafkaObservabilityConstants.ERROR_TYPE_GET_BEG_OFFSETS);
+                return createKafkaError("Failed to retrieve offsets for the topic partitions: " + e.getMessage(),
+                                        CONSUMER_ERROR);
             }
-            return getPartitionOffsetArrayFromOffsetMap(offsetMap);
-        } catch (KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject,
-                                                 KafkaObservabilityConstants.ERROR_TYPE_GET_BEG_OFFSETS);
-            return createKafkaError("Failed to retrieve offsets for the topic partitions: " + e.getMessage(),
-                                    CONSUMER_ERROR);
-        }
+        });
     }
 
     /**
@@ -114,26 +117,28 @@ public class GetOffsets {
         Long partition = topicPartition.getIntValue(ALIAS_PARTITION);
         TopicPartition tp = new TopicPartition(topic, getIntFromLong(partition, logger, ALIAS_PARTITION.getValue()));
 
-        try {
-            OffsetAndMetadata offsetAndMetadata;
-            BMap<BString, Object> offset;
-            if (apiTimeout > DURATION_UNDEFINED_VALUE) {
-                offsetAndMetadata = getOffsetAndMetadataWithDuration(kafkaConsumer, tp, apiTimeout);
-            } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
-                offsetAndMetadata = getOffsetAndMetadataWithDuration(kafkaConsumer, tp, defaultApiTimeout);
-            } else {
-                offsetAndMetadata = kafkaConsumer.committed(tp);
-            }
-            if (Objects.isNull(offsetAndMetadata)) {
-                return null;
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                OffsetAndMetadata offsetAndMetadata;
+                BMap<BString, Object> offset;
+                if (apiTimeout > DURATION_UNDEFINED_VALUE) {
+                    offsetAndMetadata = getOffsetAndMetadataWithDuration(kafkaConsumer, tp, apiTimeout);
+                } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
+                    offsetAndMetadata = getOffsetAndMetadataWithDuration(kafkaConsumer, tp, defaultApiTimeout);
+                } else {
+                    offsetAndMetadata = kafkaConsumer.committed(tp);
+                }
+                if (Objects.isNull(offsetAndMetadata)) {
+                    return null;
+                }
+                offset = populatePartitionOffsetRecord(topicPartition, offsetAndMetadata.offset());
+                return offset;
+            } catch (KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject,
+                                                     KafkaObservabilityConstants.ERROR_TYPE_GET_COMMIT_OFFSET);
+                return createKafkaError("Failed to retrieve committed offsets: " + e.getMessage(), CONSUMER_ERROR);
             }
-            offset = populatePartitionOffsetRecord(topicPartition, offsetAndMetadata.offset());
-            return offset;
-        } catch (KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject,
-                                                 KafkaObservabilityConstants.ERROR_TYPE_GET_COMMIT_OFFSET);
-            return createKafkaError("Failed to retrieve committed offsets: " + e.getMessage(), CONSUMER_ERROR);
-        }
+        });
     }
 
     /**
@@ -152,24 +157,26 @@ public class GetOffsets {
         int defaultApiTimeout = getDefaultApiTimeout(consumerProperties);
         int apiTimeout = getIntFromLong(duration, logger, ALIAS_DURATION);
         ArrayList<TopicPartition> partitionList = getTopicPartitionList(topicPartitions, logger);
-        Map<TopicPartition, Long> offsetMap;
-
-        try {
-            if (apiTimeout > DURATION_UNDEFINED_VALUE) {
-                offsetMap = getEndOffsetsWithDuration(kafkaConsumer, partitionList, apiTimeout);
-            } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
-                offsetMap = getEndOffsetsWithDuration(kafkaConsumer, partitionList, defaultApiTimeout);
-            } else {
-                offsetMap = kafkaConsumer.endOffsets(partitionList);
+
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            Map<TopicPartition, Long> offsetMap;
+            try {
+                if (apiTimeout > DURATION_UNDEFINED_VALUE) {
+                    offsetMap = getEndOffsetsWithDuration(kafkaConsumer, partitionList, apiTimeout);
+                } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
+                    offsetMap = getEndOffsetsWithDuration(kafkaConsumer, partitionList, defaultApiTimeout);
+                } else {
+                    offsetMap = kafkaConsumer.endOffsets(partitionList);
+                }
+            } catch (KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject,
+                                                     KafkaObservabilityConstants.ERROR_TYPE_GET_END_OFFSETS);
+                return createKafkaError("Failed to retrieve end offsets for the consumer: " + e.getMessage(),
+                                        CONSUMER_ERROR);
             }
-        } catch (KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject,
-                                                 KafkaObservabilityConstants.ERROR_TYPE_GET_END_OFFSETS);
-            return createKafkaError("Failed to retrieve end offsets for the consumer: " + e.getMessage(),
-                                    CONSUMER_ERROR);
-        }
-
-        return getPartitionOffsetArrayFromOffsetMap(offsetMap);
+
+            return getPartitionOffsetArrayFromOffsetMap(offsetMap);
+        });
     }
 
     /**
@@ -191,21 +198,23 @@ public class GetOffsets {
         Long partition = topicPartition.getIntValue(ALIAS_PARTITION);
         TopicPartition tp = new TopicPartition(topic, getIntFromLong(partition, logger, ALIAS_PARTITION.getValue()));
 
-        try {
-            long position;
-            if (apiTimeout > DURATION_UNDEFINED_VALUE) {
-                position = getPositionWithDuration(kafkaConsumer, tp, apiTimeout);
-            } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
-                position = getPositionWithDuration(kafkaConsumer, tp, defaultApiTimeout);
-            } else {
-                position = kafkaConsumer.position(tp);
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                long position;
+                if (apiTimeout > DURATION_UNDEFINED_VALUE) {
+                    position = getPositionWithDuration(kafkaConsumer, tp, apiTimeout);
+                } else if (defaultApiTimeout > DURATION_UNDEFINED_VALUE) {
+                    position = getPositionWithDuration(kafkaConsumer, tp, defaultApiTimeout);
+                } else {
+                    position = kafkaConsumer.position(tp);
+                }
+                return position;
+            } catch (IllegalStateException | KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject,
+                                                     KafkaObservabilityConstants.ERROR_TYPE_GET_POSITION_OFFSET);
+                return createKafkaError("Failed to retrieve position offset: " + e.getMessage(), CONSUMER_ERROR);
             }
-            return position;
-        } catch (IllegalStateException | KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject,
-                                                 KafkaObservabilityConstants.ERROR_TYPE_GET_POSITION_OFFSET);
-            return createKafkaError("Failed to retrieve position offset: " + e.getMessage(), CONSUMER_ERROR);
-        }
+        });
     }
 
     private static Map<TopicPartition, Long> getBeginningOffsetsWithDuration(KafkaConsumer consumer,
@@ -20,36 +20,42 @@ package org.ballerinalang.messaging.kafka.nativeimpl.consumer;
 
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.Future;
-import io.ballerina.runtime.api.creators.TypeCreator;
-import io.ballerina.runtime.api.creators.ValueCreator;
-import io.ballerina.runtime.api.values.BArray;
-import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BObject;
-import io.ballerina.runtime.api.values.BString;
-import org.apache.kafka.clients.consumer.ConsumerRecord;
+import io.ballerina.runtime.observability.ObserverContext;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.KafkaException;
+import org.ballerinalang.messaging.kafka.impl.KafkaConsumerPrefetcher;
 import org.ballerinalang.messaging.kafka.observability.KafkaMetricsUtil;
 import org.ballerinalang.messaging.kafka.observability.KafkaObservabilityConstants;
 import org.ballerinalang.messaging.kafka.observability.KafkaTracingUtil;
-import org.ballerinalang.messaging.kafka.utils.KafkaConstants;
+import org.ballerinalang.messaging.kafka.utils.ConsumerRecordConverter;
 
 import java.time.Duration;
+import java.util.Objects;
+import java.util.Properties;
 
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_PARALLEL_CONVERSION_THRESHOLD;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_POLLING_TIMEOUT;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_PREFETCH_BATCHES;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.CONSUMER_ERROR;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_CONSUMER;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_CONSUMER_CONFIG;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_CONSUMER_PREFETCHER;
 import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.createKafkaError;
-import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getConsumerRecord;
-import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.populateConsumerRecord;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getConsumerRecordConverter;
 
 /**
  * Native function polls the broker to retrieve messages within given timeout.
  */
 public class Poll {
 
+    private static final long DEFAULT_PREFETCH_POLLING_TIMEOUT = 1000;
+
     /**
-     * Polls from kafka broker using the ballerina kafka consumer.
+     * Polls from kafka broker using the ballerina kafka consumer. When prefetching is enabled, the records are taken
+     * from the batches polled in the background instead, and the strand is resumed once a batch is handed over.
      *
      * @param consumerObject Kafka consumer object from ballerina.
      * @param timeout        Duration in milliseconds to try the operation.
@@ -59,26 +65,65 @@ public class Poll {
         KafkaTracingUtil.traceResourceInvocation(env, consumerObject);
         Future balFuture = env.markAsync();
         KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
-        String keyType = KafkaConstants.DEFAULT_SER_DES_TYPE;
-        String valueType = KafkaConstants.DEFAULT_SER_DES_TYPE;
+        ConsumerRecordConverter recordConverter = getConsumerRecordConverter(consumerObject);
         Duration duration = Duration.ofMillis(timeout);
-        BArray consumerRecordsArray = ValueCreator.createArrayValue(
-                TypeCreator.createArrayType(getConsumerRecord().getType()));
         try {
-            ConsumerRecords recordsRetrieved = kafkaConsumer.poll(duration);
-            if (!recordsRetrieved.isEmpty()) {
-                for (Object record : recordsRetrieved) {
-                    BMap<BString, Object> recordValue = populateConsumerRecord((ConsumerRecord) record, keyType,
-                                                                                   valueType);
-                    consumerRecordsArray.append(recordValue);
-                }
+            KafkaConsumerPrefetcher prefetcher = getPrefetcher(consumerObject, kafkaConsumer, recordConverter);
+            if (Objects.nonNull(prefetcher)) {
+                // The batch may be handed over by the background thread, where the frame of the strand is not
+                // accessible, hence the observer context is retrieved here.
+                ObserverContext observerContext = KafkaTracingUtil.getObserverContext(env);
+                prefetcher.take(timeout, records -> {
+                    if (records instanceof BError) {
+                        KafkaTracingUtil.traceError(observerContext, consumerObject, null,
+                                                    KafkaObservabilityConstants.ERROR_TYPE_POLL);
+                        KafkaMetricsUtil.reportConsumerError(consumerObject,
+                                                             KafkaObservabilityConstants.ERROR_TYPE_POLL);
+                    }
+                    balFuture.complete(records);
+                });
+                return null;
             }
-            balFuture.complete(consumerRecordsArray);
+            long startTime = System.nanoTime();
+            ConsumerRecords recordsRetrieved = kafkaConsumer.poll(duration);
+            KafkaMetricsUtil.reportPollDuration(consumerObject, System.nanoTime() - startTime);
+            int parallelThreshold = getParallelConversionThreshold(consumerObject);
+            balFuture.complete(recordConverter.convert(recordsRetrieved, parallelThreshold));
         } catch (IllegalStateException | IllegalArgumentException | KafkaException e) {
+            KafkaTracingUtil.traceError(env, consumerObject, null, KafkaObservabilityConstants.ERROR_TYPE_POLL);
             KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_POLL);
             balFuture.complete(createKafkaError("Failed to poll from the Kafka server: " + e.getMessage(),
                                                     CONSUMER_ERROR));
         }
         return null;
     }
+
+    private static int getParallelConversionThreshold(BObject consumerObject) {
+        Properties consumerProperties = (Properties) consumerObject.getNativeData(NATIVE_CONSUMER_CONFIG);
+        Object threshold = consumerProperties.get(ALIAS_PARALLEL_CONVERSION_THRESHOLD.getValue());
+        return Objects.isNull(threshold) ? 0 : (Integer) threshold;
+    }
+
+    /**
+     * Returns the prefetcher of the consumer, which is started with the first poll, as the consumer is only accessed
+     * by the strands before that.
+     */
+    private static KafkaConsumerPrefetcher getPrefetcher(BObject consumerObject, KafkaConsumer kafkaConsumer,
+                                                         ConsumerRecordConverter recordConverter) {
+        synchronized (consumerObject) {
+            if (Objects.nonNull(consumerObject.getNativeData(NATIVE_CONSUMER_PREFETCHER))) {
+                // A stopped prefetcher is not started again, as the consumer is closed.
+                return KafkaConsumerPrefetcher.get(consumerObject);
+            }
+            Properties consumerProperties = (Properties) consumerObject.getNativeData(NATIVE_CONSUMER_CONFIG);
+            Object prefetchBatches = consumerProperties.get(ALIAS_PREFETCH_BATCHES.getValue());
+            if (Objects.isNull(prefetchBatches) || (Integer) prefetchBatches <= 0) {
+                return null;
+            }
+            Object pollingTimeout = consumerProperties.get(ALIAS_POLLING_TIMEOUT.getValue());
+            return KafkaConsumerPrefetcher.start(consumerObject, kafkaConsumer, recordConverter,
+                                                 (Integer) prefetchBatches, Objects.isNull(pollingTimeout) ?
+                                                         DEFAULT_PREFETCH_POLLING_TIMEOUT : (Integer) pollingTimeout);
+        }
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.messaging.kafka.nativeimpl.consumer;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.Future;
+import io.ballerina.runtime.api.values.BObject;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.ballerinalang.messaging.kafka.impl.KafkaRecordIterator;
+
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_CONSUMER;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_RECORD_ITERATOR;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getConsumerRecordConverter;
+
+/**
+ * Native methods to consume the records of a ballerina kafka consumer as a stream.
+ */
+public class RecordStream {
+
+    /**
+     * Initializes the iterator backing the record stream of a consumer.
+     *
+     * @param iteratorObject  Record iterator object from ballerina.
+     * @param consumerObject  Kafka consumer object from ballerina.
+     * @param timeout         Polling timeout in milliseconds.
+     * @param autoCommit      Whether the offsets of the consumed records are committed before polling again.
+     */
+    public static void initIterator(BObject iteratorObject, BObject consumerObject, long timeout, boolean autoCommit) {
+        KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
+        iteratorObject.addNativeData(NATIVE_RECORD_ITERATOR,
+                                     new KafkaRecordIterator(consumerObject, kafkaConsumer,
+                                                             getConsumerRecordConverter(consumerObject), timeout,
+                                                             autoCommit));
+    }
+
+    /**
+     * Returns the next record of the stream.
+     *
+     * @param iteratorObject Record iterator object from ballerina.
+     * @return Ballerina {@code ConsumerRecord}, a {@code BError} if polling fails, or null once the stream is closed.
+     */
+    public static Object next(Environment env, BObject iteratorObject) {
+        Future balFuture = env.markAsync();
+        KafkaRecordIterator iterator = (KafkaRecordIterator) iteratorObject.getNativeData(NATIVE_RECORD_ITERATOR);
+        iterator.next(balFuture::complete);
+        return null;
+    }
+
+    /**
+     * Closes the record stream, committing the offsets of the consumed records if the stream commits them. The
+     * consumer itself is not closed.
+     *
+     * @param iteratorObject Record iterator object from ballerina.
+     * @return {@code BError} if the commit fails, else null.
+     */
+    public static Object close(Environment env, BObject iteratorObject) {
+        Future balFuture = env.markAsync();
+        KafkaRecordIterator iterator = (KafkaRecordIterator) iteratorObject.getNativeData(NATIVE_RECORD_ITERATOR);
+        iterator.close(balFuture::complete);
+        return null;
+    }
+}
@@ -26,6 +26,8 @@ import io.ballerina.runtime.api.values.BString;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.TopicPartition;
+import org.ballerinalang.messaging.kafka.impl.KafkaConsumerCommandQueue;
+import org.ballerinalang.messaging.kafka.impl.KafkaConsumerPrefetcher;
 import org.ballerinalang.messaging.kafka.observability.KafkaMetricsUtil;
 import org.ballerinalang.messaging.kafka.observability.KafkaObservabilityConstants;
 import org.ballerinalang.messaging.kafka.observability.KafkaTracingUtil;
@@ -61,13 +63,16 @@ public class Seek {
         TopicPartition topicPartition = createTopicPartitionFromPartitionOffset(partitionOffset);
         Long offset = partitionOffset.getIntValue(ALIAS_OFFSET);
 
-        try {
-            kafkaConsumer.seek(topicPartition, offset);
-        } catch (IllegalStateException | IllegalArgumentException | KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_SEEK);
-            return createKafkaError("Failed to seek the consumer: " + e.getMessage(), CONSUMER_ERROR);
-        }
-        return null;
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                KafkaConsumerPrefetcher.rewind(consumerObject);
+                kafkaConsumer.seek(topicPartition, offset);
+            } catch (IllegalStateException | IllegalArgumentException | KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_SEEK);
+                return createKafkaError("Failed to seek the consumer: " + e.getMessage(), CONSUMER_ERROR);
+            }
+            return null;
+        });
     }
 
     /**
@@ -81,13 +86,17 @@ public class Seek {
         KafkaTracingUtil.traceResourceInvocation(environment, consumerObject);
         KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
         ArrayList<TopicPartition> partitionList = getTopicPartitionList(topicPartitions, logger);
-        try {
-            kafkaConsumer.seekToBeginning(partitionList);
-        } catch (IllegalStateException | IllegalArgumentException | KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_SEEK_BEG);
-            return createKafkaError("Failed to seek the consumer to the beginning: " + e.getMessage(), CONSUMER_ERROR);
-        }
-        return null;
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                KafkaConsumerPrefetcher.rewind(consumerObject);
+                kafkaConsumer.seekToBeginning(partitionList);
+            } catch (IllegalStateException | IllegalArgumentException | KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_SEEK_BEG);
+                return createKafkaError("Failed to seek the consumer to the beginning: " + e.getMessage(),
+                                        CONSUMER_ERROR);
+            }
+            return null;
+        });
     }
 
     /**
@@ -101,12 +110,15 @@ public class Seek {
         KafkaTracingUtil.traceResourceInvocation(environment, consumerObject);
         KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
         ArrayList<TopicPartition> partitionList = getTopicPartitionList(topicPartitions, logger);
-        try {
-            kafkaConsumer.seekToEnd(partitionList);
-        } catch (IllegalStateException | IllegalArgumentException | KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_SEEK_END);
-            return createKafkaError("Failed to seek the consumer to the end: " + e.getMessage(), CONSUMER_ERROR);
-        }
-        return null;
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                KafkaConsumerPrefetcher.rewind(consumerObject);
+                kafkaConsumer.seekToEnd(partitionList);
+            } catch (IllegalStateException | IllegalArgumentException | KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_SEEK_END);
+                return createKafkaError("Failed to seek the consumer to the end: " + e.getMessage(), CONSUMER_ERROR);
+            }
+            return null;
+        });
     }
 }
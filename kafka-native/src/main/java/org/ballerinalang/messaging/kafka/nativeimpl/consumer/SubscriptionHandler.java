@@ -19,7 +19,6 @@
 package org.ballerinalang.messaging.kafka.nativeimpl.consumer;
 
 import io.ballerina.runtime.api.Environment;
-import io.ballerina.runtime.api.Future;
 import io.ballerina.runtime.api.Runtime;
 import io.ballerina.runtime.api.async.StrandMetadata;
 import io.ballerina.runtime.api.creators.TypeCreator;
@@ -33,6 +32,8 @@ import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.TopicPartition;
+import org.ballerinalang.messaging.kafka.impl.KafkaConsumerCommandQueue;
+import org.ballerinalang.messaging.kafka.impl.KafkaConsumerPrefetcher;
 import org.ballerinalang.messaging.kafka.observability.KafkaMetricsUtil;
 import org.ballerinalang.messaging.kafka.observability.KafkaObservabilityConstants;
 import org.ballerinalang.messaging.kafka.observability.KafkaTracingUtil;
@@ -72,16 +73,22 @@ public class SubscriptionHandler {
         KafkaTracingUtil.traceResourceInvocation(environment, consumerObject);
         KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
         List<String> topicsList = getStringListFromStringBArray(topics);
-        try {
-            kafkaConsumer.subscribe(topicsList);
-            Set<String> subscribedTopics = kafkaConsumer.subscription();
-            KafkaMetricsUtil.reportBulkSubscription(consumerObject, subscribedTopics);
-        } catch (IllegalArgumentException | IllegalStateException | KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_SUBSCRIBE);
-            return createKafkaError("Failed to subscribe to the provided topics: " + e.getMessage(), CONSUMER_ERROR);
-        }
-        console.println(KafkaConstants.SUBSCRIBED_TOPICS + getTopicNamesString(topicsList));
-        return null;
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                // The buffered records of the current subscription are not returned once the subscription changes.
+                KafkaConsumerPrefetcher.rewind(consumerObject);
+                kafkaConsumer.subscribe(topicsList, KafkaConsumerPrefetcher.wrapRebalanceListener(consumerObject,
+                                                                                                  null));
+                Set<String> subscribedTopics = kafkaConsumer.subscription();
+                KafkaMetricsUtil.reportBulkSubscription(consumerObject, subscribedTopics);
+            } catch (IllegalArgumentException | IllegalStateException | KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_SUBSCRIBE);
+                return createKafkaError("Failed to subscribe to the provided topics: " + e.getMessage(),
+                                        CONSUMER_ERROR);
+            }
+            console.println(KafkaConstants.SUBSCRIBED_TOPICS + getTopicNamesString(topicsList));
+            return null;
+        });
     }
 
     /**
@@ -94,17 +101,21 @@ public class SubscriptionHandler {
     public static Object subscribeToPattern(Environment environment, BObject consumerObject, BString topicRegex) {
         KafkaTracingUtil.traceResourceInvocation(environment, consumerObject);
         KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
-        try {
-            kafkaConsumer.subscribe(Pattern.compile(topicRegex.getValue()));
-            // TODO: This sometimes not updating since Kafka not updates the subscription tight away
-            Set<String> topicsList = kafkaConsumer.subscription();
-            KafkaMetricsUtil.reportBulkSubscription(consumerObject, topicsList);
-        } catch (IllegalArgumentException | IllegalStateException | KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject,
-                                                 KafkaObservabilityConstants.ERROR_TYPE_SUBSCRIBE_PATTERN);
-            return createKafkaError("Failed to subscribe to the topics: " + e.getMessage(), CONSUMER_ERROR);
-        }
-        return null;
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                KafkaConsumerPrefetcher.rewind(consumerObject);
+                kafkaConsumer.subscribe(Pattern.compile(topicRegex.getValue()),
+                                        KafkaConsumerPrefetcher.wrapRebalanceListener(consumerObject, null));
+                // TODO: This sometimes not updating since Kafka not updates the subscription tight away
+                Set<String> topicsList = kafkaConsumer.subscription();
+                KafkaMetricsUtil.reportBulkSubscription(consumerObject, topicsList);
+            } catch (IllegalArgumentException | IllegalStateException | KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject,
+                                                     KafkaObservabilityConstants.ERROR_TYPE_SUBSCRIBE_PATTERN);
+                return createKafkaError("Failed to subscribe to the topics: " + e.getMessage(), CONSUMER_ERROR);
+            }
+            return null;
+        });
     }
 
     /**
@@ -118,23 +129,24 @@ public class SubscriptionHandler {
                                                          BFunctionPointer onPartitionsRevoked,
                                                          BFunctionPointer onPartitionsAssigned) {
         KafkaTracingUtil.traceResourceInvocation(env, consumerObject);
-        Future balFuture = env.markAsync();
         KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
         List<String> topicsList = getStringListFromStringBArray(topics);
         ConsumerRebalanceListener consumer = new SubscriptionHandler.KafkaRebalanceListener(env,
                                                                                             consumerObject);
-        try {
-            kafkaConsumer.subscribe(topicsList, consumer);
-            Set<String> subscribedTopics = kafkaConsumer.subscription();
-            KafkaMetricsUtil.reportBulkSubscription(consumerObject, subscribedTopics);
-            balFuture.complete(null);
-        } catch (IllegalArgumentException | IllegalStateException | KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject,
-                                                 KafkaObservabilityConstants.ERROR_TYPE_SUBSCRIBE_PARTITION_REBALANCE);
-            balFuture.complete(createKafkaError("Failed to subscribe the consumer: " + e.getMessage(),
-                                                    CONSUMER_ERROR));
-        }
-        return null;
+        return KafkaConsumerCommandQueue.execute(env, kafkaConsumer, () -> {
+            try {
+                KafkaConsumerPrefetcher.rewind(consumerObject);
+                kafkaConsumer.subscribe(topicsList, KafkaConsumerPrefetcher.wrapRebalanceListener(consumerObject,
+                                                                                                  consumer));
+                Set<String> subscribedTopics = kafkaConsumer.subscription();
+                KafkaMetricsUtil.reportBulkSubscription(consumerObject, subscribedTopics);
+            } catch (IllegalArgumentException | IllegalStateException | KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(
+                        consumerObject, KafkaObservabilityConstants.ERROR_TYPE_SUBSCRIBE_PARTITION_REBALANCE);
+                return createKafkaError("Failed to subscribe the consumer: " + e.getMessage(), CONSUMER_ERROR);
+            }
+            return null;
+        });
     }
 
     /**
@@ -146,15 +158,19 @@ public class SubscriptionHandler {
     public static Object unsubscribe(Environment environment, BObject consumerObject) {
         KafkaTracingUtil.traceResourceInvocation(environment, consumerObject);
         KafkaConsumer kafkaConsumer = (KafkaConsumer) consumerObject.getNativeData(NATIVE_CONSUMER);
-        try {
-            Set<String> topics = kafkaConsumer.subscription();
-            kafkaConsumer.unsubscribe();
-            KafkaMetricsUtil.reportBulkUnsubscription(consumerObject, topics);
-        } catch (KafkaException e) {
-            KafkaMetricsUtil.reportConsumerError(consumerObject, KafkaObservabilityConstants.ERROR_TYPE_UNSUBSCRIBE);
-            return createKafkaError("Failed to unsubscribe the consumer: " + e.getMessage(), CONSUMER_ERROR);
-        }
-        return null;
+        return KafkaConsumerCommandQueue.execute(environment, kafkaConsumer, () -> {
+            try {
+                Set<String> topics = kafkaConsumer.subscription();
+                KafkaConsumerPrefetcher.rewind(consumerObject);
+                kafkaConsumer.unsubscribe();
+                KafkaMetricsUtil.reportBulkUnsubscription(consumerObject, topics);
+            } catch (KafkaException e) {
+                KafkaMetricsUtil.reportConsumerError(consumerObject,
+                                                     KafkaObservabilityConstants.ERROR_TYPE_UNSUBSCRIBE);
+                return createKafkaError("Failed to unsubscribe the consumer: " + e.getMessage(), CONSUMER_ERROR);
+            }
+            return null;
+        });
     }
 
     /**
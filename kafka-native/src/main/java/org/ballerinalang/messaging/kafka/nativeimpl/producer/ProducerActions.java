@@ -22,6 +22,7 @@ import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
@@ -34,9 +35,11 @@ import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
 import org.ballerinalang.messaging.kafka.impl.KafkaTransactionContext;
+import org.ballerinalang.messaging.kafka.observability.KafkaClientMetricsBridge;
 import org.ballerinalang.messaging.kafka.observability.KafkaMetricsUtil;
 import org.ballerinalang.messaging.kafka.observability.KafkaObservabilityConstants;
 import org.ballerinalang.messaging.kafka.observability.KafkaTracingUtil;
+import org.ballerinalang.messaging.kafka.utils.ProducerRecordEncoder;
 
 import java.util.HashMap;
 import java.util.List;
@@ -45,15 +48,22 @@ import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_PARTITION_LEVEL_METRICS;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.CONSUMER_CONFIG_FIELD_NAME;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.CONSUMER_GROUP_ID_CONFIG;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.KEY_SERIALIZER_TYPE_FIELD_NAME;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_CONSUMER;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_PARTITION_LEVEL_METRICS;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_PRODUCER;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_RECORD_ENCODER;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_TRACING_SAMPLER;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.PRODUCER_CONFIG_FIELD_NAME;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.PRODUCER_ERROR;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.TRANSACTION_CONTEXT;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.VALUE_SERIALIZER_TYPE_FIELD_NAME;
 import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.createKafkaError;
 import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.createKafkaProducer;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.createTracingSampler;
 import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getPartitionToMetadataMap;
 import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getTopicPartitionRecord;
 import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.populateTopicPartitionRecord;
@@ -75,6 +85,17 @@ public class ProducerActions {
     public static Object init(BObject producerObject) {
         BMap<BString, Object> configs = producerObject.getMapValue(PRODUCER_CONFIG_FIELD_NAME);
         Properties producerProperties = processKafkaProducerConfig(configs);
+        try {
+            String keySerializerType = producerObject.getStringValue(KEY_SERIALIZER_TYPE_FIELD_NAME).getValue();
+            String valueSerializerType = producerObject.getStringValue(VALUE_SERIALIZER_TYPE_FIELD_NAME).getValue();
+            producerObject.addNativeData(NATIVE_RECORD_ENCODER,
+                                         new ProducerRecordEncoder(keySerializerType, valueSerializerType));
+            producerObject.addNativeData(NATIVE_PARTITION_LEVEL_METRICS,
+                                         configs.getBooleanValue(ALIAS_PARTITION_LEVEL_METRICS));
+            producerObject.addNativeData(NATIVE_TRACING_SAMPLER, createTracingSampler(configs, PRODUCER_ERROR));
+        } catch (BError e) {
+            return e;
+        }
         try {
             if (Objects.nonNull(
                     producerProperties.get(ProducerConfig.TRANSACTIONAL_ID_CONFIG))) {
@@ -88,6 +109,9 @@ public class ProducerActions {
             } else {
                 createKafkaProducer(producerProperties, producerObject);
             }
+            KafkaProducer kafkaProducer = (KafkaProducer) producerObject.getNativeData(NATIVE_PRODUCER);
+            KafkaClientMetricsBridge.start(producerObject, KafkaObservabilityConstants.CONTEXT_PRODUCER,
+                                           kafkaProducer.metrics(), configs);
         } catch (IllegalStateException | KafkaException e) {
             KafkaMetricsUtil.reportProducerError(producerObject,
                                                  KafkaObservabilityConstants.ERROR_TYPE_CONNECTION);
@@ -105,6 +129,7 @@ public class ProducerActions {
     public static Object close(Environment environment, BObject producerObject) {
         KafkaTracingUtil.traceResourceInvocation(environment, producerObject);
         KafkaProducer kafkaProducer = (KafkaProducer) producerObject.getNativeData(NATIVE_PRODUCER);
+        KafkaClientMetricsBridge.stop(producerObject);
         try {
             kafkaProducer.close();
             KafkaMetricsUtil.reportProducerClose(producerObject);
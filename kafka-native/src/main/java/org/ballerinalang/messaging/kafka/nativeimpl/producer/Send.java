@@ -20,18 +20,25 @@ package org.ballerinalang.messaging.kafka.nativeimpl.producer;
 
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.Future;
+import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.observability.ObserverContext;
 import io.ballerina.runtime.transactions.TransactionResourceManager;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.KafkaException;
 import org.ballerinalang.messaging.kafka.observability.KafkaMetricsUtil;
 import org.ballerinalang.messaging.kafka.observability.KafkaObservabilityConstants;
+import org.ballerinalang.messaging.kafka.observability.KafkaSendEvent;
 import org.ballerinalang.messaging.kafka.observability.KafkaTracingUtil;
+import org.ballerinalang.messaging.kafka.utils.ProducerRecordEncoder;
 
 import java.util.Objects;
 
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_PRODUCER;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_RECORD_ENCODER;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.PRODUCER_ERROR;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.UNCHECKED;
 import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.createKafkaError;
@@ -42,27 +49,62 @@ import static org.ballerinalang.messaging.kafka.utils.TransactionUtils.handleTra
  */
 public class Send {
 
+    /**
+     * Sends a record to the Kafka broker using the key and value encoders resolved when the producer is initialized.
+     *
+     * @param producerObject Kafka producer object from ballerina.
+     * @param producerRecord Ballerina {@code ProducerRecord} to be sent.
+     * @return {@code BError}, if there's any error, null otherwise.
+     */
+    public static Object send(Environment env, BObject producerObject, BMap<BString, Object> producerRecord) {
+        ProducerRecordEncoder recordEncoder =
+                (ProducerRecordEncoder) producerObject.getNativeData(NATIVE_RECORD_ENCODER);
+        return sendKafkaRecord(env, recordEncoder.encode(producerRecord), producerObject);
+    }
+
     @SuppressWarnings(UNCHECKED)
-    protected static Object sendKafkaRecord(Environment env, ProducerRecord record, BObject producerObject) {
-        KafkaTracingUtil.traceResourceInvocation(env, producerObject, record.topic());
+    private static Object sendKafkaRecord(Environment env, ProducerRecord record, BObject producerObject) {
+        ObserverContext observerContext = KafkaTracingUtil.traceResourceInvocation(env, producerObject,
+                                                                                  record.topic());
+        if (Objects.nonNull(observerContext)) {
+            KafkaTracingUtil.injectTraceContext(observerContext, record.headers());
+        }
+        // A failed send is reported from the I/O thread of the producer, where the frame of the strand is not
+        // accessible, hence the observer context is retrieved here, even if the send is not sampled.
+        ObserverContext errorContext = Objects.nonNull(observerContext) ? observerContext
+                : KafkaTracingUtil.getObserverContext(env);
         final Future balFuture = env.markAsync();
         KafkaProducer producer = (KafkaProducer) producerObject.getNativeData(NATIVE_PRODUCER);
+        long startTime = System.nanoTime();
+        KafkaSendEvent sendEvent = KafkaSendEvent.beginIfEnabled();
         try {
             if (TransactionResourceManager.getInstance().isInTransaction()) {
                 handleTransactions(producerObject);
             }
             producer.send(record, (metadata, e) -> {
+                if (Objects.nonNull(sendEvent)) {
+                    completeSendEvent(sendEvent, record, metadata, Objects.isNull(e));
+                }
                 if (Objects.nonNull(e)) {
+                    KafkaTracingUtil.traceError(errorContext, producerObject, record.topic(),
+                                                KafkaObservabilityConstants.ERROR_TYPE_PUBLISH);
                     KafkaMetricsUtil.reportProducerError(producerObject,
                                                          KafkaObservabilityConstants.ERROR_TYPE_PUBLISH);
                     balFuture.complete(createKafkaError("Failed to send data to Kafka server: " + e.getMessage(),
                                                               PRODUCER_ERROR));
                 } else {
-                    KafkaMetricsUtil.reportPublish(producerObject, record.topic(), record.value());
+                    KafkaMetricsUtil.reportPublish(producerObject, record, metadata);
+                    KafkaMetricsUtil.reportPublishLatency(producerObject, metadata.topic(), metadata.partition(),
+                                                          startTime);
                     balFuture.complete(null);
                 }
             });
         } catch (IllegalStateException | KafkaException e) {
+            if (Objects.nonNull(sendEvent)) {
+                completeSendEvent(sendEvent, record, null, false);
+            }
+            KafkaTracingUtil.traceError(errorContext, producerObject, record.topic(),
+                                        KafkaObservabilityConstants.ERROR_TYPE_PUBLISH);
             KafkaMetricsUtil.reportProducerError(producerObject, KafkaObservabilityConstants.ERROR_TYPE_PUBLISH);
             balFuture.complete(createKafkaError("Failed to send data to Kafka server: " + e.getMessage(),
                                                       PRODUCER_ERROR));
@@ -70,4 +112,14 @@ public class Send {
         }
         return null;
     }
+
+    private static void completeSendEvent(KafkaSendEvent sendEvent, ProducerRecord record, RecordMetadata metadata,
+                                          boolean successful) {
+        if (Objects.isNull(metadata)) {
+            sendEvent.complete(record.topic(), RecordMetadata.UNKNOWN_PARTITION, 0, successful);
+            return;
+        }
+        long bytes = Math.max(metadata.serializedKeySize(), 0) + Math.max(metadata.serializedValueSize(), 0);
+        sendEvent.complete(metadata.topic(), metadata.partition(), bytes, successful);
+    }
 }
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.messaging.kafka.observability;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.observability.ObserveUtils;
+import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
+import io.ballerina.runtime.observability.metrics.Gauge;
+import io.ballerina.runtime.observability.metrics.MetricId;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.ballerinalang.messaging.kafka.utils.KafkaConstants;
+import org.ballerinalang.messaging.kafka.utils.KafkaUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically samples the internal metrics of a Kafka producer or a consumer into Ballerina gauges. The metrics of
+ * the additional consumers of a listener are sampled along with the metrics of the listener, tagged with the ID of
+ * the consumer.
+ */
+public class KafkaClientMetricsBridge {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaClientMetricsBridge.class);
+
+    private static final String CLIENT_METRIC_PREFIX = KafkaObservabilityConstants.CONNECTOR_NAME + "_client_";
+    private static final String KAFKA_CLIENT_ID_TAG = "client-id";
+    private static final String TAG_GROUP = "group";
+    private static final String TAG_CONSUMER_ID = "consumer_id";
+    private static final long DEFAULT_SAMPLING_INTERVAL = 10000;
+    private static final Set<String> DEFAULT_CLIENT_METRICS = new HashSet<>(Arrays.asList(
+            "record-queue-time-avg", "record-queue-time-max", "batch-size-avg", "request-latency-avg",
+            "record-send-rate", "record-error-rate", "fetch-latency-avg", "fetch-latency-max", "fetch-size-avg",
+            "records-lag-max", "records-consumed-rate", "commit-latency-avg", "io-wait-ratio"));
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kafka-client-metrics-bridge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final MetricRegistry metricRegistry = DefaultMetricRegistry.getInstance();
+    private final List<BridgedClient> clients = new CopyOnWriteArrayList<>();
+    private final Set<String> allowedMetrics;
+    private final String context;
+    private final String clientId;
+    private final String url;
+    private ScheduledFuture<?> samplingTask;
+
+    private KafkaClientMetricsBridge(Map<MetricName, ? extends Metric> clientMetrics, Set<String> allowedMetrics,
+                                     String context, String clientId, String url) {
+        this.clients.add(new BridgedClient(clientMetrics, null));
+        this.allowedMetrics = allowedMetrics;
+        this.context = context;
+        this.clientId = clientId;
+        this.url = url;
+    }
+
+    /**
+     * Starts sampling the metrics of a Kafka client. The map returned from {@code metrics()} of the Kafka clients is a
+     * live view of the client metrics, so it is retrieved once here, and then read from the sampling thread without
+     * accessing the client, which is not thread-safe in the case of a consumer.
+     *
+     * @param clientObject  Kafka producer or consumer object from Ballerina.
+     * @param context       Context of the client, either producer or consumer.
+     * @param clientMetrics Metrics returned from the Kafka client.
+     * @param configs       Configurations of the client.
+     */
+    public static void start(BObject clientObject, String context, Map<MetricName, ? extends Metric> clientMetrics,
+                             BMap<BString, Object> configs) {
+        if (!ObserveUtils.isMetricsEnabled()) {
+            return;
+        }
+        Set<String> allowedMetrics = DEFAULT_CLIENT_METRICS;
+        BArray metricNames = (BArray) configs.get(KafkaConstants.ALIAS_CLIENT_METRICS);
+        if (Objects.nonNull(metricNames)) {
+            allowedMetrics = new HashSet<>(Arrays.asList(metricNames.getStringArray()));
+        }
+        if (allowedMetrics.isEmpty()) {
+            return;
+        }
+        long samplingInterval = DEFAULT_SAMPLING_INTERVAL;
+        Long configuredInterval = (Long) configs.get(KafkaConstants.ALIAS_CLIENT_METRICS_INTERVAL);
+        if (Objects.nonNull(configuredInterval) && configuredInterval > 0) {
+            samplingInterval = configuredInterval;
+        }
+        KafkaClientMetricsBridge bridge = new KafkaClientMetricsBridge(clientMetrics, allowedMetrics, context,
+                                                                       KafkaUtils.getClientId(clientObject),
+                                                                       KafkaUtils.getBootstrapServers(clientObject));
+        bridge.samplingTask = scheduler.scheduleAtFixedRate(bridge::sample, 0, samplingInterval,
+                                                            TimeUnit.MILLISECONDS);
+        clientObject.addNativeData(KafkaConstants.NATIVE_CLIENT_METRICS_BRIDGE, bridge);
+    }
+
+    /**
+     * Stops sampling the metrics of a Kafka client and removes the gauges of the client from the registry.
+     *
+     * @param clientObject Kafka producer or consumer object from Ballerina.
+     */
+    public static void stop(BObject clientObject) {
+        KafkaClientMetricsBridge bridge =
+                (KafkaClientMetricsBridge) clientObject.getNativeData(KafkaConstants.NATIVE_CLIENT_METRICS_BRIDGE);
+        if (Objects.isNull(bridge)) {
+            return;
+        }
+        clientObject.addNativeData(KafkaConstants.NATIVE_CLIENT_METRICS_BRIDGE, null);
+        bridge.samplingTask.cancel(false);
+        bridge.close();
+    }
+
+    /**
+     * Adds the metrics of an additional consumer of a listener to the metrics sampled for the listener. This has no
+     * effect if the metrics of the listener are not sampled.
+     *
+     * @param clientObject  Kafka listener object from Ballerina.
+     * @param consumerId    ID of the consumer within the listener.
+     * @param clientMetrics Metrics returned from the Kafka consumer.
+     */
+    public static void addClient(BObject clientObject, int consumerId,
+                                 Map<MetricName, ? extends Metric> clientMetrics) {
+        KafkaClientMetricsBridge bridge =
+                (KafkaClientMetricsBridge) clientObject.getNativeData(KafkaConstants.NATIVE_CLIENT_METRICS_BRIDGE);
+        if (Objects.nonNull(bridge)) {
+            bridge.clients.add(new BridgedClient(clientMetrics, String.valueOf(consumerId)));
+        }
+    }
+
+    /**
+     * Stops sampling the metrics of an additional consumer of a listener and removes its gauges from the registry.
+     *
+     * @param clientObject  Kafka listener object from Ballerina.
+     * @param clientMetrics Metrics returned from the Kafka consumer.
+     */
+    public static void removeClient(BObject clientObject, Map<MetricName, ? extends Metric> clientMetrics) {
+        KafkaClientMetricsBridge bridge =
+                (KafkaClientMetricsBridge) clientObject.getNativeData(KafkaConstants.NATIVE_CLIENT_METRICS_BRIDGE);
+        if (Objects.nonNull(bridge)) {
+            bridge.remove(clientMetrics);
+        }
+    }
+
+    // The gauges are only created and removed while holding the lock, so that a sample in progress does not register
+    // the gauges of a client again after they are removed.
+    private synchronized void sample() {
+        for (BridgedClient client : clients) {
+            try {
+                sample(client);
+            } catch (RuntimeException e) {
+                // Sampling should never stop because of a single failure, as the next sample may succeed.
+                logger.debug("Failed to sample the Kafka client metrics of client " + clientId, e);
+            }
+        }
+    }
+
+    private void sample(BridgedClient client) {
+        Set<MetricName> sampledMetrics = new HashSet<>();
+        for (Map.Entry<MetricName, ? extends Metric> entry : client.metrics.entrySet()) {
+            MetricName metricName = entry.getKey();
+            if (!allowedMetrics.contains(metricName.name())) {
+                continue;
+            }
+            Object value = entry.getValue().metricValue();
+            if (!(value instanceof Number)) {
+                continue;
+            }
+            double doubleValue = ((Number) value).doubleValue();
+            if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+                continue;
+            }
+            sampledMetrics.add(metricName);
+            client.gauges.computeIfAbsent(metricName, name -> createGauge(name, client.consumerId))
+                    .setValue(doubleValue);
+        }
+        // Metrics of partitions or nodes which are no longer used by the client are removed by the client, hence
+        // their gauges are removed as well, instead of reporting the last sampled value.
+        client.gauges.entrySet().removeIf(gauge -> {
+            if (sampledMetrics.contains(gauge.getKey())) {
+                return false;
+            }
+            metricRegistry.unregister(gauge.getValue());
+            return true;
+        });
+    }
+
+    private synchronized void remove(Map<MetricName, ? extends Metric> clientMetrics) {
+        for (BridgedClient client : clients) {
+            if (client.metrics == clientMetrics) {
+                clients.remove(client);
+                unregisterGauges(client);
+            }
+        }
+    }
+
+    private synchronized void close() {
+        for (BridgedClient client : clients) {
+            unregisterGauges(client);
+        }
+        clients.clear();
+    }
+
+    private void unregisterGauges(BridgedClient client) {
+        for (Gauge gauge : client.gauges.values()) {
+            metricRegistry.unregister(gauge);
+        }
+        client.gauges.clear();
+    }
+
+    private Gauge createGauge(MetricName metricName, String consumerId) {
+        KafkaObserverContext observerContext = new KafkaObserverContext(context, clientId, url);
+        observerContext.addTag(TAG_GROUP, metricName.group());
+        if (Objects.nonNull(consumerId)) {
+            observerContext.addTag(TAG_CONSUMER_ID, consumerId);
+        }
+        for (Map.Entry<String, String> tag : metricName.tags().entrySet()) {
+            if (!KAFKA_CLIENT_ID_TAG.equals(tag.getKey())) {
+                observerContext.addTag(tag.getKey().replace('-', '_'), tag.getValue());
+            }
+        }
+        String name = CLIENT_METRIC_PREFIX + metricName.name().replace('-', '_');
+        return metricRegistry.gauge(new MetricId(name, metricName.description(), observerContext.getAllTags()));
+    }
+
+    /**
+     * Metrics of a Kafka client and the gauges created for them.
+     */
+    private static class BridgedClient {
+
+        private final Map<MetricName, ? extends Metric> metrics;
+        private final String consumerId;
+        private final Map<MetricName, Gauge> gauges = new ConcurrentHashMap<>();
+
+        private BridgedClient(Map<MetricName, ? extends Metric> metrics, String consumerId) {
+            this.metrics = metrics;
+            this.consumerId = consumerId;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.messaging.kafka.observability;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+
+/**
+ * Java Flight Recorder event for a batch of records dispatched to a service, from the resource invocation until the
+ * resource completes.
+ */
+@Name("ballerina.kafka.Dispatch")
+@Label("Kafka Dispatch")
+@Description("Execution of the onConsumerRecord resource for a batch of Kafka records")
+public class KafkaDispatchEvent extends KafkaEvent {
+
+    @Label("Successful")
+    boolean successful;
+
+    /**
+     * Creates and begins a dispatch event, if the event is enabled. As the event is completed from another thread,
+     * it is only created when it is going to be recorded.
+     *
+     * @return the dispatch event, or null if the event is not enabled
+     */
+    public static KafkaDispatchEvent beginIfEnabled() {
+        KafkaDispatchEvent event = new KafkaDispatchEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it to the recording.
+     *
+     * @param records    Records dispatched to the service.
+     * @param successful Whether the resource completed successfully.
+     */
+    public void complete(ConsumerRecords<?, ?> records, boolean successful) {
+        end();
+        if (shouldCommit()) {
+            setRecords(records);
+            this.successful = successful;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.messaging.kafka.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Base of the Java Flight Recorder events emitted by the Kafka connector. The duration of an event is recorded by the
+ * flight recorder, and the fields are only populated when the event is going to be committed to the recording.
+ */
+@Category({"Ballerina", "Kafka"})
+@StackTrace(false)
+public abstract class KafkaEvent extends Event {
+
+    @Label("Topic")
+    String topic;
+
+    @Label("Partition")
+    int partition = -1;
+
+    @Label("Record Count")
+    int recordCount;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    void setRecords(ConsumerRecords<?, ?> records) {
+        setPartitions(records.partitions());
+        this.recordCount = records.count();
+        long size = 0;
+        for (ConsumerRecord<?, ?> record : records) {
+            size += Math.max(record.serializedKeySize(), 0) + Math.max(record.serializedValueSize(), 0);
+        }
+        this.bytes = size;
+    }
+
+    void setPartitions(Collection<TopicPartition> partitions) {
+        if (partitions.size() == 1) {
+            TopicPartition topicPartition = partitions.iterator().next();
+            this.topic = topicPartition.topic();
+            this.partition = topicPartition.partition();
+            return;
+        }
+        // A batch of records may span multiple partitions, hence all the topics are recorded and the partition is
+        // left undefined.
+        Set<String> topics = new TreeSet<>();
+        for (TopicPartition topicPartition : partitions) {
+            topics.add(topicPartition.topic());
+        }
+        StringBuilder topicNames = new StringBuilder();
+        Iterator<String> iterator = topics.iterator();
+        while (iterator.hasNext()) {
+            topicNames.append(iterator.next());
+            if (iterator.hasNext()) {
+                topicNames.append(", ");
+            }
+        }
+        this.topic = topicNames.toString();
+    }
+}
@@ -20,19 +20,30 @@ package org.ballerinalang.messaging.kafka.observability;
 
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.observability.ObserveUtils;
+import io.ballerina.runtime.observability.metrics.Counter;
 import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
+import io.ballerina.runtime.observability.metrics.Gauge;
 import io.ballerina.runtime.observability.metrics.MetricId;
 import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import io.ballerina.runtime.observability.metrics.StatisticConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.utils.Utils;
 import org.ballerinalang.messaging.kafka.utils.KafkaUtils;
-import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectOutputStream;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Providing metrics functionality to the Kafka connector.
@@ -42,6 +53,25 @@ import java.util.Set;
 public class KafkaMetricsUtil {
 
     private static final MetricRegistry metricRegistry = DefaultMetricRegistry.getInstance();
+    // Metric handles are cached, since building the tag set and looking up the registry is costly on the hot path.
+    private static final Map<MetricHandleKey, Counter> counters = new ConcurrentHashMap<>();
+    private static final Map<MetricHandleKey, Gauge> gauges = new ConcurrentHashMap<>();
+    // Latencies are summarized over rolling windows with a fixed number of buckets, so that recording a value takes
+    // a constant amount of memory.
+    private static final StatisticConfig[] latencyStatisticConfigs = new StatisticConfig[]{
+            StatisticConfig.builder()
+                    .expiry(Duration.ofSeconds(10))
+                    .percentiles(StatisticConfig.DEFAULT.getPercentiles())
+                    .build(),
+            StatisticConfig.builder()
+                    .expiry(Duration.ofMinutes(1))
+                    .percentiles(StatisticConfig.DEFAULT.getPercentiles())
+                    .build(),
+            StatisticConfig.builder()
+                    .expiry(Duration.ofMinutes(5))
+                    .percentiles(StatisticConfig.DEFAULT.getPercentiles())
+                    .build()
+    };
 
     /**
      * Reports a new producer connection.
@@ -52,11 +82,10 @@ public class KafkaMetricsUtil {
         if (!ObserveUtils.isMetricsEnabled()) {
             return;
         }
-        KafkaObserverContext observerContext = new KafkaObserverContext(KafkaObservabilityConstants.CONTEXT_PRODUCER,
-                                                                        KafkaUtils.getClientId(producerObject),
-                                                                        KafkaUtils.getBootstrapServers(producerObject));
-        incrementGauge(observerContext, KafkaObservabilityConstants.METRIC_PUBLISHERS[0],
-                       KafkaObservabilityConstants.METRIC_PUBLISHERS[1]);
+        MetricKey key = new MetricKey(KafkaObservabilityConstants.CONTEXT_PRODUCER,
+                                      KafkaUtils.getClientId(producerObject),
+                                      KafkaUtils.getBootstrapServers(producerObject));
+        incrementGauge(key, KafkaObservabilityConstants.METRIC_PUBLISHERS);
     }
 
     /**
@@ -68,11 +97,10 @@ public class KafkaMetricsUtil {
         if (!ObserveUtils.isMetricsEnabled()) {
             return;
         }
-        KafkaObserverContext observerContext = new KafkaObserverContext(KafkaObservabilityConstants.CONTEXT_CONSUMER,
-                                                                        KafkaUtils.getClientId(consumerObject),
-                                                                        KafkaUtils.getBootstrapServers(consumerObject));
-        incrementGauge(observerContext, KafkaObservabilityConstants.METRIC_CONSUMERS[0],
-                       KafkaObservabilityConstants.METRIC_CONSUMERS[1]);
+        MetricKey key = new MetricKey(KafkaObservabilityConstants.CONTEXT_CONSUMER,
+                                      KafkaUtils.getClientId(consumerObject),
+                                      KafkaUtils.getBootstrapServers(consumerObject));
+        incrementGauge(key, KafkaObservabilityConstants.METRIC_CONSUMERS);
     }
 
     /**
@@ -84,11 +112,10 @@ public class KafkaMetricsUtil {
         if (!ObserveUtils.isMetricsEnabled()) {
             return;
         }
-        KafkaObserverContext observerContext = new KafkaObserverContext(KafkaObservabilityConstants.CONTEXT_PRODUCER,
-                                                                        KafkaUtils.getClientId(producerObject),
-                                                                        KafkaUtils.getBootstrapServers(producerObject));
-        decrementGauge(observerContext, KafkaObservabilityConstants.METRIC_PUBLISHERS[0],
-                       KafkaObservabilityConstants.METRIC_PUBLISHERS[1]);
+        MetricKey key = new MetricKey(KafkaObservabilityConstants.CONTEXT_PRODUCER,
+                                      KafkaUtils.getClientId(producerObject),
+                                      KafkaUtils.getBootstrapServers(producerObject));
+        decrementGauge(key, KafkaObservabilityConstants.METRIC_PUBLISHERS);
     }
 
     /**
@@ -100,53 +127,35 @@ public class KafkaMetricsUtil {
         if (!ObserveUtils.isMetricsEnabled()) {
             return;
         }
-        KafkaObserverContext observerContext = new KafkaObserverContext(KafkaObservabilityConstants.CONTEXT_CONSUMER,
-                                                                        KafkaUtils.getClientId(consumerObject),
-                                                                        KafkaUtils.getBootstrapServers(consumerObject));
-        decrementGauge(observerContext, KafkaObservabilityConstants.METRIC_CONSUMERS[0],
-                       KafkaObservabilityConstants.METRIC_CONSUMERS[1]);
+        MetricKey key = new MetricKey(KafkaObservabilityConstants.CONTEXT_CONSUMER,
+                                      KafkaUtils.getClientId(consumerObject),
+                                      KafkaUtils.getBootstrapServers(consumerObject));
+        decrementGauge(key, KafkaObservabilityConstants.METRIC_CONSUMERS);
     }
 
     /**
-     * Reports a message being published by a Kafka producer.
+     * Reports a message being published by a Kafka producer. The sizes are taken from the record metadata returned by
+     * the broker, so that the message does not need to be serialized again to find its size.
      *
      * @param producerObject producer object.
-     * @param topic          Subject the message is published to.
-     * @param value          Message object.
+     * @param record         Record that is published.
+     * @param metadata       Metadata of the published record.
      */
-    public static void reportPublish(BObject producerObject, String topic, Object value) {
+    public static void reportPublish(BObject producerObject, ProducerRecord<?, ?> record, RecordMetadata metadata) {
         if (!ObserveUtils.isMetricsEnabled()) {
             return;
         }
-        KafkaObserverContext observerContext = new KafkaObserverContext(KafkaObservabilityConstants.CONTEXT_PRODUCER,
-                                                                        KafkaUtils.getClientId(producerObject),
-                                                                        KafkaUtils.getBootstrapServers(producerObject),
-                                                                        topic);
-        int size = getMessageSize(value);
-        reportPublish(observerContext, size);
-    }
-
-    private static int getMessageSize(Object message) {
-        int size = 0;
-        if (message instanceof String) {
-            byte[] bytes = ((String) message).getBytes(StandardCharsets.UTF_8);
-            size = bytes.length;
-        } else if (message instanceof Long || message instanceof Double) {
-            size = Double.BYTES;
-        } else if (message instanceof byte[]) {
-            size = ((byte[]) message).length;
-        } else {
-            try (ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
-                ObjectOutputStream oos = new ObjectOutputStream(bos);
-                oos.writeObject(message);
-                oos.flush();
-                byte[] data = bos.toByteArray();
-                size = data.length;
-            } catch (IOException e) {
-                LoggerFactory.getLogger(KafkaMetricsUtil.class).error(e.getMessage());
-            }
-        }
-        return size;
+        MetricKey key = new MetricKey(KafkaObservabilityConstants.CONTEXT_PRODUCER,
+                                      KafkaUtils.getClientId(producerObject),
+                                      KafkaUtils.getBootstrapServers(producerObject),
+                                      record.topic());
+        incrementCounter(key, KafkaObservabilityConstants.METRIC_PUBLISHED);
+        incrementCounter(key, KafkaObservabilityConstants.METRIC_PUBLISHED_SIZE,
+                         Math.max(metadata.serializedValueSize(), 0));
+        incrementCounter(key, KafkaObservabilityConstants.METRIC_PUBLISHED_KEY_SIZE,
+                         Math.max(metadata.serializedKeySize(), 0));
+        incrementCounter(key, KafkaObservabilityConstants.METRIC_PUBLISHED_HEADER_SIZE,
+                         getHeadersSize(record.headers()));
     }
 
     /**
@@ -174,12 +183,11 @@ public class KafkaMetricsUtil {
         if (!ObserveUtils.isMetricsEnabled()) {
             return;
         }
-        KafkaObserverContext observerContext = new KafkaObserverContext(KafkaObservabilityConstants.CONTEXT_CONSUMER,
-                                                                        KafkaUtils.getClientId(consumerObject),
-                                                                        KafkaUtils.getBootstrapServers(consumerObject),
-                                                                        topic);
-        setGauge(observerContext, KafkaObservabilityConstants.METRIC_SUBSCRIPTION[0],
-                 KafkaObservabilityConstants.METRIC_SUBSCRIPTION[1], 1);
+        MetricKey key = new MetricKey(KafkaObservabilityConstants.CONTEXT_CONSUMER,
+                                      KafkaUtils.getClientId(consumerObject),
+                                      KafkaUtils.getBootstrapServers(consumerObject),
+                                      topic);
+        setGauge(key, KafkaObservabilityConstants.METRIC_SUBSCRIPTION, 1);
     }
 
     /**
@@ -192,12 +200,11 @@ public class KafkaMetricsUtil {
         if (!ObserveUtils.isMetricsEnabled()) {
             return;
         }
-        KafkaObserverContext observerContext = new KafkaObserverContext(KafkaObservabilityConstants.CONTEXT_CONSUMER,
-                                                                        KafkaUtils.getClientId(consumerObject),
-                                                                        KafkaUtils.getBootstrapServers(consumerObject),
-                                                                        topic);
-        resetGauge(observerContext, KafkaObservabilityConstants.METRIC_SUBSCRIPTION[0],
-                   KafkaObservabilityConstants.METRIC_SUBSCRIPTION[1]);
+        MetricKey key = new MetricKey(KafkaObservabilityConstants.CONTEXT_CONSUMER,
+                                      KafkaUtils.getClientId(consumerObject),
+                                      KafkaUtils.getBootstrapServers(consumerObject),
+                                      topic);
+        resetGauge(key, KafkaObservabilityConstants.METRIC_SUBSCRIPTION);
     }
 
     /**
@@ -216,38 +223,178 @@ public class KafkaMetricsUtil {
     }
 
     /**
-     * Reports a message consumption of a consumer.
+     * Reports a consumer consuming a record of messages.
      *
      * @param consumerObject Consumer object.
-     * @param topic          Subject that the consumer receives the message from.
-     * @param value          Value of the received Kafka record.
+     * @param records        Records
+     */
+    public static void reportConsume(BObject consumerObject, ConsumerRecords<?, ?> records) {
+        if (!ObserveUtils.isMetricsEnabled() || records.isEmpty()) {
+            return;
+        }
+        String clientId = KafkaUtils.getClientId(consumerObject);
+        String url = KafkaUtils.getBootstrapServers(consumerObject);
+        // Aggregate the batch per topic, so that each metric is updated once per topic instead of once per record.
+        Map<String, long[]> topicTotals = new HashMap<>();
+        for (TopicPartition partition : records.partitions()) {
+            List<? extends ConsumerRecord<?, ?>> partitionRecords = records.records(partition);
+            long[] totals = topicTotals.computeIfAbsent(partition.topic(), topic -> new long[4]);
+            totals[0] += partitionRecords.size();
+            for (ConsumerRecord<?, ?> record : partitionRecords) {
+                totals[1] += Math.max(record.serializedValueSize(), 0);
+                totals[2] += Math.max(record.serializedKeySize(), 0);
+                totals[3] += getHeadersSize(record.headers());
+            }
+        }
+        for (Map.Entry<String, long[]> entry : topicTotals.entrySet()) {
+            MetricKey key = new MetricKey(KafkaObservabilityConstants.CONTEXT_CONSUMER, clientId, url,
+                                          entry.getKey());
+            incrementCounter(key, KafkaObservabilityConstants.METRIC_CONSUMED, entry.getValue()[0]);
+            incrementCounter(key, KafkaObservabilityConstants.METRIC_CONSUMED_SIZE, entry.getValue()[1]);
+            incrementCounter(key, KafkaObservabilityConstants.METRIC_CONSUMED_KEY_SIZE, entry.getValue()[2]);
+            incrementCounter(key, KafkaObservabilityConstants.METRIC_CONSUMED_HEADER_SIZE, entry.getValue()[3]);
+        }
+    }
+
+    /**
+     * Reports the time taken for a published message to be acknowledged by the broker.
+     *
+     * @param producerObject Producer object.
+     * @param topic          Topic the message is published to.
+     * @param partition      Partition the message is published to.
+     * @param startTime      Time the message was sent, as returned by {@code System.nanoTime()}.
      */
-    public static void reportConsume(BObject consumerObject, String topic, Object value) {
+    public static void reportPublishLatency(BObject producerObject, String topic, int partition, long startTime) {
         if (!ObserveUtils.isMetricsEnabled()) {
             return;
         }
-        KafkaObserverContext observerContext = new KafkaObserverContext(KafkaObservabilityConstants.CONTEXT_CONSUMER,
-                                                                        KafkaUtils.getClientId(consumerObject),
-                                                                        KafkaUtils.getBootstrapServers(consumerObject),
-                                                                        topic);
-        int size = getMessageSize(value);
-        reportConsume(observerContext, size);
+        MetricKey key = getLatencyKey(KafkaObservabilityConstants.CONTEXT_PRODUCER, producerObject, topic, partition);
+        recordLatency(key, KafkaObservabilityConstants.METRIC_PUBLISH_LATENCY, System.nanoTime() - startTime);
     }
 
     /**
-     * Reports a consumer consuming a record of messages.
+     * Reports the time taken by a single poll of a consumer.
      *
      * @param consumerObject Consumer object.
-     * @param records        Records
+     * @param duration       Time taken by the poll in nanoseconds.
      */
-    public static void reportConsume(BObject consumerObject, ConsumerRecords records) {
+    public static void reportPollDuration(BObject consumerObject, long duration) {
         if (!ObserveUtils.isMetricsEnabled()) {
             return;
         }
-        for (Object record : records) {
-            KafkaMetricsUtil.reportConsume(consumerObject, ((ConsumerRecord) record).topic(),
-                                           ((ConsumerRecord) record).serializedValueSize());
+        MetricKey key = new MetricKey(KafkaObservabilityConstants.CONTEXT_CONSUMER,
+                                      KafkaUtils.getClientId(consumerObject),
+                                      KafkaUtils.getBootstrapServers(consumerObject));
+        recordLatency(key, KafkaObservabilityConstants.METRIC_POLL_DURATION, duration);
+    }
+
+    /**
+     * Reports a consumer group rebalance completed by a consumer.
+     *
+     * @param consumerObject    Consumer object.
+     * @param revokedPartitions Number of partitions revoked from the consumer in the rebalance.
+     * @param rebalanceDuration Time taken by the rebalance in nanoseconds.
+     */
+    public static void reportRebalance(BObject consumerObject, int revokedPartitions, long rebalanceDuration) {
+        if (!ObserveUtils.isMetricsEnabled()) {
+            return;
+        }
+        MetricKey key = new MetricKey(KafkaObservabilityConstants.CONTEXT_CONSUMER,
+                                      KafkaUtils.getClientId(consumerObject),
+                                      KafkaUtils.getBootstrapServers(consumerObject));
+        incrementCounter(key, KafkaObservabilityConstants.METRIC_REBALANCES);
+        incrementCounter(key, KafkaObservabilityConstants.METRIC_REVOKED_PARTITIONS, revokedPartitions);
+        recordLatency(key, KafkaObservabilityConstants.METRIC_REBALANCE_DURATION, rebalanceDuration);
+    }
+
+    /**
+     * Reports a batch of records being dispatched to a service. Records the time the batch waited in the connector
+     * after the poll, and the end-to-end latency from the timestamp of the oldest record of each partition.
+     *
+     * @param consumerObject Consumer object.
+     * @param records        Records dispatched to the service.
+     * @param receivedTime   Time the records were received from the poll, as returned by {@code System.nanoTime()}.
+     */
+    public static void reportDispatch(BObject consumerObject, ConsumerRecords<?, ?> records, long receivedTime) {
+        if (!ObserveUtils.isMetricsEnabled()) {
+            return;
+        }
+        long dispatchDelay = System.nanoTime() - receivedTime;
+        long currentTime = System.currentTimeMillis();
+        for (TopicPartition partition : records.partitions()) {
+            List<? extends ConsumerRecord<?, ?>> partitionRecords = records.records(partition);
+            long oldestTimestamp = Long.MAX_VALUE;
+            for (ConsumerRecord<?, ?> record : partitionRecords) {
+                oldestTimestamp = Math.min(oldestTimestamp, record.timestamp());
+            }
+            MetricKey key = getLatencyKey(KafkaObservabilityConstants.CONTEXT_CONSUMER, consumerObject,
+                                          partition.topic(), partition.partition());
+            recordLatency(key, KafkaObservabilityConstants.METRIC_DISPATCH_DELAY, dispatchDelay);
+            if (oldestTimestamp >= 0 && oldestTimestamp <= currentTime) {
+                recordLatency(key, KafkaObservabilityConstants.METRIC_END_TO_END_LATENCY,
+                              TimeUnit.MILLISECONDS.toNanos(currentTime - oldestTimestamp));
+            }
+        }
+    }
+
+    /**
+     * Reports the time taken by a service to process a batch of records.
+     *
+     * @param consumerObject Consumer object.
+     * @param records        Records processed by the service.
+     * @param startTime      Time the resource was invoked, as returned by {@code System.nanoTime()}.
+     */
+    public static void reportResourceExecution(BObject consumerObject, ConsumerRecords<?, ?> records,
+                                               long startTime) {
+        if (!ObserveUtils.isMetricsEnabled()) {
+            return;
+        }
+        long executionTime = System.nanoTime() - startTime;
+        for (TopicPartition partition : records.partitions()) {
+            MetricKey key = getLatencyKey(KafkaObservabilityConstants.CONTEXT_CONSUMER, consumerObject,
+                                          partition.topic(), partition.partition());
+            recordLatency(key, KafkaObservabilityConstants.METRIC_PROCESSING_TIME, executionTime);
+        }
+    }
+
+    /**
+     * Reports the lag of the partitions assigned to a consumer.
+     *
+     * @param consumerObject    Consumer object.
+     * @param partitionLags     Lag of each assigned partition.
+     * @param removedPartitions Partitions which are no longer assigned to the consumer.
+     */
+    public static void reportLag(BObject consumerObject, Map<TopicPartition, Long> partitionLags,
+                                 List<TopicPartition> removedPartitions) {
+        if (!ObserveUtils.isMetricsEnabled()) {
+            return;
+        }
+        String clientId = KafkaUtils.getClientId(consumerObject);
+        String url = KafkaUtils.getBootstrapServers(consumerObject);
+        for (Map.Entry<TopicPartition, Long> entry : partitionLags.entrySet()) {
+            MetricKey key = getPartitionKey(clientId, url, entry.getKey());
+            setGauge(key, KafkaObservabilityConstants.METRIC_LAG, entry.getValue());
+        }
+        for (TopicPartition partition : removedPartitions) {
+            removeGauge(getPartitionKey(clientId, url, partition), KafkaObservabilityConstants.METRIC_LAG);
+        }
+    }
+
+    /**
+     * Reports the usage of the memory budget shared by the listeners of the process.
+     *
+     * @param bufferedBytes    Bytes of the records buffered by the listeners.
+     * @param limit            Maximum bytes of the buffered records.
+     * @param pausedPartitions Number of partitions paused as the budget is exhausted.
+     */
+    public static void reportMemoryBudget(long bufferedBytes, long limit, int pausedPartitions) {
+        if (!ObserveUtils.isMetricsEnabled()) {
+            return;
         }
+        MetricKey key = new MetricKey(KafkaObservabilityConstants.CONTEXT_CONSUMER, null, null);
+        setGauge(key, KafkaObservabilityConstants.METRIC_BUFFERED_BYTES, bufferedBytes);
+        setGauge(key, KafkaObservabilityConstants.METRIC_MEMORY_BUDGET, limit);
+        setGauge(key, KafkaObservabilityConstants.METRIC_BUDGET_PAUSED_PARTITIONS, pausedPartitions);
     }
 
     /**
@@ -305,93 +452,228 @@ public class KafkaMetricsUtil {
         reportError(consumerObject, topic, KafkaObservabilityConstants.CONTEXT_CONSUMER, errorType);
     }
 
-    private static void reportPublish(KafkaObserverContext observerContext, int size) {
-        incrementCounter(observerContext, KafkaObservabilityConstants.METRIC_PUBLISHED[0],
-                         KafkaObservabilityConstants.METRIC_PUBLISHED[1]);
-        incrementCounter(observerContext, KafkaObservabilityConstants.METRIC_PUBLISHED_SIZE[0],
-                         KafkaObservabilityConstants.METRIC_PUBLISHED_SIZE[1], size);
+    private static MetricKey getLatencyKey(String context, BObject object, String topic, int partition) {
+        String partitionTag = KafkaUtils.isPartitionLevelMetricsEnabled(object) ? String.valueOf(partition) : null;
+        return new MetricKey(context, KafkaUtils.getClientId(object), KafkaUtils.getBootstrapServers(object), topic,
+                             partitionTag, null);
     }
 
-    private static void reportConsume(KafkaObserverContext observerContext, int size) {
-        incrementCounter(observerContext, KafkaObservabilityConstants.METRIC_CONSUMED[0],
-                         KafkaObservabilityConstants.METRIC_CONSUMED[1]);
-        incrementCounter(observerContext, KafkaObservabilityConstants.METRIC_CONSUMED_SIZE[0],
-                         KafkaObservabilityConstants.METRIC_CONSUMED_SIZE[1], size);
+    private static MetricKey getPartitionKey(String clientId, String url, TopicPartition partition) {
+        return new MetricKey(KafkaObservabilityConstants.CONTEXT_CONSUMER, clientId, url, partition.topic(),
+                             String.valueOf(partition.partition()), null);
+    }
+
+    private static long getHeadersSize(Headers headers) {
+        long size = 0;
+        for (Header header : headers) {
+            size += Utils.utf8Length(header.key());
+            if (header.value() != null) {
+                size += header.value().length;
+            }
+        }
+        return size;
     }
 
     public static void reportError(String context, String errorType) {
-        KafkaObserverContext observerContext = new KafkaObserverContext(context);
-        observerContext.addTag(KafkaObservabilityConstants.TAG_ERROR_TYPE, errorType);
-        incrementCounter(observerContext, KafkaObservabilityConstants.METRIC_ERRORS[0],
-                         KafkaObservabilityConstants.METRIC_ERRORS[1]);
+        MetricKey key = new MetricKey(context, null, null, null, errorType);
+        incrementCounter(key, KafkaObservabilityConstants.METRIC_ERRORS);
     }
 
     public static void reportError(String context, BObject object, String errorType) {
-        KafkaObserverContext observerContext = new KafkaObserverContext(context,
-                                                                        KafkaUtils.getClientId(object),
-                                                                        KafkaUtils.getBootstrapServers(object));
-        observerContext.addTag(KafkaObservabilityConstants.TAG_ERROR_TYPE, errorType);
-        incrementCounter(observerContext, KafkaObservabilityConstants.METRIC_ERRORS[0],
-                         KafkaObservabilityConstants.METRIC_ERRORS[1]);
+        MetricKey key = new MetricKey(context,
+                                      KafkaUtils.getClientId(object),
+                                      KafkaUtils.getBootstrapServers(object),
+                                      null,
+                                      errorType);
+        incrementCounter(key, KafkaObservabilityConstants.METRIC_ERRORS);
     }
 
     public static void reportError(BObject object, String topic, String context, String errorType) {
-        KafkaObserverContext observerContext = new KafkaObserverContext(context,
-                                                                        KafkaUtils.getClientId(object),
-                                                                        KafkaUtils.getBootstrapServers(object),
-                                                                        topic);
-        observerContext.addTag(KafkaObservabilityConstants.TAG_ERROR_TYPE, errorType);
-        incrementCounter(observerContext, KafkaObservabilityConstants.METRIC_ERRORS[0],
-                         KafkaObservabilityConstants.METRIC_ERRORS[1]);
+        MetricKey key = new MetricKey(context,
+                                      KafkaUtils.getClientId(object),
+                                      KafkaUtils.getBootstrapServers(object),
+                                      topic,
+                                      errorType);
+        incrementCounter(key, KafkaObservabilityConstants.METRIC_ERRORS);
     }
 
-    private static void incrementCounter(KafkaObserverContext observerContext, String name, String desc) {
-        incrementCounter(observerContext, name, desc, 1);
+    private static void incrementCounter(MetricKey key, String[] metric) {
+        incrementCounter(key, metric, 1);
     }
 
-    private static void incrementCounter(KafkaObserverContext observerContext, String name, String desc, int amount) {
+    private static void incrementCounter(MetricKey key, String[] metric, long amount) {
         if (metricRegistry == null) {
             return;
         }
-        metricRegistry.counter(new MetricId(
-                KafkaObservabilityConstants.CONNECTOR_NAME + "_" + name, desc, observerContext.getAllTags()))
-                .increment(amount);
+        getCounter(key, metric).increment(amount);
     }
 
-    private static void incrementGauge(KafkaObserverContext observerContext, String name, String desc) {
+    private static void incrementGauge(MetricKey key, String[] metric) {
         if (metricRegistry == null) {
             return;
         }
-        metricRegistry.gauge(new MetricId(
-                KafkaObservabilityConstants.CONNECTOR_NAME + "_" + name, desc, observerContext.getAllTags()))
-                .increment();
+        getGauge(key, metric).increment();
     }
 
-    private static void decrementGauge(KafkaObserverContext observerContext, String name, String desc) {
+    private static void decrementGauge(MetricKey key, String[] metric) {
         if (metricRegistry == null) {
             return;
         }
-        metricRegistry.gauge(new MetricId(
-                KafkaObservabilityConstants.CONNECTOR_NAME + "_" + name, desc, observerContext.getAllTags()))
-                .decrement();
+        getGauge(key, metric).decrement();
     }
 
-    private static void setGauge(KafkaObserverContext observerContext, String name, String desc, int value) {
+    private static void setGauge(MetricKey key, String[] metric, double value) {
         if (metricRegistry == null) {
             return;
         }
-        metricRegistry.gauge(new MetricId(
-                KafkaObservabilityConstants.CONNECTOR_NAME + "_" + name, desc, observerContext.getAllTags()))
-                .setValue(value);
+        getGauge(key, metric).setValue(value);
+    }
+
+    private static void resetGauge(MetricKey key, String[] metric) {
+        setGauge(key, metric, 0);
     }
 
-    private static void resetGauge(KafkaObserverContext observerContext, String name, String desc) {
+    private static void removeGauge(MetricKey key, String[] metric) {
         if (metricRegistry == null) {
             return;
         }
-        metricRegistry.gauge(new MetricId(
-                KafkaObservabilityConstants.CONNECTOR_NAME + "_" + name, desc, observerContext.getAllTags()))
-                .setValue(0);
+        Gauge gauge = gauges.remove(new MetricHandleKey(metric[0], key));
+        if (gauge != null) {
+            metricRegistry.unregister(gauge);
+        }
+    }
+
+    private static void recordLatency(MetricKey key, String[] metric, long durationInNanos) {
+        if (metricRegistry == null) {
+            return;
+        }
+        getGauge(key, metric, latencyStatisticConfigs).setValue(durationInNanos / 1E9);
+    }
+
+    private static Counter getCounter(MetricKey key, String[] metric) {
+        MetricHandleKey handleKey = new MetricHandleKey(metric[0], key);
+        Counter counter = counters.get(handleKey);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(handleKey, k -> metricRegistry.counter(getMetricId(key, metric)));
+        }
+        return counter;
+    }
+
+    private static Gauge getGauge(MetricKey key, String[] metric, StatisticConfig... statisticConfigs) {
+        MetricHandleKey handleKey = new MetricHandleKey(metric[0], key);
+        Gauge gauge = gauges.get(handleKey);
+        if (gauge == null) {
+            gauge = gauges.computeIfAbsent(handleKey, k -> metricRegistry.gauge(getMetricId(key, metric),
+                                                                                 statisticConfigs));
+        }
+        return gauge;
+    }
+
+    private static MetricId getMetricId(MetricKey key, String[] metric) {
+        return new MetricId(KafkaObservabilityConstants.CONNECTOR_NAME + "_" + metric[0], metric[1],
+                            key.getObserverContext().getAllTags());
+    }
+
+    /**
+     * Identifies the tags of a metric, without creating the tag set unless a new metric handle is needed.
+     */
+    private static class MetricKey {
+        private final String context;
+        private final String clientId;
+        private final String url;
+        private final String topic;
+        private final String partition;
+        private final String errorType;
+
+        MetricKey(String context, String clientId, String url) {
+            this(context, clientId, url, null, null);
+        }
+
+        MetricKey(String context, String clientId, String url, String topic) {
+            this(context, clientId, url, topic, null);
+        }
+
+        MetricKey(String context, String clientId, String url, String topic, String errorType) {
+            this(context, clientId, url, topic, null, errorType);
+        }
+
+        MetricKey(String context, String clientId, String url, String topic, String partition, String errorType) {
+            this.context = context;
+            this.clientId = clientId;
+            this.url = url;
+            this.topic = topic;
+            this.partition = partition;
+            this.errorType = errorType;
+        }
+
+        KafkaObserverContext getObserverContext() {
+            KafkaObserverContext observerContext = new KafkaObserverContext(context);
+            if (clientId != null) {
+                observerContext.addTag(KafkaObservabilityConstants.TAG_CLIENT_ID, clientId);
+            }
+            if (url != null) {
+                observerContext.addTag(KafkaObservabilityConstants.TAG_URL, url);
+            }
+            if (topic != null) {
+                observerContext.addTag(KafkaObservabilityConstants.TAG_TOPIC, topic);
+            }
+            if (partition != null) {
+                observerContext.addTag(KafkaObservabilityConstants.TAG_PARTITION, partition);
+            }
+            if (errorType != null) {
+                observerContext.addTag(KafkaObservabilityConstants.TAG_ERROR_TYPE, errorType);
+            }
+            return observerContext;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MetricKey)) {
+                return false;
+            }
+            MetricKey other = (MetricKey) o;
+            return Objects.equals(context, other.context) && Objects.equals(clientId, other.clientId) &&
+                    Objects.equals(url, other.url) && Objects.equals(topic, other.topic) &&
+                    Objects.equals(partition, other.partition) && Objects.equals(errorType, other.errorType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(context, clientId, url, topic, partition, errorType);
+        }
+    }
+
+    /**
+     * Identifies a cached metric handle by the metric name and its tags.
+     */
+    private static class MetricHandleKey {
+        private final String name;
+        private final MetricKey key;
+
+        MetricHandleKey(String name, MetricKey key) {
+            this.name = name;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MetricHandleKey)) {
+                return false;
+            }
+            MetricHandleKey other = (MetricHandleKey) o;
+            return name.equals(other.name) && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + key.hashCode();
+        }
     }
 
     private KafkaMetricsUtil() {
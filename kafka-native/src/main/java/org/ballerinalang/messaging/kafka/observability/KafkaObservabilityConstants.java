@@ -32,6 +32,10 @@ public class KafkaObservabilityConstants {
     static final String[] METRIC_CONSUMERS = {"consumers", "Number of currently active consumers"};
     static final String[] METRIC_PUBLISHED = {"published", "Number of messages published"};
     static final String[] METRIC_PUBLISHED_SIZE = {"published_size", "Total size in bytes of messages published"};
+    static final String[] METRIC_PUBLISHED_KEY_SIZE = {"published_key_size",
+            "Total size in bytes of keys of messages published"};
+    static final String[] METRIC_PUBLISHED_HEADER_SIZE = {"published_header_size",
+            "Total size in bytes of headers of messages published"};
     static final String[] METRIC_ERRORS = {"errors", "Number of errors"};
     static final String[] METRIC_REQUEST = {"requests", "Number of requests sent"};
     static final String[] METRIC_RESPONSE = {"responses", "Number of responses_received"};
@@ -39,10 +43,37 @@ public class KafkaObservabilityConstants {
     static final String[] METRIC_CONSUMED = {"consumed", "Number of messages consumed"};
     static final String[] METRIC_DELIVERED = {"delivered", "Number of messages successfully received by consumer"};
     static final String[] METRIC_CONSUMED_SIZE = {"consumed_size", "Total size in bytes of messages consumed"};
+    static final String[] METRIC_CONSUMED_KEY_SIZE = {"consumed_key_size",
+            "Total size in bytes of keys of messages consumed"};
+    static final String[] METRIC_CONSUMED_HEADER_SIZE = {"consumed_header_size",
+            "Total size in bytes of headers of messages consumed"};
     static final String[] METRIC_ACK = {"acknowledgements", "Total number of acknowledgements received"};
+    static final String[] METRIC_LAG = {"consumer_lag",
+            "Number of records the consumer is behind the end of the partition"};
+    static final String[] METRIC_PUBLISH_LATENCY = {"publish_latency_seconds",
+            "Time taken for a published message to be acknowledged by the broker"};
+    static final String[] METRIC_POLL_DURATION = {"poll_duration_seconds", "Time taken by a single consumer poll"};
+    static final String[] METRIC_DISPATCH_DELAY = {"dispatch_delay_seconds",
+            "Time from the poll until the records are dispatched to the service"};
+    static final String[] METRIC_PROCESSING_TIME = {"processing_time_seconds",
+            "Time taken by the service to process a batch of records"};
+    static final String[] METRIC_REBALANCES = {"rebalances", "Number of consumer group rebalances"};
+    static final String[] METRIC_REBALANCE_DURATION = {"rebalance_duration_seconds",
+            "Time taken by a consumer group rebalance"};
+    static final String[] METRIC_REVOKED_PARTITIONS = {"revoked_partitions",
+            "Number of partitions revoked from the consumer in rebalances"};
+    static final String[] METRIC_END_TO_END_LATENCY = {"end_to_end_latency_seconds",
+            "Time from the record timestamp until the record is dispatched to the service"};
+    static final String[] METRIC_BUFFERED_BYTES = {"buffered_bytes",
+            "Size in bytes of the records buffered by the listeners, until they are processed"};
+    static final String[] METRIC_MEMORY_BUDGET = {"memory_budget_bytes",
+            "Maximum size in bytes of the records buffered by the listeners"};
+    static final String[] METRIC_BUDGET_PAUSED_PARTITIONS = {"budget_paused_partitions",
+            "Number of partitions paused as the memory budget of the listeners is exhausted"};
 
     static final String TAG_URL = "url";
     static final String TAG_TOPIC = "topic";
+    static final String TAG_PARTITION = "partition";
     static final String TAG_ERROR_TYPE = "error_type";
     static final String TAG_CONTEXT = "context";
     static final String TAG_CLIENT_ID = "client_id";
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.messaging.kafka.observability;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+
+import java.util.Objects;
+
+/**
+ * Java Flight Recorder event for a single poll of a Kafka consumer.
+ */
+@Name("ballerina.kafka.Poll")
+@Label("Kafka Poll")
+@Description("A poll of the Kafka consumer of a listener")
+public class KafkaPollEvent extends KafkaEvent {
+
+    /**
+     * Ends the event and commits it to the recording, if the event is enabled.
+     *
+     * @param records Records retrieved from the poll.
+     */
+    public void complete(ConsumerRecords<?, ?> records) {
+        end();
+        if (shouldCommit()) {
+            if (Objects.nonNull(records)) {
+                setRecords(records);
+            }
+            commit();
+        }
+    }
+}
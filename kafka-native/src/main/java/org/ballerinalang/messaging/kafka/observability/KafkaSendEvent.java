@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.messaging.kafka.observability;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder event for a record sent by a Kafka producer, from the send until the broker acknowledges it.
+ * Sends are recorded per record, hence only the sends slower than the threshold are recorded by default.
+ */
+@Name("ballerina.kafka.Send")
+@Label("Kafka Send")
+@Description("A record sent by a Kafka producer, until it is acknowledged")
+@Threshold("1 ms")
+public class KafkaSendEvent extends KafkaEvent {
+
+    @Label("Successful")
+    boolean successful;
+
+    /**
+     * Creates and begins a send event, if the event is enabled. As the event is completed from the I/O thread of the
+     * producer, it is only created when it is going to be recorded.
+     *
+     * @return the send event, or null if the event is not enabled
+     */
+    public static KafkaSendEvent beginIfEnabled() {
+        KafkaSendEvent event = new KafkaSendEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it to the recording.
+     *
+     * @param topic      Topic the record is sent to.
+     * @param partition  Partition the record is sent to, or -1 if it is not known.
+     * @param bytes      Serialized size of the key and the value of the record.
+     * @param successful Whether the record was acknowledged by the broker.
+     */
+    public void complete(String topic, int partition, long bytes, boolean successful) {
+        end();
+        if (shouldCommit()) {
+            this.topic = topic;
+            this.partition = partition;
+            this.recordCount = 1;
+            this.bytes = bytes;
+            this.successful = successful;
+            commit();
+        }
+    }
+}
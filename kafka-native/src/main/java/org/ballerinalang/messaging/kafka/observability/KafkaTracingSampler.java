@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.messaging.kafka.observability;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Head-based sampler, which decides whether an operation of a Kafka client is traced before the operation starts.
+ * The span of the operation is created by the Ballerina runtime regardless of this decision, hence the sampler only
+ * decides whether the span is tagged with the Kafka tags and whether the trace context is propagated through the
+ * record headers. The spans themselves are sampled by the sampler of the tracing provider.
+ */
+public class KafkaTracingSampler {
+
+    private final double samplingRate;
+
+    public KafkaTracingSampler(double samplingRate) {
+        this.samplingRate = samplingRate;
+    }
+
+    /**
+     * Decides whether the next operation should be traced.
+     *
+     * @return true if the operation should be traced, false otherwise
+     */
+    public boolean isSampled() {
+        if (samplingRate >= 1) {
+            return true;
+        }
+        if (samplingRate <= 0) {
+            return false;
+        }
+        return ThreadLocalRandom.current().nextDouble() < samplingRate;
+    }
+}
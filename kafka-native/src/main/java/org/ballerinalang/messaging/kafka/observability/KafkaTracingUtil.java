@@ -20,10 +20,19 @@ package org.ballerinalang.messaging.kafka.observability;
 
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.observability.ObservabilityConstants;
 import io.ballerina.runtime.observability.ObserveUtils;
 import io.ballerina.runtime.observability.ObserverContext;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
 import org.ballerinalang.messaging.kafka.utils.KafkaUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_TRACING_SAMPLER;
+
 /**
  * Providing tracing functionality to Kafka.
  *
@@ -31,9 +40,18 @@ import org.ballerinalang.messaging.kafka.utils.KafkaUtils;
  */
 public class KafkaTracingUtil {
 
-    public static void traceResourceInvocation(Environment environment, BObject object, String topic) {
-        if (!ObserveUtils.isTracingEnabled()) {
-            return;
+    /**
+     * Traces an operation related to a topic, if the operation is selected by the sampler of the client. The span of
+     * an operation which is not selected is still created by the runtime, but without the Kafka tags.
+     *
+     * @param environment Environment of the operation.
+     * @param object      Kafka client object from Ballerina.
+     * @param topic       Topic of the operation.
+     * @return the observer context of the operation, or null if the operation is not traced
+     */
+    public static ObserverContext traceResourceInvocation(Environment environment, BObject object, String topic) {
+        if (!ObserveUtils.isTracingEnabled() || !isSampled(object)) {
+            return null;
         }
         ObserverContext observerContext = ObserveUtils.getObserverContextOfCurrentFrame(environment);
         if (observerContext == null) {
@@ -41,10 +59,48 @@ public class KafkaTracingUtil {
             ObserveUtils.setObserverContextToCurrentFrame(environment, observerContext);
         }
         setTags(observerContext, object, topic);
+        return observerContext;
+    }
+
+    /**
+     * Injects the trace context of an operation into the headers of the record it sends, so that the consumers of
+     * the record can continue the same trace.
+     *
+     * @param observerContext Observer context of the operation.
+     * @param headers         Headers of the record.
+     */
+    public static void injectTraceContext(ObserverContext observerContext, Headers headers) {
+        Map<String, String> traceContext = ObserveUtils.getContextProperties(observerContext);
+        if (traceContext == null) {
+            return;
+        }
+        for (Map.Entry<String, String> entry : traceContext.entrySet()) {
+            headers.remove(entry.getKey());
+            headers.add(entry.getKey(), entry.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Extracts the trace context from the headers of a consumed record into an observer context. A resource is
+     * invoked once for a whole batch of records, so only a single parent trace can be continued per batch.
+     *
+     * @param observerContext Observer context of the resource invocation.
+     * @param headers         Headers of the record.
+     */
+    public static void extractTraceContext(ObserverContext observerContext, Headers headers) {
+        Map<String, String> traceContext = new HashMap<>();
+        for (Header header : headers) {
+            if (header.value() != null) {
+                traceContext.put(header.key(), new String(header.value(), StandardCharsets.UTF_8));
+            }
+        }
+        if (!traceContext.isEmpty()) {
+            observerContext.addProperty(ObservabilityConstants.PROPERTY_TRACE_PROPERTIES, traceContext);
+        }
     }
 
     public static void traceResourceInvocation(Environment environment, BObject object) {
-        if (!ObserveUtils.isTracingEnabled()) {
+        if (!ObserveUtils.isTracingEnabled() || !isSampled(object)) {
             return;
         }
         ObserverContext observerContext = ObserveUtils.getObserverContextOfCurrentFrame(environment);
@@ -55,6 +111,70 @@ public class KafkaTracingUtil {
         setTags(observerContext, object);
     }
 
+    /**
+     * Traces an operation which failed. Failed operations are always traced, regardless of the sampling rate.
+     *
+     * @param environment Environment of the operation.
+     * @param object      Kafka client object from Ballerina.
+     * @param topic       Topic of the operation, or null if the operation is not related to a topic.
+     * @param errorType   Type of the error.
+     */
+    public static void traceError(Environment environment, BObject object, String topic, String errorType) {
+        traceError(getObserverContext(environment), object, topic, errorType);
+    }
+
+    /**
+     * Traces an operation which failed, using an observer context retrieved while the operation was started. This is
+     * used when the failure is reported from a thread other than the strand of the operation, such as the I/O thread
+     * of a producer, where the observer context of the current frame is not available.
+     *
+     * @param observerContext Observer context of the operation, or null if tracing is disabled.
+     * @param object          Kafka client object from Ballerina.
+     * @param topic           Topic of the operation, or null if the operation is not related to a topic.
+     * @param errorType       Type of the error.
+     */
+    public static void traceError(ObserverContext observerContext, BObject object, String topic, String errorType) {
+        if (observerContext == null) {
+            return;
+        }
+        if (topic == null) {
+            setTags(observerContext, object);
+        } else {
+            setTags(observerContext, object, topic);
+        }
+        observerContext.addTag(KafkaObservabilityConstants.TAG_ERROR_TYPE, errorType);
+    }
+
+    /**
+     * Returns the observer context of the current frame, creating it if the frame does not have one yet. This must be
+     * called from the strand of the operation.
+     *
+     * @param environment Environment of the operation.
+     * @return the observer context, or null if tracing is disabled
+     */
+    public static ObserverContext getObserverContext(Environment environment) {
+        if (!ObserveUtils.isTracingEnabled()) {
+            return null;
+        }
+        ObserverContext observerContext = ObserveUtils.getObserverContextOfCurrentFrame(environment);
+        if (observerContext == null) {
+            observerContext = new ObserverContext();
+            ObserveUtils.setObserverContextToCurrentFrame(environment, observerContext);
+        }
+        return observerContext;
+    }
+
+    /**
+     * Decides whether an operation of a Kafka client should be traced, using the sampler of the client.
+     *
+     * @param object Kafka client object from Ballerina.
+     * @return true if the operation should be traced, false otherwise
+     */
+    public static boolean isSampled(BObject object) {
+        KafkaTracingSampler sampler = (KafkaTracingSampler) object.getNativeData(NATIVE_TRACING_SAMPLER);
+        return sampler == null || sampler.isSampled();
+    }
+
     private static void setTags(ObserverContext observerContext, BObject object, String topic) {
         observerContext.addTag(KafkaObservabilityConstants.TAG_URL, KafkaUtils.getBootstrapServers(object));
         observerContext.addTag(KafkaObservabilityConstants.TAG_CLIENT_ID, KafkaUtils.getClientId(object));
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.messaging.kafka.service;
+
+import io.ballerina.runtime.api.values.BObject;
+import org.apache.kafka.common.TopicPartition;
+import org.ballerinalang.messaging.kafka.api.KafkaServerConnector;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.SERVER_CONNECTOR;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getPartitionLagArrayFromLagMap;
+
+/**
+ * Returns the lag of the partitions assigned to the listener.
+ */
+public class GetLag {
+
+    public static Object getLag(BObject listener) {
+        KafkaServerConnector serverConnector = (KafkaServerConnector) listener.getNativeData(SERVER_CONNECTOR);
+        Map<TopicPartition, Long> partitionLags = Collections.emptyMap();
+        if (Objects.nonNull(serverConnector)) {
+            partitionLags = serverConnector.getLag();
+        }
+        return getPartitionLagArrayFromLagMap(partitionLags);
+    }
+}
@@ -20,50 +20,84 @@ package org.ballerinalang.messaging.kafka.service;
 
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.Runtime;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
-import org.ballerinalang.messaging.kafka.api.KafkaListener;
 import org.ballerinalang.messaging.kafka.api.KafkaServerConnector;
 import org.ballerinalang.messaging.kafka.exceptions.KafkaConnectorException;
 import org.ballerinalang.messaging.kafka.impl.KafkaListenerImpl;
+import org.ballerinalang.messaging.kafka.impl.KafkaRecordFilter;
 import org.ballerinalang.messaging.kafka.impl.KafkaServerConnectorImpl;
 import org.ballerinalang.messaging.kafka.utils.KafkaUtils;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
 
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_RECORD_FILTERS;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_TOPICS;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.CONSUMER_CONFIG_FIELD_NAME;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.CONSUMER_ERROR;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.KAFKA_LISTENER;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_CONSUMER;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.SERVER_CONNECTOR;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.UNCHECKED;
 
 /**
- * This is used to register a listener to the kafka service.
+ * This is used to register a listener to the kafka service. All the services attached to a listener share the
+ * consumers of the listener, and the records are routed to the services based on their topics.
  */
 public class Register {
 
     @SuppressWarnings(UNCHECKED)
     public static Object register(Environment env, BObject listener, BObject service, Object name) {
-        BMap<BString, Object> listenerConfigurations = listener.getMapValue(CONSUMER_CONFIG_FIELD_NAME);
-        Properties configs = KafkaUtils.processKafkaConsumerConfig(listenerConfigurations);
-        Runtime runtime = env.getRuntime();
+        BError signatureError = KafkaUtils.validateResourceSignature(service);
+        if (Objects.nonNull(signatureError)) {
+            return signatureError;
+        }
 
-        try {
-            KafkaConsumer kafkaConsumer = null;
-            if (Objects.nonNull(listener.getNativeData(NATIVE_CONSUMER))) {
-                kafkaConsumer = (KafkaConsumer) listener.getNativeData(NATIVE_CONSUMER);
+        KafkaListenerImpl kafkaListener = (KafkaListenerImpl) listener.getNativeData(KAFKA_LISTENER);
+        if (Objects.isNull(kafkaListener)) {
+            BMap<BString, Object> listenerConfigurations = listener.getMapValue(CONSUMER_CONFIG_FIELD_NAME);
+            Properties configs = KafkaUtils.processKafkaConsumerConfig(listenerConfigurations);
+            Runtime runtime = env.getRuntime();
+            try {
+                KafkaConsumer kafkaConsumer = null;
+                if (Objects.nonNull(listener.getNativeData(NATIVE_CONSUMER))) {
+                    kafkaConsumer = (KafkaConsumer) listener.getNativeData(NATIVE_CONSUMER);
+                }
+                kafkaListener = new KafkaListenerImpl(listener, runtime,
+                                                      KafkaUtils.getConsumerRecordConverter(listener));
+                String serviceId = service.getType().getQualifiedName();
+                KafkaServerConnector serverConnector = new KafkaServerConnectorImpl(serviceId, configs, kafkaListener,
+                                                                                    kafkaConsumer);
+                listener.addNativeData(SERVER_CONNECTOR, serverConnector);
+                listener.addNativeData(KAFKA_LISTENER, kafkaListener);
+            } catch (KafkaConnectorException e) {
+                return KafkaUtils.createKafkaError(e.getMessage(), CONSUMER_ERROR);
+            }
+        }
+
+        Set<String> topics = new HashSet<>();
+        List<KafkaRecordFilter> recordFilters = Collections.emptyList();
+        BMap<BString, Object> serviceConfig = KafkaUtils.getServiceConfig(service);
+        if (Objects.nonNull(serviceConfig)) {
+            BArray serviceTopics = (BArray) serviceConfig.get(ALIAS_TOPICS);
+            if (Objects.nonNull(serviceTopics)) {
+                topics.addAll(KafkaUtils.getStringListFromStringBArray(serviceTopics));
+            }
+            BArray serviceRecordFilters = (BArray) serviceConfig.get(ALIAS_RECORD_FILTERS);
+            if (Objects.nonNull(serviceRecordFilters)) {
+                recordFilters = KafkaUtils.getRecordFilters(serviceRecordFilters);
             }
-            KafkaListener kafkaListener = new KafkaListenerImpl(listener, service, runtime);
-            String serviceId = service.getType().getQualifiedName();
-            KafkaServerConnector serverConnector = new KafkaServerConnectorImpl(serviceId, configs, kafkaListener,
-                    kafkaConsumer);
-            listener.addNativeData(SERVER_CONNECTOR, serverConnector);
-        } catch (KafkaConnectorException e) {
-            return KafkaUtils.createKafkaError(e.getMessage(), CONSUMER_ERROR);
         }
+        kafkaListener.addService(service, topics, recordFilters);
         return null;
     }
 }
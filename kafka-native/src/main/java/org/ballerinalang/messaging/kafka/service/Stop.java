@@ -18,12 +18,17 @@
 
 package org.ballerinalang.messaging.kafka.service;
 
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.Future;
 import io.ballerina.runtime.api.values.BObject;
 import org.ballerinalang.messaging.kafka.exceptions.KafkaConnectorException;
 import org.ballerinalang.messaging.kafka.impl.KafkaServerConnectorImpl;
+import org.ballerinalang.messaging.kafka.observability.KafkaClientMetricsBridge;
 import org.ballerinalang.messaging.kafka.utils.KafkaUtils;
 
 import java.io.PrintStream;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
 
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.CONSUMER_ERROR;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.SERVER_CONNECTOR;
@@ -39,11 +44,38 @@ public class Stop {
     public static Object stop(BObject listener) {
         KafkaServerConnectorImpl serverConnector = (KafkaServerConnectorImpl) listener.getNativeData(SERVER_CONNECTOR);
         boolean isStopped;
+        KafkaClientMetricsBridge.stop(listener);
         try {
             isStopped = serverConnector.stop();
         } catch (KafkaConnectorException e) {
             return KafkaUtils.createKafkaError(e.getMessage(), CONSUMER_ERROR);
         }
+        return getStopResult(listener, isStopped);
+    }
+
+    /**
+     * Stops the server connector after the records being processed are completed and their offsets are committed.
+     * The strand is not blocked while the consumers are being stopped.
+     *
+     * @param listener Kafka listener object from ballerina.
+     * @return {@code BError}, if there's any error, null otherwise.
+     */
+    public static Object gracefulStop(Environment env, BObject listener) {
+        KafkaServerConnectorImpl serverConnector = (KafkaServerConnectorImpl) listener.getNativeData(SERVER_CONNECTOR);
+        KafkaClientMetricsBridge.stop(listener);
+        Future balFuture = env.markAsync();
+        serverConnector.gracefulStop().whenComplete((isStopped, e) -> {
+            if (Objects.isNull(e)) {
+                balFuture.complete(getStopResult(listener, isStopped));
+                return;
+            }
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            balFuture.complete(KafkaUtils.createKafkaError(cause.getMessage(), CONSUMER_ERROR));
+        });
+        return null;
+    }
+
+    private static Object getStopResult(BObject listener, boolean isStopped) {
         if (!isStopped) {
             return KafkaUtils.createKafkaError("Failed to stop the kafka service.", CONSUMER_ERROR);
         }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.messaging.kafka.service;
+
+import io.ballerina.runtime.api.values.BObject;
+import org.ballerinalang.messaging.kafka.impl.KafkaListenerImpl;
+import org.ballerinalang.messaging.kafka.utils.KafkaUtils;
+
+import java.util.Objects;
+
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.CONSUMER_ERROR;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.KAFKA_LISTENER;
+
+/**
+ * This is used to detach a service from a kafka listener.
+ */
+public class Unregister {
+
+    public static Object unregister(BObject listener, BObject service) {
+        KafkaListenerImpl kafkaListener = (KafkaListenerImpl) listener.getNativeData(KAFKA_LISTENER);
+        if (Objects.isNull(kafkaListener) || !kafkaListener.removeService(service)) {
+            return KafkaUtils.createKafkaError("The service is not attached to the listener", CONSUMER_ERROR);
+        }
+        return null;
+    }
+}
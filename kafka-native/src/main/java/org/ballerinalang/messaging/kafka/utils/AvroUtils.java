@@ -19,9 +19,11 @@
 package org.ballerinalang.messaging.kafka.utils;
 
 import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BString;
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.util.Utf8;
 
@@ -60,4 +62,49 @@ public class AvroUtils {
             throw KafkaUtils.createKafkaError(KafkaConstants.AVRO_ERROR, "Invalid type - expected: AvroGenericRecord");
         }
     }
+
+    protected static GenericRecord createGenericRecord(BMap<BString, Object> value) {
+        GenericRecord genericRecord = createRecord(value);
+        BMap data = value.getMapValue(KafkaConstants.AVRO_DATA_RECORD_NAME);
+        populateAvroRecord(genericRecord, data);
+        return genericRecord;
+    }
+
+    protected static void populateAvroRecord(GenericRecord record, BMap<BString, Object> data) {
+        BString[] keys = data.getKeys();
+        for (BString keyBStr : keys) {
+            Object value = data.get(keyBStr);
+            String key = keyBStr.getValue();
+            if (value instanceof BString) {
+                record.put(key, value.toString());
+            } else if (value instanceof Number || value == null) {
+                record.put(key, value);
+            } else if (value instanceof BMap) {
+                Schema childSchema = record.getSchema().getField(key).schema();
+                GenericRecord subRecord = new GenericData.Record(childSchema);
+                populateAvroRecord(subRecord, (BMap<BString, Object>) value);
+                record.put(key, subRecord);
+            } else if (value instanceof BArray) {
+                Schema childSchema = record.getSchema().getField(key).schema().getElementType();
+                GenericRecord subRecord = new GenericData.Record(childSchema);
+                populateAvroRecordArray(subRecord, (BArray) value);
+                record.put(key, subRecord);
+            } else {
+                throw KafkaUtils.createKafkaError("Invalid data type received for avro data",
+                                                  KafkaConstants.AVRO_ERROR);
+            }
+        }
+    }
+
+    protected static void populateAvroRecordArray(GenericRecord record, BArray bArray) {
+        for (int i = 0; i < bArray.size(); i++) {
+            record.put(i, bArray.get(i));
+        }
+    }
+
+    protected static GenericRecord createRecord(BMap value) {
+        String schemaString = value.getStringValue(KafkaConstants.AVRO_SCHEMA_STRING_NAME).getValue();
+        Schema avroSchema = new Schema.Parser().parse(schemaString);
+        return new GenericData.Record(avroSchema);
+    }
 }
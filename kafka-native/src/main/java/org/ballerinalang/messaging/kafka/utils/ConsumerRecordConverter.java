@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.messaging.kafka.utils;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.header.Header;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_HEADERS;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.CONSUMER_ERROR;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.createKafkaError;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getConsumerRecord;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getPartitionOffsetRecord;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getTopicPartitionRecord;
+
+/**
+ * Converts Kafka consumer records into Ballerina `kafka:ConsumerRecord` values. The key and value converters, and the
+ * types of the records created for each consumer record, are resolved once when a consumer or a listener is created,
+ * so that converting a record does not need to look up the deserializer types or the record types again.
+ */
+public class ConsumerRecordConverter {
+
+    private static final int MIN_PARALLEL_CHUNK_SIZE = 256;
+
+    private final ValueConverter keyConverter;
+    private final ValueConverter valueConverter;
+    private final Type consumerRecordType;
+    private final Type partitionOffsetType;
+    private final Type topicPartitionType;
+    private final ArrayType consumerRecordArrayType;
+    private final ArrayType headerValuesType;
+    private final MapType headersType;
+
+    public ConsumerRecordConverter(String keyType, String valueType) {
+        this.keyConverter = getValueConverter(keyType);
+        this.valueConverter = getValueConverter(valueType);
+        this.consumerRecordType = getConsumerRecord().getType();
+        this.partitionOffsetType = getPartitionOffsetRecord().getType();
+        this.topicPartitionType = getTopicPartitionRecord().getType();
+        this.consumerRecordArrayType = TypeCreator.createArrayType(consumerRecordType);
+        ArrayType headerValueType = TypeCreator.createArrayType(PredefinedTypes.TYPE_BYTE);
+        this.headerValuesType = TypeCreator.createArrayType(headerValueType);
+        this.headersType = TypeCreator.createMapType(TypeCreator.createUnionType(
+                Arrays.asList(headerValueType, headerValuesType)));
+    }
+
+    /**
+     * Converts a Kafka consumer record into a Ballerina `kafka:ConsumerRecord`.
+     *
+     * @param record Kafka consumer record
+     * @return Ballerina consumer record
+     */
+    public BMap<BString, Object> convert(ConsumerRecord record) {
+        Object[] fields = new Object[4];
+        fields[0] = convertKey(record.key());
+        fields[1] = convertValue(record.value());
+        fields[2] = record.timestamp();
+        BMap<BString, Object> topicPartition = createRecordValue(topicPartitionType, record.topic(),
+                                                                 record.partition());
+        fields[3] = createRecordValue(partitionOffsetType, topicPartition, record.offset());
+        BMap<BString, Object> consumerRecord = createRecordValue(consumerRecordType, fields);
+        // Headers are optional, hence the header map is only created for the records which have headers.
+        Header[] headers = record.headers().toArray();
+        if (headers.length > 0) {
+            consumerRecord.put(ALIAS_HEADERS, convert(headers));
+        }
+        return consumerRecord;
+    }
+
+    /**
+     * Converts the key of a Kafka record into its Ballerina representation.
+     *
+     * @param key deserialized key of the record
+     * @return Ballerina key, or null if the record does not have a key
+     */
+    public Object convertKey(Object key) {
+        return key == null ? null : keyConverter.convert(key);
+    }
+
+    /**
+     * Converts the value of a Kafka record into its Ballerina representation.
+     *
+     * @param value deserialized value of the record
+     * @return Ballerina value
+     */
+    public Object convertValue(Object value) {
+        return valueConverter.convert(value);
+    }
+
+    /**
+     * Converts the headers of a Kafka record into a readonly Ballerina `map<byte[]|byte[][]>`. The values of the
+     * headers which occur more than once in the record are grouped into a `byte[][]`, in the order of the headers.
+     *
+     * @param headers Kafka record headers
+     * @return readonly Ballerina header map
+     */
+    private BMap<BString, Object> convert(Header[] headers) {
+        BMap<BString, Object> headerMap = ValueCreator.createMapValue(headersType);
+        for (Header header : headers) {
+            BString key = StringUtils.fromString(header.key());
+            BArray value = ValueCreator.createArrayValue(header.value() == null ? new byte[0] : header.value());
+            BArray existingValue = (BArray) headerMap.get(key);
+            if (existingValue == null) {
+                headerMap.put(key, value);
+            } else if (existingValue.getElementType().getTag() == TypeTags.BYTE_TAG) {
+                BArray values = ValueCreator.createArrayValue(headerValuesType);
+                values.append(existingValue);
+                values.append(value);
+                headerMap.put(key, values);
+            } else {
+                existingValue.append(value);
+            }
+        }
+        headerMap.freezeDirect();
+        return headerMap;
+    }
+
+    /**
+     * Converts the records retrieved from a single poll into a Ballerina `kafka:ConsumerRecord[]`.
+     *
+     * @param records Kafka consumer records
+     * @return Ballerina consumer record array
+     */
+    public BArray convert(ConsumerRecords records) {
+        return convert(records, 0);
+    }
+
+    /**
+     * Converts the records retrieved from a single poll into a Ballerina `kafka:ConsumerRecord[]`. If there are more
+     * records than the threshold, the records are converted in parallel on the common fork-join pool, where each task
+     * converts a fixed range of the records into the same range of the array, hence the order of the records is kept.
+     *
+     * @param records           Kafka consumer records
+     * @param parallelThreshold number of records above which the records are converted in parallel, or zero to always
+     *                          convert the records sequentially
+     * @return Ballerina consumer record array
+     */
+    public BArray convert(ConsumerRecords records, int parallelThreshold) {
+        ConsumerRecord[] recordArray = new ConsumerRecord[records.count()];
+        int index = 0;
+        for (Object record : records) {
+            recordArray[index++] = (ConsumerRecord) record;
+        }
+        Object[] consumerRecords = new Object[recordArray.length];
+        if (parallelThreshold > 0 && recordArray.length > parallelThreshold) {
+            int chunkSize = Math.max(MIN_PARALLEL_CHUNK_SIZE,
+                                     recordArray.length / ForkJoinPool.getCommonPoolParallelism() + 1);
+            ForkJoinPool.commonPool().invoke(new ConversionTask(recordArray, consumerRecords, 0, recordArray.length,
+                                                                chunkSize));
+        } else {
+            convert(recordArray, consumerRecords, 0, recordArray.length);
+        }
+        return ValueCreator.createArrayValue(consumerRecords, consumerRecordArrayType);
+    }
+
+    private void convert(ConsumerRecord[] records, Object[] consumerRecords, int from, int to) {
+        for (int i = from; i < to; i++) {
+            consumerRecords[i] = convert(records[i]);
+        }
+    }
+
+    public ArrayType getConsumerRecordArrayType() {
+        return consumerRecordArrayType;
+    }
+
+    private static BMap<BString, Object> createRecordValue(Type recordType, Object... values) {
+        return ValueCreator.createRecordValue(ValueCreator.createMapValue(recordType), values);
+    }
+
+    private static ValueConverter getValueConverter(String type) {
+        switch (type) {
+            case KafkaConstants.SERDES_BYTE_ARRAY:
+                return value -> {
+                    if (value instanceof byte[]) {
+                        return ValueCreator.createArrayValue((byte[]) value);
+                    }
+                    throw createKafkaError("Invalid type - expected: byte[]", CONSUMER_ERROR);
+                };
+            case KafkaConstants.SERDES_STRING:
+                return value -> {
+                    if (value instanceof String) {
+                        return StringUtils.fromString((String) value);
+                    }
+                    throw createKafkaError("Invalid type - expected: string", CONSUMER_ERROR);
+                };
+            case KafkaConstants.SERDES_INT:
+                return value -> {
+                    if (value instanceof Long) {
+                        return value;
+                    }
+                    throw createKafkaError("Invalid type - expected: int", CONSUMER_ERROR);
+                };
+            case KafkaConstants.SERDES_FLOAT:
+                return value -> {
+                    if (value instanceof Double) {
+                        return value;
+                    }
+                    throw createKafkaError("Invalid type - expected: float", CONSUMER_ERROR);
+                };
+            case KafkaConstants.SERDES_AVRO:
+                return AvroUtils::handleAvroConsumer;
+            case KafkaConstants.SERDES_CUSTOM:
+                return value -> value;
+            default:
+                throw createKafkaError("Unexpected type found for consumer record", CONSUMER_ERROR);
+        }
+    }
+
+    /**
+     * Converts a range of records, splitting the range into halves until it is not larger than the chunk size.
+     */
+    private class ConversionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ConsumerRecord[] records;
+        private final Object[] consumerRecords;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        ConversionTask(ConsumerRecord[] records, Object[] consumerRecords, int from, int to, int chunkSize) {
+            this.records = records;
+            this.consumerRecords = consumerRecords;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                convert(records, consumerRecords, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ConversionTask(records, consumerRecords, from, middle, chunkSize),
+                      new ConversionTask(records, consumerRecords, middle, to, chunkSize));
+        }
+    }
+
+    /**
+     * Converts a deserialized Kafka key or value into its Ballerina representation.
+     */
+    @FunctionalInterface
+    private interface ValueConverter {
+        Object convert(Object value);
+    }
+}
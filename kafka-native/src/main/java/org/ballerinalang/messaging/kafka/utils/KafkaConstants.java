@@ -44,6 +44,13 @@ public class KafkaConstants {
     public static final String NATIVE_PRODUCER = "KafkaProducer";
     public static final String NATIVE_CONSUMER_CONFIG = "KafkaConsumerConfig";
     public static final String NATIVE_PRODUCER_CONFIG = "KafkaProducerConfig";
+    public static final String NATIVE_RECORD_CONVERTER = "KafkaRecordConverter";
+    public static final String NATIVE_CONSUMER_PREFETCHER = "KafkaConsumerPrefetcher";
+    public static final String NATIVE_RECORD_ITERATOR = "KafkaRecordIterator";
+    public static final String NATIVE_RECORD_ENCODER = "KafkaRecordEncoder";
+    public static final String NATIVE_PARTITION_LEVEL_METRICS = "KafkaPartitionLevelMetrics";
+    public static final String NATIVE_CLIENT_METRICS_BRIDGE = "KafkaClientMetricsBridge";
+    public static final String NATIVE_TRACING_SAMPLER = "KafkaTracingSampler";
     public static final BString CONNECTOR_ID = StringUtils.fromString("connectorId");
 
     public static final String TRANSACTION_CONTEXT = "TransactionInitiated";
@@ -52,6 +59,7 @@ public class KafkaConstants {
     public static final BString AVRO_DATA_RECORD_NAME = StringUtils.fromString("dataRecord");
     public static final BString AVRO_SCHEMA_STRING_NAME = StringUtils.fromString("schemaString");
     public static final String OFFSET_STRUCT_NAME = "PartitionOffset";
+    public static final String PARTITION_LAG_STRUCT_NAME = "PartitionLag";
 
     public static final String CONSUMER_ERROR = "ConsumerError";
     public static final String PRODUCER_ERROR = "ProducerError";
@@ -60,12 +68,18 @@ public class KafkaConstants {
 
     public static final String AVRO_GENERIC_RECORD_NAME = "AvroGenericRecord";
     public static final String CONSUMER_RECORD_STRUCT_NAME = "ConsumerRecord";
+    public static final String CONSUMER_RECORD_BATCH_STRUCT_NAME = "ConsumerRecordBatch";
     public static final String CONSUMER_STRUCT_NAME = "Consumer";
     public static final String CALLER_STRUCT_NAME = "Caller";
+    public static final String RECORD_ITERATOR_CLASS_NAME = "RecordIterator";
     public static final String SERVER_CONNECTOR = "serverConnector";
+    public static final String KAFKA_LISTENER = "kafkaListener";
+    public static final String SERVICE_CONFIG_ANNOTATION = "ServiceConfig";
 
     public static final BString CONSUMER_CONFIG_FIELD_NAME = StringUtils.fromString("consumerConfig");
     public static final BString PRODUCER_CONFIG_FIELD_NAME = StringUtils.fromString("producerConfig");
+    public static final BString KEY_SERIALIZER_TYPE_FIELD_NAME = StringUtils.fromString("keySerializerType");
+    public static final BString VALUE_SERIALIZER_TYPE_FIELD_NAME = StringUtils.fromString("valueSerializerType");
 
     public static final String KAFKA_RESOURCE_ON_RECORD = "onConsumerRecord";
 
@@ -76,15 +90,47 @@ public class KafkaConstants {
     public static final BString ALIAS_POLLING_TIMEOUT = StringUtils.fromString("pollingTimeoutInMillis");
     public static final BString ALIAS_POLLING_INTERVAL = StringUtils.fromString("pollingIntervalInMillis");
     public static final BString ALIAS_DECOUPLE_PROCESSING = StringUtils.fromString("decoupleProcessing");
+    public static final BString ALIAS_KEEP_ALIVE_POLLING = StringUtils.fromString("keepAlivePolling");
+    public static final BString ALIAS_PREFETCH_BATCHES = StringUtils.fromString("prefetchBatches");
+    public static final BString ALIAS_PARALLEL_CONVERSION_THRESHOLD =
+            StringUtils.fromString("parallelConversionThreshold");
+    public static final BString ALIAS_PARTITION_LEVEL_METRICS = StringUtils.fromString("partitionLevelMetrics");
+    public static final BString ALIAS_CLIENT_METRICS = StringUtils.fromString("clientMetrics");
+    public static final BString ALIAS_TRACING_SAMPLING_RATE = StringUtils.fromString("tracingSamplingRate");
+    public static final BString ALIAS_REVOKE_TIMEOUT = StringUtils.fromString("revokeTimeoutInMillis");
+    public static final BString ALIAS_GRACEFUL_SHUTDOWN_TIMEOUT =
+            StringUtils.fromString("gracefulShutdownTimeoutInMillis");
+    public static final BString ALIAS_LAG_REFRESH_INTERVAL = StringUtils.fromString("lagRefreshIntervalInMillis");
+    public static final BString ALIAS_CLIENT_METRICS_INTERVAL =
+            StringUtils.fromString("clientMetricsIntervalInMillis");
+    public static final BString ALIAS_RECORD_FILTERS = StringUtils.fromString("recordFilters");
+    public static final BString ALIAS_ELASTIC_CONSUMERS = StringUtils.fromString("elasticConsumers");
+    public static final BString ALIAS_MIN_CONSUMERS = StringUtils.fromString("minConsumers");
+    public static final BString ALIAS_MAX_CONSUMERS = StringUtils.fromString("maxConsumers");
+    public static final BString ALIAS_LAG_THRESHOLD = StringUtils.fromString("lagThreshold");
+    public static final BString ALIAS_SCALE_UP_UTILIZATION = StringUtils.fromString("scaleUpUtilization");
+    public static final BString ALIAS_SCALE_DOWN_UTILIZATION = StringUtils.fromString("scaleDownUtilization");
+    public static final BString ALIAS_EVALUATION_INTERVAL = StringUtils.fromString("evaluationIntervalInMillis");
+    public static final BString ALIAS_STABLE_EVALUATIONS = StringUtils.fromString("stableEvaluations");
+    public static final BString ALIAS_COOLDOWN = StringUtils.fromString("cooldownInMillis");
+    public static final BString ALIAS_KEY_PREFIX = StringUtils.fromString("keyPrefix");
+    public static final BString ALIAS_HEADER = StringUtils.fromString("header");
+    public static final BString ALIAS_NAME = StringUtils.fromString("name");
+    public static final BString ALIAS_FROM_TIMESTAMP = StringUtils.fromString("fromTimestamp");
+    public static final BString ALIAS_TO_TIMESTAMP = StringUtils.fromString("toTimestamp");
     public static final BString ALIAS_TOPIC = StringUtils.fromString("topic");
     public static final BString ALIAS_PARTITION = StringUtils.fromString("partition");
     public static final BString ALIAS_OFFSET = StringUtils.fromString("offset");
     public static final String ALIAS_DURATION = "duration";
     public static final BString ALIAS_VALUE = StringUtils.fromString("value");
+    public static final BString ALIAS_KEY = StringUtils.fromString("key");
+    public static final BString ALIAS_TIMESTAMP = StringUtils.fromString("timestamp");
+    public static final BString ALIAS_HEADERS = StringUtils.fromString("headers");
 
     // Consumer Configuration.
     public static final BString CONSUMER_BOOTSTRAP_SERVERS_CONFIG = StringUtils.fromString("bootstrapServers");
     public static final BString CONSUMER_GROUP_ID_CONFIG = StringUtils.fromString("groupId");
+    public static final BString CONSUMER_GROUP_INSTANCE_ID_CONFIG = StringUtils.fromString("groupInstanceId");
     public static final BString CONSUMER_AUTO_OFFSET_RESET_CONFIG = StringUtils.fromString("offsetReset");
     public static final BString CONSUMER_PARTITION_ASSIGNMENT_STRATEGY_CONFIG = StringUtils.fromString(
             "partitionAssignmentStrategy");
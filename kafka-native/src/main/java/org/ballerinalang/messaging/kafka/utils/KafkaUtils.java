@@ -18,7 +18,9 @@
 
 package org.ballerinalang.messaging.kafka.utils;
 
+import io.ballerina.runtime.api.Module;
 import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.Runtime;
 import io.ballerina.runtime.api.async.Callback;
 import io.ballerina.runtime.api.async.StrandMetadata;
@@ -26,6 +28,8 @@ import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.MethodType;
+import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
@@ -43,10 +47,15 @@ import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.config.SaslConfigs;
 import org.apache.kafka.common.config.SslConfigs;
+import org.ballerinalang.messaging.kafka.impl.KafkaConsumerScalingPolicy;
+import org.ballerinalang.messaging.kafka.impl.KafkaRecordFilter;
+import org.ballerinalang.messaging.kafka.impl.KafkaRecordIterator;
 import org.ballerinalang.messaging.kafka.observability.KafkaMetricsUtil;
 import org.ballerinalang.messaging.kafka.observability.KafkaObservabilityConstants;
+import org.ballerinalang.messaging.kafka.observability.KafkaTracingSampler;
 import org.slf4j.Logger;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -56,10 +65,11 @@ import java.util.Properties;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
-import static org.ballerinalang.messaging.kafka.utils.AvroUtils.handleAvroConsumer;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.CONSUMER_ERROR;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_CONSUMER;
 import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_CONSUMER_CONFIG;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_RECORD_CONVERTER;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.NATIVE_RECORD_ITERATOR;
 
 /**
  * Utility class for Kafka Connector Implementation.
@@ -69,32 +79,173 @@ public class KafkaUtils {
     private KafkaUtils() {
     }
 
-    public static Object[] getResourceParameters(BObject service, BObject listener,
-                                                 ConsumerRecords records) {
+    /**
+     * Returns the parameters of the `onConsumerRecord` remote function of a Kafka service. The records are passed as a
+     * `kafka:ConsumerRecordBatch` or a `stream<kafka:ConsumerRecord>` if the service accepts either of them, where a
+     * record of a stream is converted only when the service reads it from the stream, or as a
+     * `kafka:ConsumerRecord[]` otherwise.
+     *
+     * @param listener        Kafka listener object
+     * @param consumer        Kafka consumer of the listener
+     * @param records         records dispatched to the service
+     * @param recordConverter converter of the records
+     * @param recordsType     type of the records parameter of the remote function
+     * @param recordIterator  iterator over the records, if they are passed as a stream
+     * @return the parameters of the remote function
+     */
+    public static Object[] getResourceParameters(BObject listener, KafkaConsumer consumer, ConsumerRecords records,
+                                                 ConsumerRecordConverter recordConverter, Type recordsType,
+                                                 KafkaRecordIterator recordIterator) {
+        Object consumerRecords;
+        if (isConsumerRecordBatchType(recordsType)) {
+            consumerRecords = getConsumerRecordBatch(records, recordConverter);
+        } else if (isRecordStreamType(recordsType)) {
+            BObject iterator = ValueCreator.createObjectValue(ModuleUtils.getModule(),
+                                                              KafkaConstants.RECORD_ITERATOR_CLASS_NAME);
+            iterator.addNativeData(NATIVE_RECORD_ITERATOR, recordIterator);
+            consumerRecords = ValueCreator.createStreamValue(recordsType, iterator);
+        } else {
+            consumerRecords = recordConverter.convert(records);
+        }
+        BObject caller = ValueCreator.createObjectValue(ModuleUtils.getModule(), KafkaConstants.CALLER_STRUCT_NAME);
+        Properties consumerProperties = (Properties) listener.getNativeData(NATIVE_CONSUMER_CONFIG);
+        caller.addNativeData(NATIVE_CONSUMER, consumer);
+        caller.addNativeData(NATIVE_CONSUMER_CONFIG, consumerProperties);
+        return new Object[]{caller, true, consumerRecords, true};
+    }
+
+    /**
+     * Returns whether the records of a Kafka service are passed as a `stream<kafka:ConsumerRecord>`.
+     *
+     * @param recordsType type of the records parameter of the remote function
+     * @return true if the records are passed as a stream
+     */
+    public static boolean isRecordStreamType(Type recordsType) {
+        return Objects.nonNull(recordsType) && recordsType.getTag() == TypeTags.STREAM_TAG;
+    }
 
-        BArray consumerRecordsArray = ValueCreator.createArrayValue(
-                TypeCreator.createArrayType(getConsumerRecord().getType()));
-        String keyType = KafkaConstants.DEFAULT_SER_DES_TYPE;
-        String valueType = KafkaConstants.DEFAULT_SER_DES_TYPE;
+    private static boolean isConsumerRecordBatchType(Type recordsType) {
+        return Objects.nonNull(recordsType) && recordsType.getTag() == TypeTags.RECORD_TYPE_TAG
+                && KafkaConstants.CONSUMER_RECORD_BATCH_STRUCT_NAME.equals(recordsType.getName());
+    }
 
-        if (service.getType().getMethods()[0].getParameterTypes().length == 2) {
-            for (Object record : records) {
-                BMap<BString, Object> consumerRecord = populateConsumerRecord(
-                        (ConsumerRecord) record, keyType, valueType);
-                consumerRecordsArray.append(consumerRecord);
+    /**
+     * Converts the records of a poll into a columnar `kafka:ConsumerRecordBatch` in a single pass, where the n-th
+     * element of each column belongs to the n-th record. The topic of a record is stored as an index into the topics
+     * of the batch, so that each topic name is created once per batch.
+     *
+     * @param records         Kafka consumer records
+     * @param recordConverter converter of the keys and the values of the records
+     * @return Ballerina consumer record batch
+     */
+    public static BMap<BString, Object> getConsumerRecordBatch(ConsumerRecords records,
+                                                               ConsumerRecordConverter recordConverter) {
+        int count = records.count();
+        List<BString> topics = new ArrayList<>();
+        Map<String, Integer> topicIndexes = new HashMap<>();
+        long[] recordTopics = new long[count];
+        long[] partitions = new long[count];
+        long[] offsets = new long[count];
+        long[] timestamps = new long[count];
+        Object[] keys = new Object[count];
+        Object[] values = new Object[count];
+        int index = 0;
+        for (Object object : records) {
+            ConsumerRecord record = (ConsumerRecord) object;
+            Integer topicIndex = topicIndexes.get(record.topic());
+            if (Objects.isNull(topicIndex)) {
+                topicIndex = topics.size();
+                topicIndexes.put(record.topic(), topicIndex);
+                topics.add(StringUtils.fromString(record.topic()));
             }
-            BObject caller =
-                    ValueCreator.createObjectValue(ModuleUtils.getModule(), KafkaConstants.CALLER_STRUCT_NAME);
-            KafkaConsumer consumer = (KafkaConsumer) listener.getNativeData(NATIVE_CONSUMER);
-            Properties consumerProperties = (Properties) listener.getNativeData(NATIVE_CONSUMER_CONFIG);
-            caller.addNativeData(NATIVE_CONSUMER, consumer);
-            caller.addNativeData(NATIVE_CONSUMER_CONFIG, consumerProperties);
-            return new Object[]{caller, true, consumerRecordsArray, true};
-        } else {
-            throw KafkaUtils.createKafkaError("Invalid remote function signature", CONSUMER_ERROR);
+            recordTopics[index] = topicIndex;
+            partitions[index] = record.partition();
+            offsets[index] = record.offset();
+            timestamps[index] = record.timestamp();
+            keys[index] = recordConverter.convertKey(record.key());
+            values[index] = recordConverter.convertValue(record.value());
+            index++;
+        }
+        ArrayType anydataArrayType = TypeCreator.createArrayType(PredefinedTypes.TYPE_ANYDATA);
+        return ValueCreator.createRecordValue(createKafkaRecord(KafkaConstants.CONSUMER_RECORD_BATCH_STRUCT_NAME),
+                                              ValueCreator.createArrayValue(topics.toArray(new BString[0])),
+                                              ValueCreator.createArrayValue(recordTopics),
+                                              ValueCreator.createArrayValue(partitions),
+                                              ValueCreator.createArrayValue(offsets),
+                                              ValueCreator.createArrayValue(timestamps),
+                                              ValueCreator.createArrayValue(keys, anydataArrayType),
+                                              ValueCreator.createArrayValue(values, anydataArrayType));
+    }
+
+    /**
+     * Returns the type of the records parameter of the `onConsumerRecord` remote function of a Kafka service.
+     *
+     * @param service Kafka service object
+     * @return the type of the records parameter, or null if the service does not have a valid remote function
+     */
+    public static Type getRecordsParameterType(BObject service) {
+        for (MethodType method : service.getType().getMethods()) {
+            if (KafkaConstants.KAFKA_RESOURCE_ON_RECORD.equals(method.getName())
+                    && method.getParameterTypes().length == 2) {
+                return method.getParameterTypes()[1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Validates the signature of the `onConsumerRecord` remote function of a Kafka service, which accepts the records
+     * as a `kafka:ConsumerRecord[]`, a `stream<kafka:ConsumerRecord>` or a `kafka:ConsumerRecordBatch`.
+     *
+     * @param service Kafka service object
+     * @return {@code BError} if the signature is invalid, null otherwise
+     */
+    public static BError validateResourceSignature(BObject service) {
+        for (MethodType method : service.getType().getMethods()) {
+            if (KafkaConstants.KAFKA_RESOURCE_ON_RECORD.equals(method.getName())) {
+                Type[] parameterTypes = method.getParameterTypes();
+                if (parameterTypes.length == 2 && (parameterTypes[1].getTag() == TypeTags.ARRAY_TAG
+                        || isRecordStreamType(parameterTypes[1]) || isConsumerRecordBatchType(parameterTypes[1]))) {
+                    return null;
+                }
+                break;
+            }
+        }
+        return createKafkaError("Invalid remote function signature", CONSUMER_ERROR);
+    }
+
+    /**
+     * Returns the `kafka:ServiceConfig` annotation of a Kafka service.
+     *
+     * @param service Kafka service object
+     * @return the service configurations, or null if the service is not annotated
+     */
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    public static BMap<BString, Object> getServiceConfig(BObject service) {
+        Module module = ModuleUtils.getModule();
+        String annotationName = module.getOrg() + "/" + module.getName() + ":" + module.getVersion() + ":"
+                + KafkaConstants.SERVICE_CONFIG_ANNOTATION;
+        return (BMap<BString, Object>) service.getType().getAnnotation(StringUtils.fromString(annotationName));
+    }
+
+    /**
+     * Returns the consumer record converter of a Kafka consumer or a listener, creating one if it is not resolved yet.
+     *
+     * @param consumerObject Kafka consumer or listener object
+     * @return the consumer record converter
+     */
+    public static ConsumerRecordConverter getConsumerRecordConverter(BObject consumerObject) {
+        ConsumerRecordConverter recordConverter =
+                (ConsumerRecordConverter) consumerObject.getNativeData(NATIVE_RECORD_CONVERTER);
+        if (Objects.isNull(recordConverter)) {
+            recordConverter = new ConsumerRecordConverter(KafkaConstants.DEFAULT_SER_DES_TYPE,
+                                                          KafkaConstants.DEFAULT_SER_DES_TYPE);
+            consumerObject.addNativeData(NATIVE_RECORD_CONVERTER, recordConverter);
         }
+        return recordConverter;
     }
 
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
     public static Properties processKafkaConsumerConfig(BMap<BString, Object> configurations) {
         Properties properties = new Properties();
 
@@ -102,6 +253,8 @@ public class KafkaUtils {
                                 KafkaConstants.CONSUMER_BOOTSTRAP_SERVERS_CONFIG);
         addStringParamIfPresent(ConsumerConfig.GROUP_ID_CONFIG, configurations, properties,
                                 KafkaConstants.CONSUMER_GROUP_ID_CONFIG);
+        addStringParamIfPresent(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG, configurations, properties,
+                                KafkaConstants.CONSUMER_GROUP_INSTANCE_ID_CONFIG);
         addStringParamIfPresent(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, configurations, properties,
                                 KafkaConstants.CONSUMER_AUTO_OFFSET_RESET_CONFIG);
         addStringParamIfPresent(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, configurations, properties,
@@ -181,6 +334,16 @@ public class KafkaUtils {
                              KafkaConstants.ALIAS_POLLING_INTERVAL);
         addIntParamIfPresent(KafkaConstants.ALIAS_CONCURRENT_CONSUMERS.getValue(), configurations, properties,
                              KafkaConstants.ALIAS_CONCURRENT_CONSUMERS);
+        addIntParamIfPresent(KafkaConstants.ALIAS_LAG_REFRESH_INTERVAL.getValue(), configurations, properties,
+                             KafkaConstants.ALIAS_LAG_REFRESH_INTERVAL);
+        addIntParamIfPresent(KafkaConstants.ALIAS_REVOKE_TIMEOUT.getValue(), configurations, properties,
+                             KafkaConstants.ALIAS_REVOKE_TIMEOUT);
+        addIntParamIfPresent(KafkaConstants.ALIAS_GRACEFUL_SHUTDOWN_TIMEOUT.getValue(), configurations, properties,
+                             KafkaConstants.ALIAS_GRACEFUL_SHUTDOWN_TIMEOUT);
+        addIntParamIfPresent(KafkaConstants.ALIAS_PREFETCH_BATCHES.getValue(), configurations, properties,
+                             KafkaConstants.ALIAS_PREFETCH_BATCHES);
+        addIntParamIfPresent(KafkaConstants.ALIAS_PARALLEL_CONVERSION_THRESHOLD.getValue(), configurations, properties,
+                             KafkaConstants.ALIAS_PARALLEL_CONVERSION_THRESHOLD);
 
         addBooleanParamIfPresent(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, configurations, properties,
                                  KafkaConstants.CONSUMER_ENABLE_AUTO_COMMIT_CONFIG, true);
@@ -191,6 +354,17 @@ public class KafkaUtils {
 
         addBooleanParamIfPresent(KafkaConstants.ALIAS_DECOUPLE_PROCESSING.getValue(), configurations, properties,
                                  KafkaConstants.ALIAS_DECOUPLE_PROCESSING, false);
+        addBooleanParamIfPresent(KafkaConstants.ALIAS_KEEP_ALIVE_POLLING.getValue(), configurations, properties,
+                                 KafkaConstants.ALIAS_KEEP_ALIVE_POLLING, false);
+        BMap<BString, Object> elasticConsumers =
+                (BMap<BString, Object>) configurations.get(KafkaConstants.ALIAS_ELASTIC_CONSUMERS);
+        if (Objects.nonNull(elasticConsumers)) {
+            properties.put(KafkaConstants.ALIAS_ELASTIC_CONSUMERS.getValue(), getScalingPolicy(elasticConsumers));
+        }
+        BArray recordFilters = (BArray) configurations.get(KafkaConstants.ALIAS_RECORD_FILTERS);
+        if (Objects.nonNull(recordFilters)) {
+            properties.put(KafkaConstants.ALIAS_RECORD_FILTERS.getValue(), getRecordFilters(recordFilters));
+        }
         if (Objects.nonNull(configurations.get(KafkaConstants.SECURE_SOCKET))) {
             processSslProperties(configurations, properties);
         }
@@ -502,6 +676,62 @@ public class KafkaUtils {
         return partitionList;
     }
 
+    /**
+     * Creates the record filters of a listener from the Ballerina `kafka:RecordFilter[]` in its configurations.
+     *
+     * @param recordFilters Ballerina record filter array
+     * @return list of record filters
+     */
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    public static List<KafkaRecordFilter> getRecordFilters(BArray recordFilters) {
+        List<KafkaRecordFilter> filters = new ArrayList<>();
+        for (int i = 0; i < recordFilters.size(); i++) {
+            BMap<BString, Object> filter = (BMap<BString, Object>) recordFilters.get(i);
+            BString topic = (BString) filter.get(KafkaConstants.ALIAS_TOPIC);
+            String headerName = null;
+            byte[] headerValue = null;
+            BMap<BString, Object> header = (BMap<BString, Object>) filter.get(KafkaConstants.ALIAS_HEADER);
+            if (Objects.nonNull(header)) {
+                headerName = header.getStringValue(KafkaConstants.ALIAS_NAME).getValue();
+                Object value = header.get(KafkaConstants.ALIAS_VALUE);
+                if (value instanceof BString) {
+                    headerValue = ((BString) value).getValue().getBytes(StandardCharsets.UTF_8);
+                } else if (value instanceof BArray) {
+                    headerValue = ((BArray) value).getBytes();
+                }
+            }
+            filters.add(new KafkaRecordFilter(Objects.isNull(topic) ? null : topic.getValue(),
+                                              getFilterKey(filter.get(KafkaConstants.ALIAS_KEY)),
+                                              getFilterKey(filter.get(KafkaConstants.ALIAS_KEY_PREFIX)),
+                                              headerName, headerValue,
+                                              (Long) filter.get(KafkaConstants.ALIAS_FROM_TIMESTAMP),
+                                              (Long) filter.get(KafkaConstants.ALIAS_TO_TIMESTAMP)));
+        }
+        return filters;
+    }
+
+    private static KafkaConsumerScalingPolicy getScalingPolicy(BMap<BString, Object> elasticConsumers) {
+        Long maxConsumers = (Long) elasticConsumers.get(KafkaConstants.ALIAS_MAX_CONSUMERS);
+        return new KafkaConsumerScalingPolicy(
+                elasticConsumers.getIntValue(KafkaConstants.ALIAS_MIN_CONSUMERS).intValue(),
+                Objects.isNull(maxConsumers) ? 0 : maxConsumers.intValue(),
+                elasticConsumers.getIntValue(KafkaConstants.ALIAS_LAG_THRESHOLD),
+                elasticConsumers.getFloatValue(KafkaConstants.ALIAS_SCALE_UP_UTILIZATION),
+                elasticConsumers.getFloatValue(KafkaConstants.ALIAS_SCALE_DOWN_UTILIZATION),
+                elasticConsumers.getIntValue(KafkaConstants.ALIAS_EVALUATION_INTERVAL),
+                elasticConsumers.getIntValue(KafkaConstants.ALIAS_STABLE_EVALUATIONS).intValue(),
+                elasticConsumers.getIntValue(KafkaConstants.ALIAS_COOLDOWN));
+    }
+
+    private static Object getFilterKey(Object key) {
+        if (key instanceof BString) {
+            return ((BString) key).getValue();
+        } else if (key instanceof BArray) {
+            return ((BArray) key).getBytes();
+        }
+        return null;
+    }
+
     public static List<String> getStringListFromStringBArray(BArray stringArray) {
         ArrayList<String> values = new ArrayList<>();
         if ((Objects.isNull(stringArray)) ||
@@ -532,57 +762,6 @@ public class KafkaUtils {
         return ValueCreator.createRecordValue(getPartitionOffsetRecord(), topicPartition, offset);
     }
 
-    public static BMap<BString, Object> populateConsumerRecord(ConsumerRecord record, String keyType,
-                                                                   String valueType) {
-        Object key = null;
-        if (Objects.nonNull(record.key())) {
-            key = getBValues(record.key(), keyType);
-        }
-
-        Object value = getBValues(record.value(), valueType);
-        Object[] fields = new Object[4];
-        fields[0] = key;
-        fields[1] = value;
-        fields[2] = record.timestamp();
-        BMap<BString, Object> topicPartition = ValueCreator.createRecordValue(getTopicPartitionRecord(), record.topic(),
-                                                                              record.partition());
-        fields[3] = ValueCreator.createRecordValue(getPartitionOffsetRecord(), topicPartition, record.offset());
-        return ValueCreator.createRecordValue(getConsumerRecord(), fields);
-    }
-
-    private static Object getBValues(Object value, String type) {
-        if (KafkaConstants.SERDES_BYTE_ARRAY.equals(type)) {
-            if (value instanceof byte[]) {
-                return ValueCreator.createArrayValue((byte[]) value);
-            } else {
-                throw createKafkaError(CONSUMER_ERROR, "Invalid type - expected: byte[]");
-            }
-        } else if (KafkaConstants.SERDES_STRING.equals(type)) {
-            if (value instanceof String) {
-                return StringUtils.fromString((String) value);
-            } else {
-                throw createKafkaError(CONSUMER_ERROR, "Invalid type - expected: string");
-            }
-        } else if (KafkaConstants.SERDES_INT.equals(type)) {
-            if (value instanceof Long) {
-                return value;
-            } else {
-                throw createKafkaError(CONSUMER_ERROR, "Invalid type - expected: int");
-            }
-        } else if (KafkaConstants.SERDES_FLOAT.equals(type)) {
-            if (value instanceof Double) {
-                return value;
-            } else {
-                throw createKafkaError(CONSUMER_ERROR, "Invalid type - expected: float");
-            }
-        } else if (KafkaConstants.SERDES_AVRO.equals(type)) {
-            return handleAvroConsumer(value);
-        } else if (KafkaConstants.SERDES_CUSTOM.equals(type)) {
-            return value;
-        }
-        throw createKafkaError("Unexpected type found for consumer record", CONSUMER_ERROR);
-    }
-
     public static BMap<BString, Object> getConsumerRecord() {
         return createKafkaRecord(KafkaConstants.CONSUMER_RECORD_STRUCT_NAME);
     }
@@ -599,6 +778,10 @@ public class KafkaUtils {
         return createKafkaRecord(KafkaConstants.TOPIC_PARTITION_STRUCT_NAME);
     }
 
+    public static BMap<BString, Object> getPartitionLagRecord() {
+        return createKafkaRecord(KafkaConstants.PARTITION_LAG_STRUCT_NAME);
+    }
+
     public static BError createKafkaError(String message, String typeId) {
         return ErrorCreator.createDistinctError(typeId, ModuleUtils.getModule(),
                                                 StringUtils.fromString(message));
@@ -628,6 +811,18 @@ public class KafkaUtils {
         return partitionOffsetArray;
     }
 
+    public static BArray getPartitionLagArrayFromLagMap(Map<TopicPartition, Long> lagMap) {
+        BArray partitionLagArray = ValueCreator.createArrayValue(TypeCreator.createArrayType(
+                getPartitionLagRecord().getType()));
+        for (Map.Entry<TopicPartition, Long> entry : lagMap.entrySet()) {
+            TopicPartition tp = entry.getKey();
+            BMap<BString, Object> topicPartition = populateTopicPartitionRecord(tp.topic(), tp.partition());
+            partitionLagArray.append(ValueCreator.createRecordValue(getPartitionLagRecord(), topicPartition,
+                                                                    entry.getValue()));
+        }
+        return partitionLagArray;
+    }
+
     /**
      * Get {@code Map<TopicPartition, OffsetAndMetadata>} map used in committing consumers.
      *
@@ -773,6 +968,29 @@ public class KafkaUtils {
         return clientId;
     }
 
+    /**
+     * Creates the tracing sampler of a Kafka client from the sampling rate in the client configurations.
+     *
+     * @param configurations Configurations of the client
+     * @param errorType      Type of the error returned if the sampling rate is invalid
+     * @return {@code KafkaTracingSampler} of the client
+     */
+    public static KafkaTracingSampler createTracingSampler(BMap<BString, Object> configurations, String errorType) {
+        double samplingRate = configurations.getFloatValue(KafkaConstants.ALIAS_TRACING_SAMPLING_RATE);
+        if (samplingRate < 0 || samplingRate > 1) {
+            throw createKafkaError("Invalid tracing sampling rate: " + samplingRate
+                                           + ". The sampling rate should be between 0.0 and 1.0.", errorType);
+        }
+        return new KafkaTracingSampler(samplingRate);
+    }
+
+    public static boolean isPartitionLevelMetricsEnabled(BObject object) {
+        if (object == null) {
+            return false;
+        }
+        return Boolean.TRUE.equals(object.getNativeData(KafkaConstants.NATIVE_PARTITION_LEVEL_METRICS));
+    }
+
     public static Object invokeMethodSync(Runtime runtime, BObject object, String methodName, String strandName,
                                           StrandMetadata metadata, int timeout, Object... args) {
         Semaphore semaphore = new Semaphore(0);
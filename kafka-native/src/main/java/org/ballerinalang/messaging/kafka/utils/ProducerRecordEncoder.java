@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.messaging.kafka.utils;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_HEADERS;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_KEY;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_PARTITION;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_TIMESTAMP;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_TOPIC;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.ALIAS_VALUE;
+import static org.ballerinalang.messaging.kafka.utils.KafkaConstants.PRODUCER_ERROR;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.createKafkaError;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getIntValue;
+import static org.ballerinalang.messaging.kafka.utils.KafkaUtils.getLongValue;
+
+/**
+ * Encodes Ballerina `kafka:ProducerRecord` values into Kafka producer records. The key and value encoders are
+ * resolved once from the serializer types when the producer is initialized, so that sending a record does not need to
+ * look at the serializer types again.
+ */
+public class ProducerRecordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProducerRecordEncoder.class);
+
+    private final ValueEncoder keyEncoder;
+    private final ValueEncoder valueEncoder;
+
+    public ProducerRecordEncoder(String keyType, String valueType) {
+        this.keyEncoder = getValueEncoder(keyType, "key");
+        this.valueEncoder = getValueEncoder(valueType, "value");
+    }
+
+    /**
+     * Encodes a Ballerina producer record into a Kafka producer record.
+     *
+     * @param producerRecord Ballerina producer record
+     * @return Kafka producer record
+     */
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    public ProducerRecord<Object, Object> encode(BMap<BString, Object> producerRecord) {
+        Object key = producerRecord.get(ALIAS_KEY);
+        BMap<BString, Object> headers = (BMap<BString, Object>) producerRecord.get(ALIAS_HEADERS);
+        return new ProducerRecord<>(producerRecord.getStringValue(ALIAS_TOPIC).getValue(),
+                                    getIntValue(producerRecord.get(ALIAS_PARTITION), ALIAS_PARTITION,
+                                                logger),
+                                    getLongValue(producerRecord.get(ALIAS_TIMESTAMP)),
+                                    key == null ? null : keyEncoder.encode(key),
+                                    valueEncoder.encode(producerRecord.get(ALIAS_VALUE)),
+                                    headers == null ? null : encodeHeaders(headers));
+    }
+
+    /**
+     * Encodes the headers of a Ballerina producer record. A `byte[][]` header value is added as a separate header for
+     * each of its elements, in order.
+     *
+     * @param headers Ballerina header map
+     * @return Kafka record headers
+     */
+    private static Headers encodeHeaders(BMap<BString, Object> headers) {
+        Headers recordHeaders = new RecordHeaders();
+        for (Map.Entry<BString, Object> header : headers.entrySet()) {
+            String key = header.getKey().getValue();
+            BArray value = (BArray) header.getValue();
+            if (value.getElementType().getTag() == TypeTags.BYTE_TAG) {
+                recordHeaders.add(key, value.getBytes());
+            } else {
+                for (int i = 0; i < value.size(); i++) {
+                    recordHeaders.add(key, ((BArray) value.getRefValue(i)).getBytes());
+                }
+            }
+        }
+        return recordHeaders;
+    }
+
+    @SuppressWarnings(KafkaConstants.UNCHECKED)
+    private static ValueEncoder getValueEncoder(String type, String field) {
+        switch (type) {
+            case KafkaConstants.SERDES_BYTE_ARRAY:
+                return value -> {
+                    if (value instanceof BArray) {
+                        return ((BArray) value).getBytes();
+                    }
+                    throw getTypeMismatchError(field, "byte[]");
+                };
+            case KafkaConstants.SERDES_STRING:
+                return value -> {
+                    if (value instanceof BString) {
+                        return ((BString) value).getValue();
+                    }
+                    throw getTypeMismatchError(field, "string");
+                };
+            case KafkaConstants.SERDES_INT:
+                return value -> {
+                    if (value instanceof Long) {
+                        return value;
+                    }
+                    throw getTypeMismatchError(field, "int");
+                };
+            case KafkaConstants.SERDES_FLOAT:
+                return value -> {
+                    if (value instanceof Double) {
+                        return value;
+                    }
+                    throw getTypeMismatchError(field, "float");
+                };
+            case KafkaConstants.SERDES_AVRO:
+                return value -> {
+                    if (value instanceof BMap) {
+                        return AvroUtils.createGenericRecord((BMap<BString, Object>) value);
+                    }
+                    throw getTypeMismatchError(field, "kafka:AvroRecord");
+                };
+            case KafkaConstants.SERDES_CUSTOM:
+                return value -> value;
+            default:
+                throw createKafkaError("Invalid " + field + " serializer configuration", PRODUCER_ERROR);
+        }
+    }
+
+    private static RuntimeException getTypeMismatchError(String field, String expectedType) {
+        return createKafkaError("Invalid type found for Kafka " + field + ". Expected " + field + " type: '" +
+                                        expectedType + "'.", PRODUCER_ERROR);
+    }
+
+    /**
+     * Encodes a Ballerina key or value into the type expected by the Kafka serializer.
+     */
+    @FunctionalInterface
+    private interface ValueEncoder {
+        Object encode(Object value);
+    }
+}
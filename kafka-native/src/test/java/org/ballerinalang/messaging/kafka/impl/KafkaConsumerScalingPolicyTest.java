@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.messaging.kafka.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the scaling decisions of the elastic consumers of a listener.
+ */
+public class KafkaConsumerScalingPolicyTest {
+
+    private static final long LAG_THRESHOLD = 100;
+    private static final int STABLE_EVALUATIONS = 3;
+    private static final long COOLDOWN = 5000;
+
+    @Test(description = "Test scaling up only after consecutive overloaded evaluations")
+    public void testScaleUpAfterStableEvaluations() {
+        KafkaConsumerScalingPolicy policy = createPolicy();
+        long time = COOLDOWN;
+        Assert.assertEquals(policy.evaluate(1000, 0.5, 2, 4, time++), 0);
+        Assert.assertEquals(policy.evaluate(1000, 0.5, 2, 4, time++), 0);
+        // An evaluation which is not overloaded starts the count again.
+        Assert.assertEquals(policy.evaluate(0, 0.5, 2, 4, time++), 0);
+        Assert.assertEquals(policy.evaluate(1000, 0.5, 2, 4, time++), 0);
+        Assert.assertEquals(policy.evaluate(0, 0.9, 2, 4, time++), 0);
+        Assert.assertEquals(policy.evaluate(1000, 0.5, 2, 4, time), 1);
+    }
+
+    @Test(description = "Test keeping the consumers while the lag is between the lower and the upper thresholds")
+    public void testHysteresis() {
+        KafkaConsumerScalingPolicy policy = createPolicy();
+        long time = COOLDOWN;
+        // The lag per consumer is below the upper threshold, but above half of it.
+        long lag = 2 * (LAG_THRESHOLD * 3 / 4);
+        for (int i = 0; i < STABLE_EVALUATIONS * 2; i++) {
+            Assert.assertEquals(policy.evaluate(lag, 0.1, 2, 4, time++), 0);
+        }
+        for (int i = 0; i < STABLE_EVALUATIONS - 1; i++) {
+            Assert.assertEquals(policy.evaluate(0, 0.1, 2, 4, time++), 0);
+        }
+        Assert.assertEquals(policy.evaluate(0, 0.1, 2, 4, time), -1);
+    }
+
+    @Test(description = "Test not scaling within the cooldown period, and not beyond the bounds of the policy")
+    public void testCooldownAndBounds() {
+        KafkaConsumerScalingPolicy policy = createPolicy();
+        for (int i = 0; i < STABLE_EVALUATIONS; i++) {
+            Assert.assertEquals(policy.evaluate(1000, 0.5, 2, 4, i), 0);
+        }
+        Assert.assertEquals(policy.evaluate(1000, 0.5, 2, 4, COOLDOWN), 1);
+        for (int i = 1; i <= STABLE_EVALUATIONS; i++) {
+            Assert.assertEquals(policy.evaluate(1000, 0.5, 3, 4, COOLDOWN + i), 0);
+        }
+        Assert.assertEquals(policy.evaluate(1000, 0.5, 3, 4, 2 * COOLDOWN), 1);
+        for (int i = 0; i < STABLE_EVALUATIONS; i++) {
+            Assert.assertEquals(policy.evaluate(1000, 0.5, 4, 4, 3 * COOLDOWN + i), 0);
+        }
+        for (int i = 0; i < STABLE_EVALUATIONS; i++) {
+            Assert.assertEquals(policy.evaluate(0, 0.1, 1, 4, 4 * COOLDOWN + i), 0);
+        }
+    }
+
+    @Test(description = "Test not scaling down the static members of a consumer group")
+    public void testScaleDownDisabled() {
+        KafkaConsumerScalingPolicy policy = createPolicy();
+        policy.disableScaleDown();
+        long time = COOLDOWN;
+        for (int i = 0; i < STABLE_EVALUATIONS * 2; i++) {
+            Assert.assertEquals(policy.evaluate(0, 0.1, 2, 4, time++), 0);
+        }
+        for (int i = 0; i < STABLE_EVALUATIONS - 1; i++) {
+            Assert.assertEquals(policy.evaluate(1000, 0.5, 2, 4, time++), 0);
+        }
+        Assert.assertEquals(policy.evaluate(1000, 0.5, 2, 4, time), 1);
+    }
+
+    private static KafkaConsumerScalingPolicy createPolicy() {
+        KafkaConsumerScalingPolicy policy = new KafkaConsumerScalingPolicy(1, 4, LAG_THRESHOLD, 0.8, 0.3, 1000,
+                                                                           STABLE_EVALUATIONS, COOLDOWN);
+        policy.reset(0);
+        return policy;
+    }
+}
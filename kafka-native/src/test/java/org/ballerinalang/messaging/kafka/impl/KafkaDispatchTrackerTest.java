@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.messaging.kafka.impl;
+
+import io.ballerina.runtime.api.async.Callback;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests the tracking of the batches dispatched by a listener consumer, and of the offsets processed by the services.
+ */
+public class KafkaDispatchTrackerTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("tracker-topic", 0);
+    private static final List<TopicPartition> PARTITIONS = Collections.singletonList(PARTITION);
+
+    @Test(description = "Test advancing the processed offset only over the batches completed in order")
+    public void testOutOfOrderCompletion() throws InterruptedException {
+        KafkaDispatchTracker tracker = new KafkaDispatchTracker();
+        Callback firstBatch = tracker.track(createRecords(0, 2), null);
+        Callback secondBatch = tracker.track(createRecords(2, 2), null);
+        secondBatch.notifySuccess(null);
+        Assert.assertFalse(tracker.awaitCompletion(PARTITIONS, 0));
+        firstBatch.notifySuccess(null);
+        Assert.assertTrue(tracker.awaitCompletion(PARTITIONS, 0));
+        Assert.assertEquals(tracker.removePartitions(PARTITIONS).get(PARTITION).offset(), 4);
+    }
+
+    @Test(description = "Test not committing a batch completed before an earlier batch which is still in flight")
+    public void testEarlierBatchInFlight() {
+        KafkaDispatchTracker tracker = new KafkaDispatchTracker();
+        tracker.track(createRecords(0, 2), null);
+        tracker.track(createRecords(2, 2), null).notifySuccess(null);
+        Assert.assertTrue(tracker.removePartitions(PARTITIONS).isEmpty());
+    }
+
+    @Test(description = "Test keeping the processed offset before a failed batch")
+    public void testFailedBatch() {
+        KafkaDispatchTracker tracker = new KafkaDispatchTracker();
+        Callback firstBatch = tracker.track(createRecords(0, 2), null);
+        Callback secondBatch = tracker.track(createRecords(2, 2), null);
+        Callback thirdBatch = tracker.track(createRecords(4, 2), null);
+        thirdBatch.notifySuccess(null);
+        secondBatch.notifyFailure(null);
+        firstBatch.notifySuccess(null);
+        Map<TopicPartition, OffsetAndMetadata> offsets = tracker.removePartitions(PARTITIONS);
+        Assert.assertEquals(offsets.get(PARTITION).offset(), 2);
+    }
+
+    @Test(description = "Test processing the filtered records once the batches dispatched before them complete")
+    public void testFilteredRecords() {
+        KafkaDispatchTracker tracker = new KafkaDispatchTracker();
+        tracker.trackProcessed(PARTITION, 2);
+        Callback batch = tracker.track(createRecords(2, 2), null);
+        tracker.trackProcessed(PARTITION, 6);
+        Assert.assertEquals(tracker.removePartitions(PARTITIONS).get(PARTITION).offset(), 2);
+
+        tracker.trackProcessed(PARTITION, 2);
+        batch = tracker.track(createRecords(2, 2), null);
+        tracker.trackProcessed(PARTITION, 6);
+        batch.notifySuccess(null);
+        Assert.assertEquals(tracker.removePartitions(PARTITIONS).get(PARTITION).offset(), 6);
+    }
+
+    @Test(description = "Test not processing the records a service did not read from the stream of a batch")
+    public void testUnreadStreamRecords() {
+        KafkaDispatchTracker tracker = new KafkaDispatchTracker();
+        Callback firstBatch = tracker.track(createRecords(0, 4), null);
+        Callback secondBatch = tracker.track(createRecords(4, 2), null);
+        ((KafkaDispatchTracker.StreamedBatchCallback) firstBatch)
+                .notifyUnreadRecords(Collections.singletonMap(PARTITION, 2L));
+        firstBatch.notifySuccess(null);
+        secondBatch.notifySuccess(null);
+        tracker.trackProcessed(PARTITION, 8);
+        Assert.assertEquals(tracker.removePartitions(PARTITIONS).get(PARTITION).offset(), 2);
+    }
+
+    @Test(description = "Test waiting for the in-flight batches of a partition")
+    public void testAwaitCompletion() throws InterruptedException {
+        KafkaDispatchTracker tracker = new KafkaDispatchTracker();
+        Callback batch = tracker.track(createRecords(0, 2), null);
+        Assert.assertFalse(tracker.awaitCompletion(PARTITIONS, 10));
+        Assert.assertTrue(tracker.awaitCompletion(Collections.singletonList(new TopicPartition("other", 0)), 0));
+        Thread completion = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batch.notifySuccess(null);
+        });
+        completion.start();
+        Assert.assertTrue(tracker.awaitCompletion(PARTITIONS, 5000));
+        completion.join();
+    }
+
+    private static ConsumerRecords<byte[], byte[]> createRecords(long firstOffset, int count) {
+        List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), firstOffset + i, null,
+                                             new byte[0]));
+        }
+        return new ConsumerRecords<>(Collections.singletonMap(PARTITION, records));
+    }
+}
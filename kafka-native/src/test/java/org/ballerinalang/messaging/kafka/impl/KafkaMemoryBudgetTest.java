@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.messaging.kafka.impl;
+
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.values.BError;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.record.TimestampType;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the budget on the bytes of the records buffered by the listeners of a process.
+ */
+public class KafkaMemoryBudgetTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("budget-topic", 0);
+
+    @AfterMethod
+    public void resetLimit() {
+        KafkaMemoryBudget.setLimit(0);
+    }
+
+    @Test(description = "Test exhausting the budget, and releasing the bytes of the records once they are processed")
+    public void testReserveAndRelease() {
+        KafkaMemoryBudget.setLimit(150);
+        AtomicInteger completions = new AtomicInteger();
+        Callback firstBatch = KafkaMemoryBudget.reserve(createRecords(2), new CountingCallback(completions));
+        Assert.assertFalse(KafkaMemoryBudget.isExhausted());
+        Callback secondBatch = KafkaMemoryBudget.reserve(createRecords(1), null);
+        Assert.assertTrue(KafkaMemoryBudget.isExhausted());
+
+        firstBatch.notifySuccess(null);
+        Assert.assertFalse(KafkaMemoryBudget.isExhausted());
+        Assert.assertEquals(completions.get(), 1);
+        // The bytes of a batch are released only once, while its callback is still notified.
+        firstBatch.notifyFailure(null);
+        secondBatch.notifyFailure(null);
+        Assert.assertEquals(completions.get(), 2);
+        KafkaMemoryBudget.setLimit(1);
+        Assert.assertFalse(KafkaMemoryBudget.isExhausted());
+    }
+
+    @Test(description = "Test passing on the callback as it is when the budget is disabled")
+    public void testDisabledBudget() {
+        Callback callback = new CountingCallback(new AtomicInteger());
+        Assert.assertSame(KafkaMemoryBudget.reserve(createRecords(100), callback), callback);
+        Assert.assertFalse(KafkaMemoryBudget.isExhausted());
+    }
+
+    // Each record takes 50 bytes of the budget.
+    private static ConsumerRecords<byte[], byte[]> createRecords(int count) {
+        List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), i, 0, TimestampType.CREATE_TIME,
+                                             ConsumerRecord.NULL_CHECKSUM, 10, 40, new byte[10], new byte[40]));
+        }
+        return new ConsumerRecords<>(Collections.singletonMap(PARTITION, records));
+    }
+
+    private static class CountingCallback implements Callback {
+
+        private final AtomicInteger completions;
+
+        CountingCallback(AtomicInteger completions) {
+            this.completions = completions;
+        }
+
+        @Override
+        public void notifySuccess(Object obj) {
+            completions.incrementAndGet();
+        }
+
+        @Override
+        public void notifyFailure(BError error) {
+            completions.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.ballerinalang.messaging.kafka.impl;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.record.TimestampType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests the matching of the records received by a listener against the record filters.
+ */
+public class KafkaRecordFilterTest {
+
+    private static final String TOPIC = "filter-topic";
+
+    @Test(description = "Test matching the records by topic and key")
+    public void testTopicAndKey() {
+        KafkaRecordFilter filter = new KafkaRecordFilter(TOPIC, "key-1", null, null, null, null, null);
+        Assert.assertTrue(filter.matches(createRecord(TOPIC, bytes("key-1"), 0)));
+        Assert.assertFalse(filter.matches(createRecord(TOPIC, bytes("key-2"), 0)));
+        Assert.assertFalse(filter.matches(createRecord("other-topic", bytes("key-1"), 0)));
+        Assert.assertFalse(filter.matches(createRecord(TOPIC, null, 0)));
+    }
+
+    @Test(description = "Test matching the records by key prefix, for byte array and string keys")
+    public void testKeyPrefix() {
+        KafkaRecordFilter filter = new KafkaRecordFilter(null, null, bytes("keep"), null, null, null, null);
+        Assert.assertTrue(filter.matches(createRecord(TOPIC, bytes("keep-1"), 0)));
+        Assert.assertFalse(filter.matches(createRecord(TOPIC, bytes("drop-1"), 0)));
+        Assert.assertFalse(filter.matches(createRecord(TOPIC, bytes("kee"), 0)));
+        Assert.assertTrue(filter.matches(createRecord(TOPIC, "keep-2", 0)));
+        Assert.assertTrue(new KafkaRecordFilter(null, null, "12", null, null, null, null)
+                                  .matches(createRecord(TOPIC, 123L, 0)));
+    }
+
+    @Test(description = "Test matching the records by the presence and the value of a header")
+    public void testHeader() {
+        ConsumerRecord<Object, byte[]> record = createRecord(TOPIC, null, 0);
+        record.headers().add("tenant", bytes("a"));
+        record.headers().add("tenant", bytes("b"));
+        Assert.assertTrue(new KafkaRecordFilter(null, null, null, "tenant", null, null, null).matches(record));
+        Assert.assertTrue(new KafkaRecordFilter(null, null, null, "tenant", bytes("b"), null, null).matches(record));
+        Assert.assertFalse(new KafkaRecordFilter(null, null, null, "tenant", bytes("c"), null, null).matches(record));
+        Assert.assertFalse(new KafkaRecordFilter(null, null, null, "region", null, null, null).matches(record));
+    }
+
+    @Test(description = "Test matching the records within a timestamp range")
+    public void testTimestampRange() {
+        KafkaRecordFilter filter = new KafkaRecordFilter(null, null, null, null, null, 100L, 200L);
+        Assert.assertFalse(filter.matches(createRecord(TOPIC, null, 99)));
+        Assert.assertTrue(filter.matches(createRecord(TOPIC, null, 100)));
+        Assert.assertTrue(filter.matches(createRecord(TOPIC, null, 199)));
+        Assert.assertFalse(filter.matches(createRecord(TOPIC, null, 200)));
+    }
+
+    private static ConsumerRecord<Object, byte[]> createRecord(String topic, Object key, long timestamp) {
+        return new ConsumerRecord<>(topic, 0, 0, timestamp, TimestampType.CREATE_TIME, ConsumerRecord.NULL_CHECKSUM,
+                                    0, 0, key, bytes("value"));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}